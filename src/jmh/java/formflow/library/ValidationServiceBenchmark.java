@@ -0,0 +1,93 @@
+package formflow.library;
+
+import formflow.library.config.FlowConfiguration;
+import formflow.library.config.FlowRegistry;
+import formflow.library.data.FormSubmission;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Field-level validation of a 50 field POST to the {@link formflow.library.inputs.BenchmarkFlow} flow.
+ *
+ * <p>
+ * {@link #fieldLevelValidation()} validates the POST with the flow's compiled input schema. {@link #reflectionPerPost} is
+ * the reflection field-level validation used to do for each POST before the schema was compiled once per flow: looking up the
+ * inputs class, then each posted field and the names of its annotations. It is what the schema saves per POST, on top of the
+ * validation both do.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationServiceBenchmark {
+
+    private static final String INPUT_CONFIG_PATH = "formflow.library.inputs.";
+    private static final String FLOW_NAME = "benchmarkFlow";
+    private static final int FIELDS = 50;
+
+    private ValidatorFactory validatorFactory;
+    private ValidationService validationService;
+    private FormSubmission formSubmission;
+
+    @Setup
+    public void setUp() {
+        FlowConfiguration flowConfiguration = new FlowConfiguration();
+        flowConfiguration.setName(FLOW_NAME);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        // field-level validation does not run actions
+        validationService = new ValidationService(validatorFactory.getValidator(), null,
+                new FlowRegistry(List.of(flowConfiguration)), INPUT_CONFIG_PATH);
+
+        Map<String, Object> formData = new HashMap<>();
+        for (int i = 0; i < FIELDS; i++) {
+            formData.put("field" + i, "value " + i);
+        }
+        formSubmission = new FormSubmission(formData);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Map<String, List<String>> fieldLevelValidation() {
+        return validationService.performFieldLevelValidation(FLOW_NAME, formSubmission);
+    }
+
+    @Benchmark
+    public void reflectionPerPost(Blackhole blackhole) throws ReflectiveOperationException {
+        Class<?> flowClass = Class.forName(INPUT_CONFIG_PATH + StringUtils.capitalize(FLOW_NAME));
+        for (String key : formSubmission.getFormData().keySet()) {
+            Field field = flowClass.getDeclaredField(key);
+            List<String> annotationNames = new ArrayList<>();
+            for (Annotation annotation : field.getDeclaredAnnotations()) {
+                annotationNames.add(annotation.annotationType().getName());
+            }
+            blackhole.consume(annotationNames);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package formflow.library.data;
+
+import com.google.crypto.tink.InsecureSecretKeyAccess;
+import com.google.crypto.tink.KeysetHandle;
+import com.google.crypto.tink.TinkJsonProtoKeysetFormat;
+import com.google.crypto.tink.aead.AeadConfig;
+import com.google.crypto.tink.aead.PredefinedAeadParameters;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encrypting and decrypting a Submission of the {@link formflow.library.inputs.BenchmarkFlow} flow, against the number of keys
+ * in its input data. Each flow's encryption plan is worked out on first use, so the cost per call is a walk of the input data
+ * plus the encryption of its {@code @Encrypted} fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubmissionEncryptionServiceBenchmark {
+
+    @Param({"10", "50", "200", "1000"})
+    int inputDataKeys;
+
+    @Param({"false", "true"})
+    boolean envelope;
+
+    private SubmissionEncryptionService service;
+    private Submission submission;
+    private Submission encryptedSubmission;
+
+    @Setup
+    public void setUp() throws Exception {
+        AeadConfig.register();
+        String key = TinkJsonProtoKeysetFormat.serializeKeyset(
+                KeysetHandle.generateNew(PredefinedAeadParameters.AES128_GCM), InsecureSecretKeyAccess.get());
+        service = new SubmissionEncryptionService(key, "formflow.library.inputs.", envelope, false);
+
+        // the inputs class has 50 fields, every tenth of them encrypted; keys past those are not in it
+        Map<String, Object> inputData = new HashMap<>();
+        for (int i = 0; i < inputDataKeys; i++) {
+            inputData.put(i < 50 ? "field" + i : "extra" + i, "value " + i);
+        }
+        submission = Submission.builder()
+                .flow("benchmarkFlow")
+                .inputData(inputData)
+                .urlParams(new HashMap<>())
+                .build();
+        encryptedSubmission = service.encrypt(submission);
+    }
+
+    @Benchmark
+    public Submission encrypt() {
+        return service.encrypt(submission);
+    }
+
+    @Benchmark
+    public Submission decrypt() {
+        return service.decrypt(encryptedSubmission);
+    }
+}
@@ -0,0 +1,137 @@
+package formflow.library.inputs;
+
+import formflow.library.data.FlowInputs;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * The inputs of the flow used by the benchmarks: 50 fields, every fifth of them required and every tenth encrypted.
+ */
+@SuppressWarnings("unused")
+public class BenchmarkFlow extends FlowInputs {
+
+    @Encrypted
+    @NotBlank
+    @Size(max = 100)
+    String field0;
+
+    String field1;
+
+    String field2;
+
+    String field3;
+
+    String field4;
+
+    @NotBlank
+    @Size(max = 100)
+    String field5;
+
+    String field6;
+
+    String field7;
+
+    String field8;
+
+    String field9;
+
+    @Encrypted
+    @NotBlank
+    @Size(max = 100)
+    String field10;
+
+    String field11;
+
+    String field12;
+
+    String field13;
+
+    String field14;
+
+    @NotBlank
+    @Size(max = 100)
+    String field15;
+
+    String field16;
+
+    String field17;
+
+    String field18;
+
+    String field19;
+
+    @Encrypted
+    @NotBlank
+    @Size(max = 100)
+    String field20;
+
+    String field21;
+
+    String field22;
+
+    String field23;
+
+    String field24;
+
+    @NotBlank
+    @Size(max = 100)
+    String field25;
+
+    String field26;
+
+    String field27;
+
+    String field28;
+
+    String field29;
+
+    @Encrypted
+    @NotBlank
+    @Size(max = 100)
+    String field30;
+
+    String field31;
+
+    String field32;
+
+    String field33;
+
+    String field34;
+
+    @NotBlank
+    @Size(max = 100)
+    String field35;
+
+    String field36;
+
+    String field37;
+
+    String field38;
+
+    String field39;
+
+    @Encrypted
+    @NotBlank
+    @Size(max = 100)
+    String field40;
+
+    String field41;
+
+    String field42;
+
+    String field43;
+
+    String field44;
+
+    @NotBlank
+    @Size(max = 100)
+    String field45;
+
+    String field46;
+
+    String field47;
+
+    String field48;
+
+    String field49;
+}
@@ -1,8 +1,9 @@
 package formflow.library;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.io.Files;
-import formflow.library.config.FlowConfiguration;
+import formflow.library.config.FlowRegistry;
 import formflow.library.config.FormFlowConfigurationProperties;
 import formflow.library.data.Submission;
 import formflow.library.data.SubmissionRepositoryService;
@@ -12,6 +13,8 @@ import formflow.library.file.CloudFile;
 import formflow.library.file.CloudFileRepository;
 import formflow.library.file.FileConversionService;
 import formflow.library.file.FileValidationService;
+import formflow.library.file.Thumbnail;
+import formflow.library.file.ThumbnailStore;
 import formflow.library.utils.UserFileMap;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -26,6 +29,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +38,7 @@ import org.openpdf.text.pdf.PdfReader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.context.MessageSource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -58,6 +63,7 @@ public class FileController extends FormFlowController {
     private final CloudFileRepository cloudFileRepository;
     private final FileValidationService fileValidationService;
     private final FileConversionService fileConversionService;
+    private final ThumbnailStore thumbnailStore;
     private final String SESSION_USERFILES_KEY = "userFiles";
     private final Integer maxFiles;
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -78,19 +84,21 @@ public class FileController extends FormFlowController {
             UserFileRepositoryService userFileRepositoryService,
             CloudFileRepository cloudFileRepository,
             SubmissionRepositoryService submissionRepositoryService,
-            List<FlowConfiguration> flowConfigurations,
+            FlowRegistry flowRegistry,
             FormFlowConfigurationProperties formFlowConfigurationProperties,
             MessageSource messageSource,
             FileValidationService fileValidationService,
             FileConversionService fileConversionService,
+            ThumbnailStore thumbnailStore,
             @Value("${form-flow.uploads.max-files:20}") Integer maxFiles,
             @Value("${form-flow.uploads.prepend-short-code:false}") boolean prependShortCode,
             @Value("${form-flow.uploads.link-submissions-by-field:}") String linkSubmissionsByField) {
-        super(submissionRepositoryService, userFileRepositoryService, flowConfigurations, formFlowConfigurationProperties,
+        super(submissionRepositoryService, userFileRepositoryService, flowRegistry, formFlowConfigurationProperties,
                 messageSource);
         this.cloudFileRepository = cloudFileRepository;
         this.fileValidationService = fileValidationService;
         this.fileConversionService = fileConversionService;
+        this.thumbnailStore = thumbnailStore;
         this.maxFiles = maxFiles;
         this.prependShortCode = prependShortCode;
         this.linkSubmissionsByField = linkSubmissionsByField;
@@ -102,7 +110,7 @@ public class FileController extends FormFlowController {
      * @param file         A MultipartFile file
      * @param flow         The current flow name
      * @param inputName    The current inputName
-     * @param thumbDataUrl The thumbnail URL generated from the upload
+     * @param thumbDataUrl The thumbnail data URL generated from the upload, which is stored in the {@link ThumbnailStore}
      * @param httpSession  The current HTTP session
      * @return ON SUCCESS: ResponseEntity with a body containing the id of a file. body.
      * <p>ON FAILURE: ResponseEntity with an error message and a status code.</p>
@@ -189,17 +197,15 @@ public class FileController extends FormFlowController {
             uploadedFile = userFileRepositoryService.save(uploadedFile);
             log.info("Created new file with id: " + uploadedFile.getFileId());
 
-            UserFileMap userFileMap = null;
-            if (httpSession.getAttribute(SESSION_USERFILES_KEY) == null) {
+            UserFileMap userFileMap = getUserFileMap(httpSession);
+            if (userFileMap == null) {
                 userFileMap = new UserFileMap();
-            } else {
-                userFileMap = objectMapper.readValue((String) httpSession.getAttribute(SESSION_USERFILES_KEY),
-                        UserFileMap.class);
             }
 
-            userFileMap.addUserFileToMap(flow, inputName, uploadedFile, thumbDataUrl);
-            httpSession.removeAttribute(SESSION_USERFILES_KEY);
-            httpSession.setAttribute(SESSION_USERFILES_KEY, objectMapper.writeValueAsString(userFileMap));
+            String thumbnailUrl = storeThumbnail(flow, uploadedFile.getFileId(), thumbDataUrl, request);
+            userFileMap.addUserFileToMap(flow, inputName, uploadedFile, thumbnailUrl);
+            // setting the attribute again marks it changed, so the session writes just this attribute
+            httpSession.setAttribute(SESSION_USERFILES_KEY, userFileMap);
 
             if (convertUploadToPDF) {
                 convertUploadedFileToPDF(file, flow, inputName, userFileId, submission);
@@ -217,6 +223,21 @@ public class FileController extends FormFlowController {
         }
     }
 
+    /**
+     * Stores the thumbnail generated by the file upload widget, so that the session only refers to it.
+     *
+     * @return the URL the thumbnail is served from; the value sent if it is not a data URL, or null if it is a data URL which
+     * is not an accepted thumbnail
+     */
+    private String storeThumbnail(String flow, UUID fileId, String thumbDataUrl, HttpServletRequest request) {
+        Thumbnail thumbnail = Thumbnail.fromDataUrl(thumbDataUrl);
+        if (thumbnail == null) {
+            return thumbDataUrl.startsWith("data:") ? null : thumbDataUrl;
+        }
+        thumbnailStore.save(fileId, thumbnail);
+        return String.format("%s/file-thumbnail/%s/%s", request.getContextPath(), flow, fileId);
+    }
+
     private void convertUploadedFileToPDF(MultipartFile file, String flow, String inputName, UUID userFileId,
             Submission submission)
             throws IOException {
@@ -356,17 +377,16 @@ public class FileController extends FormFlowController {
 
             log.info("Delete file {} from cloud storage", fileId);
             cloudFileRepository.delete(file.getRepositoryPath());
+            thumbnailStore.delete(file.getFileId());
             userFileRepositoryService.deleteById(file.getFileId());
 
-            UserFileMap userFileMap = objectMapper.readValue((String) httpSession.getAttribute(SESSION_USERFILES_KEY),
-                    UserFileMap.class);
+            UserFileMap userFileMap = getUserFileMap(httpSession);
             if (userFileMap == null) {
                 log.error("User file map not set in session. Unable to update file information");
                 throw new IndexOutOfBoundsException("Session does not contain user file mapping.");
             }
             userFileMap.removeUserFileFromMap(flow, fileId);
-            httpSession.removeAttribute(SESSION_USERFILES_KEY);
-            httpSession.setAttribute(SESSION_USERFILES_KEY, objectMapper.writeValueAsString(userFileMap));
+            httpSession.setAttribute(SESSION_USERFILES_KEY, userFileMap);
 
             return new RedirectView(returnPath);
         } catch (Exception e) {
@@ -444,6 +464,36 @@ public class FileController extends FormFlowController {
                 .body(responseBody);
     }
 
+    /**
+     * Serves the thumbnail of a file uploaded in the current session, as referred to by the session's {@link UserFileMap}.
+     *
+     * @param flow        The name of the current (active) flow
+     * @param fileId      The UUID of the file whose thumbnail is requested
+     * @param httpSession The current HTTP session
+     * @return ON SUCCESS: ResponseEntity with the thumbnail image.
+     * <p>ON FAILURE: A ResponseEntity returns an HTTP error code</p>
+     */
+    @GetMapping("/file-thumbnail/{flow}/{fileId}")
+    public ResponseEntity<byte[]> thumbnail(
+            @PathVariable String flow,
+            @PathVariable UUID fileId,
+            HttpSession httpSession
+    ) throws JsonProcessingException {
+        UserFileMap userFileMap = getUserFileMap(httpSession);
+        if (userFileMap == null || !userFileMap.containsFile(flow, fileId)) {
+            log.error("There was an attempt to get the thumbnail of file '{}', which was not uploaded in this session.", fileId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return thumbnailStore.get(fileId)
+                .map(thumbnail -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate())
+                        .header("X-Content-Type-Options", "nosniff")
+                        .contentType(MediaType.parseMediaType(thumbnail.contentType()))
+                        .body(thumbnail.data()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * @param submissionId The submissionId of the all the files that you would like to download.
      * @param httpSession  The current HTTP session.
@@ -513,6 +563,20 @@ public class FileController extends FormFlowController {
                 .body(responseBody);
     }
 
+    /**
+     * Gets the user file map from the session. Sessions created before it was kept as a {@link UserFileMap} hold it as JSON.
+     *
+     * @param httpSession the current HTTP session
+     * @return the user file map, or null if the session has none
+     */
+    private UserFileMap getUserFileMap(HttpSession httpSession) throws JsonProcessingException {
+        Object userFiles = httpSession.getAttribute(SESSION_USERFILES_KEY);
+        if (userFiles instanceof String json) {
+            return objectMapper.readValue(json, UserFileMap.class);
+        }
+        return (UserFileMap) userFiles;
+    }
+
     private String setFilePathName(Submission submission, String fileName) {
         SubmissionIdentifiers submissionIdentifiers = getSubmissionIdentifiers(submission);
         if (prependShortCode && submissionIdentifiers != null && submissionIdentifiers.shortCode() != null) {
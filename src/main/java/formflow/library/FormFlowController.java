@@ -1,15 +1,16 @@
 package formflow.library;
 
 import formflow.library.config.FlowConfiguration;
+import formflow.library.config.FlowRegistry;
 import formflow.library.config.FormFlowConfigurationProperties;
 import formflow.library.data.Submission;
 import formflow.library.data.SubmissionRepositoryService;
 import formflow.library.data.UserFileRepositoryService;
 import formflow.library.exceptions.SessionExpiredException;
+import formflow.library.utils.SessionSubmissionMap;
 import jakarta.servlet.http.HttpSession;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
@@ -27,17 +28,17 @@ public abstract class FormFlowController {
 
     protected final SubmissionRepositoryService submissionRepositoryService;
     protected final UserFileRepositoryService userFileRepositoryService;
-    protected final List<FlowConfiguration> flowConfigurations;
+    protected final FlowRegistry flowRegistry;
     protected final FormFlowConfigurationProperties formFlowConfigurationProperties;
     protected final MessageSource messageSource;
 
     FormFlowController(SubmissionRepositoryService submissionRepositoryService,
             UserFileRepositoryService userFileRepositoryService,
-            List<FlowConfiguration> flowConfigurations, FormFlowConfigurationProperties formFlowConfigurationProperties,
+            FlowRegistry flowRegistry, FormFlowConfigurationProperties formFlowConfigurationProperties,
             MessageSource messageSource) {
         this.submissionRepositoryService = submissionRepositoryService;
         this.userFileRepositoryService = userFileRepositoryService;
-        this.flowConfigurations = flowConfigurations;
+        this.flowRegistry = flowRegistry;
         this.formFlowConfigurationProperties = formFlowConfigurationProperties;
         this.messageSource = messageSource;
     }
@@ -117,15 +118,14 @@ public abstract class FormFlowController {
      * @throws ResponseStatusException when FlowConfigurations are not found.
      */
     protected FlowConfiguration getValidatedFlowConfigurationByName(String flow) {
-        List<FlowConfiguration> flowConfigurationList = flowConfigurations.stream().filter(
-                flowConfiguration -> flowConfiguration.getName().equals(flow)).toList();
+        FlowConfiguration flowConfiguration = flowRegistry.getFlowConfiguration(flow);
 
-        if (flowConfigurationList.isEmpty()) {
+        if (flowConfiguration == null) {
             throwNotFoundError(flow, null,
                     String.format("Could not find flow %s in your applications flow configuration file.", flow));
         }
 
-        return flowConfigurationList.get(0);
+        return flowConfiguration;
     }
 
     /**
@@ -136,9 +136,7 @@ public abstract class FormFlowController {
      * {@code False} if the flow is not found in the {@link FlowConfiguration}.
      */
     protected Boolean doesFlowExist(String flow) {
-        return flowConfigurations.stream().anyMatch(
-                flowConfiguration -> flowConfiguration.getName().equals(flow)
-        );
+        return flowRegistry.flowExists(flow);
     }
 
     /**
@@ -231,15 +229,17 @@ public abstract class FormFlowController {
         Map<String, UUID> submissionMap = (Map) session.getAttribute(SUBMISSION_MAP_NAME);
         log.info("setSubmissionInSession session: {}, submission: {}, flow: {}, map size: {}", session.getId(), submissionId, flow, submissionMap != null ? submissionMap.size() : null);
 
-        if (submissionMap == null) {
-            submissionMap = new HashMap<>();
+        if (submissionMap != null && submissionMap.containsKey(flow) && Objects.equals(submissionMap.get(flow), submissionId)) {
+            // nothing changed, so the session doesn't need to write the attribute
+            return;
         }
 
-        submissionMap.put(flow, submissionId);
-        log.info("setSubmissionInSession session: {}, submission: {}, flow: {}, map size: {}", session.getId(), submissionId, flow, submissionMap.size());
+        SessionSubmissionMap sessionSubmissionMap = submissionMap instanceof SessionSubmissionMap map ? map
+                : new SessionSubmissionMap(submissionMap != null ? submissionMap : Map.of());
+        sessionSubmissionMap.put(flow, submissionId);
+        log.info("setSubmissionInSession session: {}, submission: {}, flow: {}, map size: {}", session.getId(), submissionId, flow, sessionSubmissionMap.size());
 
-        session.removeAttribute(SUBMISSION_MAP_NAME);
-        session.setAttribute(SUBMISSION_MAP_NAME, submissionMap);
+        session.setAttribute(SUBMISSION_MAP_NAME, sessionSubmissionMap);
     }
 
     /**
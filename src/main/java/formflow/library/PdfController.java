@@ -1,6 +1,6 @@
 package formflow.library;
 
-import formflow.library.config.FlowConfiguration;
+import formflow.library.config.FlowRegistry;
 import formflow.library.config.FormFlowConfigurationProperties;
 import formflow.library.data.Submission;
 import formflow.library.data.SubmissionRepositoryService;
@@ -9,7 +9,6 @@ import formflow.library.pdf.PdfService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
-import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
@@ -36,9 +35,9 @@ public class PdfController extends FormFlowController {
     public PdfController(MessageSource messageSource, PdfService pdfService,
             SubmissionRepositoryService submissionRepositoryService,
             UserFileRepositoryService userFileRepositoryService,
-            List<FlowConfiguration> flowConfigurations,
+            FlowRegistry flowRegistry,
             FormFlowConfigurationProperties formFlowConfigurationProperties) {
-        super(submissionRepositoryService, userFileRepositoryService, flowConfigurations, formFlowConfigurationProperties,
+        super(submissionRepositoryService, userFileRepositoryService, flowRegistry, formFlowConfigurationProperties,
                 messageSource);
         this.pdfService = pdfService;
     }
@@ -1,17 +1,14 @@
 package formflow.library;
 
-import static formflow.library.data.Submission.ITERATION_IS_COMPLETE_KEY;
-import static formflow.library.inputs.FieldNameMarkers.UNVALIDATED_FIELD_MARKER_VALIDATE_ADDRESS;
-
 import com.smartystreets.api.exceptions.SmartyException;
-import formflow.library.addressvalidation.AddressValidationService;
-import formflow.library.addressvalidation.ValidatedAddress;
 import formflow.library.config.ActionManager;
 import formflow.library.config.ConditionManager;
 import formflow.library.config.FlowConfiguration;
+import formflow.library.config.FlowRegistry;
 import formflow.library.config.FormFlowConfigurationProperties;
-import formflow.library.config.NextScreen;
+import formflow.library.config.NavigationGraph;
 import formflow.library.config.RepeatFor;
+import formflow.library.config.RepeatForIterations;
 import formflow.library.config.ScreenNavigationConfiguration;
 import formflow.library.config.SubflowConfiguration;
 import formflow.library.config.SubflowManager;
@@ -32,7 +29,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
@@ -78,13 +74,14 @@ public class ScreenController extends FormFlowController {
 
     private static final String REPEAT_FOR_UUID = "repeatForIterationUuid";
     private final ValidationService validationService;
-    private final AddressValidationService addressValidationService;
+    private final ValidationPipeline validationPipeline;
     private final ConditionManager conditionManager;
     private final ActionManager actionManager;
     private final FileValidationService fileValidationService;
     private final SubmissionRepositoryService submissionRepositoryService;
     private final ShortCodeConfig shortCodeConfig;
     private final SubflowManager subflowManager;
+    private final NavigationGraph navigationGraph;
 
     private static final String SPRING_SESSION_ENTRY_TO_DELETE = "entryToDelete";
     private static final String SPRING_SESSION_ERROR_MESSAGES = "errorMessages";
@@ -93,11 +90,11 @@ public class ScreenController extends FormFlowController {
     /**
      * A controller to render any screen in flows, including subflows.
      *
-     * @param flowConfigurations              flow configurations
+     * @param flowRegistry                    indexed flow configurations
      * @param userFileRepositoryService       UserFileRepositoryService
      * @param submissionRepositoryService     SubmissionRepositoryService
      * @param validationService               ValidationService
-     * @param addressValidationService        AddressValidationService
+     * @param validationPipeline              ValidationPipeline
      * @param formFlowConfigurationProperties FormFlowConfigurationProperties
      * @param conditionManager                ConditionManager
      * @param actionManager                   ActionManager
@@ -105,31 +102,34 @@ public class ScreenController extends FormFlowController {
      * @param messageSource                   MessageSource
      * @param shortCodeConfig                 ShortCodeConfig
      * @param subflowManager                  SubflowManager
+     * @param navigationGraph                 NavigationGraph
      */
     public ScreenController(
-            List<FlowConfiguration> flowConfigurations,
+            FlowRegistry flowRegistry,
             UserFileRepositoryService userFileRepositoryService,
             SubmissionRepositoryService submissionRepositoryService,
             ValidationService validationService,
-            AddressValidationService addressValidationService,
+            ValidationPipeline validationPipeline,
             FormFlowConfigurationProperties formFlowConfigurationProperties,
             ConditionManager conditionManager,
             ActionManager actionManager,
             FileValidationService fileValidationService,
             MessageSource messageSource,
             ShortCodeConfig shortCodeConfig,
-            SubflowManager subflowManager
+            SubflowManager subflowManager,
+            NavigationGraph navigationGraph
     ) {
-        super(submissionRepositoryService, userFileRepositoryService, flowConfigurations, formFlowConfigurationProperties,
+        super(submissionRepositoryService, userFileRepositoryService, flowRegistry, formFlowConfigurationProperties,
                 messageSource);
         this.validationService = validationService;
-        this.addressValidationService = addressValidationService;
+        this.validationPipeline = validationPipeline;
         this.conditionManager = conditionManager;
         this.actionManager = actionManager;
         this.fileValidationService = fileValidationService;
         this.submissionRepositoryService = submissionRepositoryService;
         this.shortCodeConfig = shortCodeConfig;
         this.subflowManager = subflowManager;
+        this.navigationGraph = navigationGraph;
 
         log.info("Screen Controller Created!");
     }
@@ -171,7 +171,7 @@ public class ScreenController extends FormFlowController {
             if (validatedUuid == null) {
                 // catch to see if they are trying to go to a delete confirmation screen when the UUID is not present anymore.
                 // If so, redirect.
-                if (isDeleteConfirmationScreen(flow, screen)) {
+                if (flowRegistry.isDeleteConfirmationScreen(flow, screen)) {
                     ModelAndView nothingToDeleteModelAndView = handleDeleteBackBehavior(flow, screen, requestUuid, submission);
                     if (nothingToDeleteModelAndView != null) {
                         return nothingToDeleteModelAndView;
@@ -197,7 +197,7 @@ public class ScreenController extends FormFlowController {
 
                     // catch to see if they are trying to go to a delete confirmation screen when the UUID is not present anymore.
                     // If so, redirect.
-                    if (isDeleteConfirmationScreen(flow, screen)) {
+                    if (flowRegistry.isDeleteConfirmationScreen(flow, screen)) {
                         ModelAndView nothingToDeleteModelAndView = handleDeleteBackBehavior(flow, screen, requestUuid,
                                 submission);
                         if (nothingToDeleteModelAndView != null) {
@@ -218,7 +218,7 @@ public class ScreenController extends FormFlowController {
             return new ModelAndView("redirect:" + lockedSubmissionRedirectUrl);
         }
 
-        if (shouldRedirectToNextScreen(validatedUuid, repeatForIterationUuid, currentScreen, submission)) {
+        if (shouldRedirectToNextScreen(flow, validatedUuid, repeatForIterationUuid, currentScreen, submission)) {
             String nextViewableScreen = getNextViewableScreen(flow, screen, validatedUuid, repeatForIterationUuid, submission);
             log.info("%s is not viewable, redirecting to %s".formatted(screen, nextViewableScreen));
             if (validatedUuid != null && repeatForIterationUuid != null) {
@@ -251,8 +251,9 @@ public class ScreenController extends FormFlowController {
 
         if (currentScreen.getSubflow() != null &&
                 subflowManager.subflowHasRelationship(flow, currentScreen.getSubflow())) {
-            subflowManager.addSubflowRelationshipData(currentScreen, flow, submission);
-            saveToRepository(submission);
+            if (subflowManager.addSubflowRelationshipData(currentScreen, flow, submission)) {
+                saveToRepository(submission);
+            }
         }
 
         Map<String, Object> model;
@@ -277,24 +278,16 @@ public class ScreenController extends FormFlowController {
     /**
      * Checks if current screen condition is met.
      *
+     * @param flow          The flow containing the screen
      * @param uuid          The uuid of a subflow entry
      * @param repeatForUuid The uuid of the repeatFor subflow under the current subflow
      * @param currentScreen The current screen to check
      * @param submission    submission
      * @return True - current screen does not meet the condition; False - otherwise
      */
-    private boolean shouldRedirectToNextScreen(String uuid, String repeatForUuid, ScreenNavigationConfiguration currentScreen,
-            Submission submission) {
-        if (conditionManager.conditionExists(currentScreen.getCondition())) {
-            if (currentScreen.getSubflow() != null && repeatForUuid != null) {
-                return !conditionManager.runCondition(currentScreen.getCondition(), submission, uuid, repeatForUuid);
-            } else if (currentScreen.getSubflow() != null) {
-                return !conditionManager.runCondition(currentScreen.getCondition(), submission, uuid);
-            } else {
-                return !conditionManager.runCondition(currentScreen.getCondition(), submission);
-            }
-        }
-        return false;
+    private boolean shouldRedirectToNextScreen(String flow, String uuid, String repeatForUuid,
+            ScreenNavigationConfiguration currentScreen, Submission submission) {
+        return getValidatedNavigationScreen(flow, currentScreen.getName()).shouldSkip(submission, uuid, repeatForUuid);
     }
 
     /**
@@ -405,16 +398,15 @@ public class ScreenController extends FormFlowController {
         FormSubmission formSubmission = new FormSubmission(formData);
         actionManager.handleOnPostAction(currentScreen, formSubmission, submission);
 
-        // Field validation
-        var errorMessages = validationService.validate(currentScreen, flow, formSubmission, submission);
-        handleErrors(httpSession, errorMessages, formSubmission);
+        // Field, cross-field and address validation
+        var validation = validationPipeline.validateWithAddresses(currentScreen, flow, formSubmission, submission);
+        handleErrors(httpSession, validation.errorMessages(), formSubmission);
 
-        if (!errorMessages.isEmpty()) {
+        if (validation.hasErrors()) {
             return new ModelAndView(String.format("redirect:/flow/%s/%s", flow, screen));
         }
 
-        // Address validation
-        handleAddressValidation(submission, formSubmission);
+        handleValidatedAddresses(submission, formSubmission, validation);
 
         // if there's already a session
         if (submission.getId() != null) {
@@ -576,9 +568,9 @@ public class ScreenController extends FormFlowController {
 
         actionManager.handleOnPostAction(currentScreen, formSubmission, submission, iterationUuid);
 
-        var errorMessages = validationService.validate(currentScreen, flow, formSubmission, submission);
-        handleErrors(httpSession, errorMessages, formSubmission);
-        if (!errorMessages.isEmpty()) {
+        var validation = validationPipeline.validateWithAddresses(currentScreen, flow, formSubmission, submission);
+        handleErrors(httpSession, validation.errorMessages(), formSubmission);
+        if (validation.hasErrors()) {
             if (isNewIteration) {
                 return new RedirectView(String.format("/flow/%s/%s", flow, screen));
             } else {
@@ -586,7 +578,7 @@ public class ScreenController extends FormFlowController {
             }
         }
 
-        handleAddressValidation(submission, formSubmission);
+        handleValidatedAddresses(submission, formSubmission, validation);
 
         Optional<SubflowRelationship> subflowRelationship = subflowManager.subflowRelationship(flow, currentScreen.getSubflow());
         if (subflowRelationship.isPresent() && subflowRelationship.get().getRepeatFor() != null) {
@@ -675,9 +667,7 @@ public class ScreenController extends FormFlowController {
             Locale locale
     ) {
         log.info("GET deleteConfirmation (url: {}): flow: {}, uuid: {}", request.getRequestURI().toLowerCase(), flow, uuid);
-        // Checks to see if flow exists
-        String deleteConfirmationScreen = getValidatedFlowConfigurationByName(flow)
-                .getSubflows().get(subflow).getDeleteConfirmationScreen();
+        String deleteConfirmationScreen = getValidatedSubflowConfiguration(flow, subflow).getDeleteConfirmationScreen();
         Submission submission = getSubmissionFromSession(httpSession, flow);
 
         if (shouldRedirectDueToLockedSubmission(deleteConfirmationScreen, submission, flow)) {
@@ -724,9 +714,9 @@ public class ScreenController extends FormFlowController {
                 uuid);
         // Checks to make sure flow exists; if it doesn't an error is thrown
         FlowConfiguration flowConfiguration = getValidatedFlowConfigurationByName(requestFlow);
-        String subflowEntryScreen = flowConfiguration.getSubflows().get(subflow)
-                .getEntryScreen();
         String flow = flowConfiguration.getName();
+        SubflowConfiguration subflowConfiguration = flowRegistry.getSubflow(flow, subflow);
+        String subflowEntryScreen = subflowConfiguration.getEntryScreen();
 
         Submission submission = getSubmissionFromSession(httpSession, flow);
         if (submission == null) {
@@ -758,8 +748,7 @@ public class ScreenController extends FormFlowController {
             return new ModelAndView("redirect:/flow/%s/%s".formatted(flow, subflowEntryScreen));
         }
 
-        String reviewScreen = getValidatedFlowConfigurationByName(flow).getSubflows().get(subflow)
-                .getReviewScreen();
+        String reviewScreen = subflowConfiguration.getReviewScreen();
         return new ModelAndView("redirect:/flow/%s/%s".formatted(flow, reviewScreen));
     }
 
@@ -959,15 +948,15 @@ public class ScreenController extends FormFlowController {
         }
 
         Map<String, Object> subflowIterationData = submission.getSubflowEntryByUuid(subflowName, validatedSubflowIterationUuid);
-        Map<String, Object> iterationToEdit = subflowManager.getRepeatForIteration(subflowIterationData,
-                repeatFor.getSaveDataAs(), repeatForIterationUuid);
+        Map<String, Object> iterationToEdit = RepeatForIterations.of(subflowIterationData, repeatFor.getSaveDataAs())
+                .get(repeatForIterationUuid);
 
         actionManager.handleOnPostAction(currentScreen, formSubmission, submission, validatedSubflowIterationUuid,
                 repeatForIterationUuid);
 
-        var errorMessages = validationService.validate(currentScreen, flow, formSubmission, submission);
-        handleErrors(httpSession, errorMessages, formSubmission);
-        if (!errorMessages.isEmpty()) {
+        var validation = validationPipeline.validate(currentScreen, flow, formSubmission, submission);
+        handleErrors(httpSession, validation.errorMessages(), formSubmission);
+        if (validation.hasErrors()) {
             return new RedirectView(
                     String.format("/flow/%s/%s/%s/%s", flow, screen, validatedSubflowIterationUuid, repeatForIterationUuid));
         }
@@ -1011,9 +1000,7 @@ public class ScreenController extends FormFlowController {
     ) {
         log.info("GET deleteRepeatForConfirmation (url: {}): flow: {}, uuid: {}", request.getRequestURI().toLowerCase(), flow,
                 uuid);
-        // Checks to see if flow exists
-        String deleteConfirmationScreen = getValidatedFlowConfigurationByName(flow)
-                .getSubflows().get(subflow).getDeleteConfirmationScreen();
+        String deleteConfirmationScreen = getValidatedSubflowConfiguration(flow, subflow).getDeleteConfirmationScreen();
         Submission submission = getSubmissionFromSession(httpSession, flow);
 
         if (shouldRedirectDueToLockedSubmission(deleteConfirmationScreen, submission, flow)) {
@@ -1033,8 +1020,8 @@ public class ScreenController extends FormFlowController {
         final RepeatFor repeatFor = subflowRelationshipOptional.get().getRepeatFor();
 
         Map<String, Object> subflowData = submission.getSubflowEntryByUuid(subflow, uuid);
-        Map<String, Object> entryToDelete = subflowManager.getRepeatForIteration(subflowData,
-                repeatFor.getSaveDataAs(), repeatForIterationUuid);
+        Map<String, Object> entryToDelete = RepeatForIterations.of(subflowData, repeatFor.getSaveDataAs())
+                .get(repeatForIterationUuid);
 
         if (entryToDelete != null) {
             httpSession.removeAttribute(SPRING_SESSION_ENTRY_TO_DELETE);
@@ -1160,7 +1147,7 @@ public class ScreenController extends FormFlowController {
         }
 
         String nextScreen = getNextViewableScreen(flow,
-                getNextScreenName(submission, currentScreen, validatedSubflowIterationUuid, repeatForIterationUuid),
+                getNextScreenName(flow, submission, currentScreen, validatedSubflowIterationUuid, repeatForIterationUuid),
                 validatedSubflowIterationUuid, repeatForIterationUuid,
                 submission);
 
@@ -1191,7 +1178,8 @@ public class ScreenController extends FormFlowController {
         Optional<SubflowRelationship> subflowRelationship = subflowManager.subflowRelationship(flowName, currentSubflowName);
 
         String nextScreenName = getNextViewableScreen(flowName,
-                getNextScreenName(submission, currentScreenConfiguration, validatedSubflowUuid, repeatForIterationUuid),
+                getNextScreenName(flowName, submission, currentScreenConfiguration, validatedSubflowUuid,
+                        repeatForIterationUuid),
                 validatedSubflowUuid, repeatForIterationUuid, submission);
 
         ScreenNavigationConfiguration nextScreenConfiguration =
@@ -1257,25 +1245,26 @@ public class ScreenController extends FormFlowController {
             return "";
         } else {
             if (nextScreenConfiguration.getSubflow() == null) {
-                Map<String, Object> repeatForIteration = subflowManager.getRepeatForIteration(currentSubflowEntryData,
-                        repeatForRelationshipConfiguration.getSaveDataAs(), repeatForIterationUuid);
-                repeatForIteration.put(ITERATION_IS_COMPLETE_KEY, true);
+                RepeatForIterations repeatForIterations = RepeatForIterations.of(currentSubflowEntryData,
+                        repeatForRelationshipConfiguration.getSaveDataAs());
+                if (repeatForIterations.markComplete(repeatForIterationUuid) == null) {
+                    throwNotFoundError(submission.getFlow(), currentScreenConfiguration.getName(),
+                            String.format("repeatFor iteration uuid ('%s') is not valid for subflow '%s' iteration ('%s') in flow %s)",
+                                    repeatForIterationUuid, currentSubflowName, subflowIterationUuid, flowName));
+                }
+                submission.markInputDataChanged();
                 submission = saveToRepository(submission);
 
-                if (subflowManager.hasFinishedAllIterations(
-                        repeatForRelationshipConfiguration.getSaveDataAs(),
-                        currentSubflowEntryData)) {
+                if (repeatForIterations.hasFinishedAllIterations()) {
                     return markSubflowIterationRepeatedForAsCompleteAndReroute(submission, flowName, currentSubflowName,
                             subflowIterationUuid,
                             nextScreenConfiguration.getName());
                 } else {
                     // go to the next element
-                    String nextRepeatForUuid = (String) subflowManager.getNextRepeatForIterationUuid(
-                            repeatForRelationshipConfiguration.getSaveDataAs(),
-                            currentSubflowEntryData).get("uuid");
+                    String nextRepeatForUuid = (String) repeatForIterations.nextIncompleteIteration().get("uuid");
 
                     return String.format("/flow/%s/%s/%s/%s", flowName,
-                            getNextScreenName(submission, getValidatedScreenConfiguration(flowName,
+                            getNextScreenName(flowName, submission, getValidatedScreenConfiguration(flowName,
                                             subflowManager.getIterationStartScreenForSubflow(flowName,
                                                     currentSubflowName)).screenNavigationConfiguration,
                                     subflowIterationUuid,
@@ -1293,39 +1282,76 @@ public class ScreenController extends FormFlowController {
     /**
      * Get the current viewable screen that doesn't have a condition or meets its condition.
      *
-     * @param flow       the flow containing the screen
-     * @param screen     the current screen
-     * @param uuid       current iteration uuid
-     * @param submission submission
+     * <p>
+     * Walks the precompiled {@link NavigationGraph}, following edges for as long as the screen reached does not meet its own
+     * condition.
+     * </p>
+     *
+     * @param flow          the flow containing the screen
+     * @param screen        the current screen
+     * @param uuid          current iteration uuid
+     * @param repeatForUuid current iteration repeatFor uuid
+     * @param submission    submission
      * @return Next viewable screen if the current one does not satisfy the condition, otherwise the current screen
      */
     private String getNextViewableScreen(String flow, String screen, String uuid, String repeatForUuid, Submission submission) {
-        ScreenConfig screenConfig = getValidatedScreenConfiguration(flow, screen);
-        ScreenNavigationConfiguration currentScreen = screenConfig.getScreenNavigationConfiguration();
+        NavigationGraph.Screen currentScreen = getValidatedNavigationScreen(flow, screen);
 
-        if (shouldRedirectToNextScreen(uuid, repeatForUuid, currentScreen, submission)) {
-            String nextScreen = getNextScreenName(submission, currentScreen, uuid, repeatForUuid);
-            return getNextViewableScreen(flow, nextScreen, uuid, repeatForUuid, submission);
+        while (currentScreen.shouldSkip(submission, uuid, repeatForUuid)) {
+            currentScreen = followEdge(flow, currentScreen.getNextEdge(submission, uuid, repeatForUuid));
         }
 
-        return screen;
+        return currentScreen.getName();
     }
 
-    private String getNextScreenName(Submission submission,
+    private String getNextScreenName(String flow, Submission submission,
             ScreenNavigationConfiguration currentScreen,
             String subflowUuid, String repeatForUuid) {
-        NextScreen nextScreen;
+        NavigationGraph.Edge nextScreen = getValidatedNavigationScreen(flow, currentScreen.getName())
+                .getNextEdge(submission, subflowUuid, repeatForUuid);
 
-        List<NextScreen> nextScreens = getConditionalNextScreen(currentScreen, submission, subflowUuid, repeatForUuid);
+        log.info("getNextScreenName: currentScreen: {}, nextScreen: {}", currentScreen.getName(), nextScreen.getTargetName());
+        return nextScreen.getTargetName();
+    }
 
-        if (isConditionalNavigation(currentScreen) && !nextScreens.isEmpty()) {
-            nextScreen = nextScreens.getFirst();
-        } else {
-            nextScreen = getNonConditionalNextScreen(currentScreen);
+    /**
+     * Fetches the compiled navigation node for a particular screen in a particular flow after validating both the screen and
+     * flow exist.
+     *
+     * @param flow   the flow containing the screen
+     * @param screen the screen that the navigation node is wanted for
+     * @return navigation node for the screen
+     */
+    private NavigationGraph.Screen getValidatedNavigationScreen(String flow, String screen) {
+        NavigationGraph.Screen navigationScreen = navigationGraph.getScreen(flow, screen);
+        if (navigationScreen == null) {
+            // throws the appropriate not found error for the missing flow or screen
+            getValidatedScreenConfiguration(flow, screen);
         }
+        return navigationScreen;
+    }
 
-        log.info("getNextScreenName: currentScreen: " + currentScreen + ", nextScreen: " + nextScreen.getName());
-        return nextScreen.getName();
+    private NavigationGraph.Screen followEdge(String flow, NavigationGraph.Edge edge) {
+        return edge.getTarget() != null ? edge.getTarget() : getValidatedNavigationScreen(flow, edge.getTargetName());
+    }
+
+    /**
+     * Fetches the configuration for a subflow after validating both the subflow and flow exist, with a single registry lookup
+     * when they do.
+     *
+     * @param flow    the flow containing the subflow
+     * @param subflow the subflow that configuration is wanted for
+     * @return configuration for the subflow
+     */
+    private SubflowConfiguration getValidatedSubflowConfiguration(String flow, String subflow) {
+        SubflowConfiguration subflowConfiguration = flowRegistry.getSubflow(flow, subflow);
+        if (subflowConfiguration == null) {
+            getValidatedFlowConfigurationByName(flow);
+            throwNotFoundError(flow, null,
+                    String.format("Could not find subflow %s in flow %s, in your applications flow configuration file.",
+                            subflow, flow));
+        }
+        return subflowConfiguration;
     }
 
     /**
@@ -1338,68 +1364,20 @@ public class ScreenController extends FormFlowController {
      */
     private ScreenConfig getValidatedScreenConfiguration(String flow, String screen) {
         FlowConfiguration currentFlowConfiguration = getValidatedFlowConfigurationByName(flow);
-        ScreenNavigationConfiguration currentScreen = currentFlowConfiguration.getScreenNavigation(screen);
+        ScreenNavigationConfiguration currentScreen = flowRegistry.getScreen(flow, screen);
         if (currentScreen == null) {
             throwNotFoundError(flow, screen, "Screen could not be found in flow configuration for flow " + flow + ".");
         }
         return new ScreenConfig(currentFlowConfiguration.getName(), currentScreen);
     }
 
-    private Boolean isConditionalNavigation(ScreenNavigationConfiguration currentScreen) {
-        return currentScreen.getNextScreens().stream()
-                .anyMatch(nextScreen -> nextScreen.getCondition() != null);
-    }
-
-    /**
-     * Returns a list of possible next screens, the ones whose conditions pass
-     *
-     * @param currentScreen          screen you're on
-     * @param submission             submission
-     * @param subflowUuid            current subflow uuid
-     * @param repeatForIterationUuid current iteration repeatFor uuid
-     * @return List<NextScreen> list of next screens
-     */
-    private List<NextScreen> getConditionalNextScreen(ScreenNavigationConfiguration currentScreen,
-            Submission submission, String subflowUuid, String repeatForIterationUuid) {
-        return currentScreen.getNextScreens().stream()
-                .filter(nextScreen -> conditionManager.conditionExists(nextScreen.getCondition()))
-                .filter(nextScreen -> {
-                    if (currentScreen.getSubflow() != null && repeatForIterationUuid != null) {
-                        return conditionManager.runCondition(nextScreen.getCondition(), submission, subflowUuid,
-                                repeatForIterationUuid);
-                    } else if (currentScreen.getSubflow() != null && repeatForIterationUuid == null) {
-                        return conditionManager.runCondition(nextScreen.getCondition(), submission, subflowUuid);
-                    } else {
-                        return conditionManager.runCondition(nextScreen.getCondition(), submission);
-                    }
-                })
-                .toList();
-    }
-
-    private NextScreen getNonConditionalNextScreen(ScreenNavigationConfiguration currentScreen) {
-        return currentScreen.getNextScreens().stream()
-                .filter(nxtScreen -> nxtScreen.getCondition() == null).toList().getFirst();
-    }
-
-    private Boolean isIterationStartScreen(String flow, String screen) {
-        Map<String, SubflowConfiguration> subflows = getValidatedFlowConfigurationByName(flow).getSubflows();
-        if (subflows == null) {
-            return false;
-        }
-        return subflows.entrySet().stream().anyMatch(subflowConfig ->
-                subflowConfig.getValue().getIterationStartScreen().equals(screen));
-    }
-
     private String createFormActionString(String flow, String screen, Submission submission, String referer) {
-        FlowConfiguration flowConfig = getValidatedFlowConfigurationByName(flow);
-        ScreenNavigationConfiguration screenConfig = flowConfig.getScreenNavigation(screen);
-
-        if (!isIterationStartScreen(flow, screen)) {
+        if (!flowRegistry.isIterationStartScreen(flow, screen)) {
             return String.format("/flow/%s/%s", flow, screen);
         }
 
         // If we know we are on an iteration start screen we must be in a subflow so which one?
-        String subflowName = screenConfig.getSubflow();
+        String subflowName = flowRegistry.getSubflowNameForScreen(flow, screen);
 
         if (subflowManager.subflowHasRelationship(flow, subflowName)) {
             String uuid = subflowManager.getUuidOfIterationToUpdate(referer, subflowName, submission);
@@ -1418,8 +1396,7 @@ public class ScreenController extends FormFlowController {
     private Map<String, Object> createModel(String flow, String screen, HttpSession httpSession, Submission submission,
             String uuid, String repeatForIterationUuid, HttpServletRequest request, String referer) {
         Map<String, Object> model = new HashMap<>();
-        FlowConfiguration flowConfig = getValidatedFlowConfigurationByName(flow);
-        String subflowName = flowConfig.getFlow().get(screen).getSubflow();
+        String subflowName = flowRegistry.getSubflowNameForScreen(flow, screen);
 
         model.put("flow", flow);
         model.put("screen", screen);
@@ -1431,24 +1408,16 @@ public class ScreenController extends FormFlowController {
         }
 
         // Put subflow on model if on subflow delete confirmation screen
-        Map<String, SubflowConfiguration> subflows = getValidatedFlowConfigurationByName(flow).getSubflows();
-        if (subflows != null) {
-            List<String> subflowFromDeleteConfirmationConfig = subflows.entrySet().stream()
-                    .filter(entry ->
-                            screen.equals(entry.getValue().getDeleteConfirmationScreen()))
-                    .map(Entry::getKey)
-                    .toList();
-
-            if (!subflowFromDeleteConfirmationConfig.isEmpty()) {
-                model.put("subflow", subflowFromDeleteConfirmationConfig.getFirst());
-            }
+        String subflowFromDeleteConfirmationConfig = flowRegistry.getSubflowNameForDeleteConfirmationScreen(flow, screen);
+        if (subflowFromDeleteConfirmationConfig != null) {
+            model.put("subflow", subflowFromDeleteConfirmationConfig);
+        }
 
-            // Add the iteration start page to the model if we are on the review page for a subflow so we have it for the edit button
-            subflows.forEach((key, value) -> {
-                if (value.getReviewScreen().equals(screen)) {
-                    model.put("iterationStartScreen", value.getIterationStartScreen());
-                }
-            });
+        // Add the iteration start page to the model if we are on the review page for a subflow so we have it for the edit button
+        String subflowFromReviewConfig = flowRegistry.getSubflowNameForReviewScreen(flow, screen);
+        if (subflowFromReviewConfig != null) {
+            model.put("iterationStartScreen",
+                    flowRegistry.getSubflow(flow, subflowFromReviewConfig).getIterationStartScreen());
         }
 
         Boolean formDataSubmissionExists = httpSession.getAttribute("formDataSubmission") != null;
@@ -1506,9 +1475,8 @@ public class ScreenController extends FormFlowController {
                         RepeatFor repeatFor = subflowRelationship.getRepeatFor();
 
                         Map<String, Object> subflowData = submission.getSubflowEntryByUuid(subflowName, uuidOfIterationToUpdate);
-                        Map<String, Object> repeatForIteration = subflowManager.getRepeatForIteration(subflowData,
-                                repeatFor.getSaveDataAs(),
-                                repeatForIterationUuid);
+                        Map<String, Object> repeatForIteration = RepeatForIterations.of(subflowData,
+                                repeatFor.getSaveDataAs()).get(repeatForIterationUuid);
 
                         if (formDataSubmissionExists && repeatForIteration != null) {
                             repeatForIteration.putAll((Map<String, Object>) httpSession.getAttribute("formDataSubmission"));
@@ -1527,9 +1495,12 @@ public class ScreenController extends FormFlowController {
 
         if (RequestContextUtils.getInputFlashMap(request) != null) {
             model.put("lockedSubmissionMessage", RequestContextUtils.getInputFlashMap(request).get("lockedSubmissionMessage"));
+            model.put("submissionConflictMessage",
+                    RequestContextUtils.getInputFlashMap(request).get("submissionConflictMessage"));
         }
 
         model.put("requiredInputs", ValidationService.getRequiredInputs(flow));
+        model.put("requiredInputsForFlow", validationService.getRequiredInputsForFlow(flow));
 
         return model;
     }
@@ -1545,30 +1516,19 @@ public class ScreenController extends FormFlowController {
         }
     }
 
-    private Boolean isDeleteConfirmationScreen(String flow, String screen) {
-        Map<String, SubflowConfiguration> subflows = getValidatedFlowConfigurationByName(flow).getSubflows();
-        if (subflows == null) {
-            return false;
-        }
-        return subflows.entrySet().stream()
-                .anyMatch(subflow -> screen.equals(subflow.getValue().getDeleteConfirmationScreen()));
-    }
-
     @Nullable
     private ModelAndView handleDeleteBackBehavior(String flow, String screen, String uuid,
             Submission submission) {
         ModelMap model = new ModelMap();
-        String subflowName = getValidatedFlowConfigurationByName(flow).getSubflows().entrySet().stream()
-                .filter(entry -> screen.equals(entry.getValue().getDeleteConfirmationScreen()))
-                .toList().getFirst().getKey();
+        String subflowName = flowRegistry.getSubflowNameForDeleteConfirmationScreen(flow, screen);
+        SubflowConfiguration subflowConfiguration = flowRegistry.getSubflow(flow, subflowName);
         ArrayList<Map<String, Object>> subflow = (ArrayList<Map<String, Object>>) submission.getInputData().get(subflowName);
         if (subflow == null || subflow.stream().noneMatch(entry -> entry.get("uuid").equals(uuid))) {
             model.put("noEntryToDelete", true);
-            model.put("reviewScreen", getValidatedFlowConfigurationByName(flow).getSubflows().get(subflowName).getReviewScreen());
+            model.put("reviewScreen", subflowConfiguration.getReviewScreen());
             if (subflow == null) {
                 model.put("subflowIsEmpty", true);
-                model.put("entryScreen",
-                        getValidatedFlowConfigurationByName(flow).getSubflows().get(subflowName).getEntryScreen());
+                model.put("entryScreen", subflowConfiguration.getEntryScreen());
             }
             return new ModelAndView("%s/%s".formatted(flow, screen), model);
         }
@@ -1576,25 +1536,19 @@ public class ScreenController extends FormFlowController {
     }
 
     /**
-     * Runs address validation on the form submission data, but only if there is an address present in the form submission that
-     * validation is requested for. This also clears out any fields in the submission that are related to the validated version of
-     * that were previously set.
+     * Puts the validated versions of the addresses in the form submission, if any addresses were validated. This also clears out
+     * any fields in the submission that are related to the validated version of those addresses that were previously set.
      *
      * @param submission     Submission data from the database
      * @param formSubmission Form data from current POST
+     * @param validation     the outcome of validating the form submission
      */
-    private void handleAddressValidation(Submission submission, FormSubmission formSubmission)
-            throws SmartyException, IOException, InterruptedException {
-
-        List<String> addressValidationFields = formSubmission.getAddressValidationFields();
-        if (!addressValidationFields.isEmpty()) {
-            Map<String, ValidatedAddress> validatedAddresses = addressValidationService.validate(formSubmission);
-            formSubmission.setValidatedAddress(validatedAddresses);
+    private void handleValidatedAddresses(Submission submission, FormSubmission formSubmission,
+            ValidationPipeline.Result validation) {
+        if (validation.validatedAddresses() != null) {
+            formSubmission.setValidatedAddress(validation.validatedAddresses());
             // clear lingering address(es) from the submission stored in the database.
-            formSubmission.getAddressValidationFields().forEach(item -> {
-                String inputName = item.replace(UNVALIDATED_FIELD_MARKER_VALIDATE_ADDRESS, "");
-                submission.clearAddressFields(inputName);
-            });
+            validation.addressInputNames().forEach(submission::clearAddressFields);
         }
     }
 
@@ -1631,7 +1585,7 @@ public class ScreenController extends FormFlowController {
             subflowNameList.add(currentScreen.getSubflow());
         } else {
             // we don't know the subflow, so check them all
-            subflowNameList.addAll(flowConfiguration.getSubflows().keySet().stream().toList());
+            subflowNameList.addAll(flowRegistry.getSubflowNames(flowConfiguration.getName()));
         }
 
         for (String subflowName : subflowNameList) {
@@ -1683,10 +1637,7 @@ public class ScreenController extends FormFlowController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
         }
 
-        List<Map<String, Object>> repeatForIterationsData = (List<Map<String, Object>>) subflowIterationData.get(
-                repeatForSaveDataAs);
-        return repeatForIterationsData.stream()
-                .anyMatch(nestedSubflow -> nestedSubflow.get("uuid").equals(repeatForIterationUuid));
+        return RepeatForIterations.of(subflowIterationData, repeatForSaveDataAs).get(repeatForIterationUuid) != null;
     }
 
     private String nextScreenFromRepeatForIterationStartScreen(Map<String, Object> currentSubflowEntryData,
@@ -1698,9 +1649,8 @@ public class ScreenController extends FormFlowController {
         String redirectString = "";
 
         if (!repeatForIterationsData.isEmpty()) {
-            Map<String, Object> nextRepeatForIterationScreen = subflowManager.getNextRepeatForIterationUuid(
-                    repeatFor.getSaveDataAs(),
-                    currentSubflowEntryData);
+            Map<String, Object> nextRepeatForIterationScreen = RepeatForIterations.of(currentSubflowEntryData,
+                    repeatFor.getSaveDataAs()).nextIncompleteIteration();
             if (nextRepeatForIterationScreen != null) {
                 redirectString = String.format("/flow/%s/%s/%s/%s", flowName, nextScreenName,
                         subflowIterationUuid,
@@ -0,0 +1,214 @@
+package formflow.library;
+
+import formflow.library.addressvalidation.AddressValidationService;
+import formflow.library.addressvalidation.ValidatedAddress;
+import formflow.library.config.ScreenNavigationConfiguration;
+import formflow.library.data.FormFieldClassification;
+import formflow.library.data.FormSubmission;
+import formflow.library.data.Submission;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Validates a screen's form submission in stages: field level validation of the inputs' annotations, the screen's cross-field
+ * validation action, then address validation of the addresses the screen asks to have validated.
+ *
+ * <p>
+ * The stages get more expensive as they go, so the later ones are skipped when an earlier one finds errors. Addresses are
+ * only validated when the other stages find no errors, and with {@code form-flow.validation.pipeline.short-circuit} the
+ * cross-field validation action is not run either when field level validation finds errors, at the cost of the user seeing
+ * its errors only once they have fixed the others.
+ * </p>
+ *
+ * <p>
+ * Address validation calls out to an external service, so with
+ * {@code form-flow.validation.pipeline.concurrent-address-validation} it is started right away on a virtual thread and runs
+ * while the other stages do, rather than after them. Its result is discarded when they find errors, so this trades address
+ * lookups for invalid submissions against a faster response for valid ones. The lookup runs off the request thread, so an
+ * application's {@link AddressValidationService} must not depend on request scoped state to use it.
+ * </p>
+ *
+ * <p>
+ * Each stage's duration is recorded by the {@code formflow.validation.stage} timer, tagged with the {@code stage}.
+ * </p>
+ */
+@Slf4j
+@Service
+public class ValidationPipeline {
+
+    private final ValidationService validationService;
+    private final AddressValidationService addressValidationService;
+    private final boolean shortCircuit;
+    private final boolean concurrentAddressValidation;
+    private final ExecutorService addressValidationExecutor;
+
+    private final Timer fieldTimer;
+    private final Timer crossFieldTimer;
+    private final Timer addressTimer;
+
+    /**
+     * Autoconfigured constructor.
+     *
+     * @param validationService           the service running field level and cross-field validation
+     * @param addressValidationService    the service validating addresses
+     * @param shortCircuit                whether to skip cross-field validation when field level validation finds errors
+     * @param concurrentAddressValidation whether to validate addresses while the other stages run
+     * @param meterRegistryProvider       the registry to record the stage timings in, if there is one
+     */
+    @Autowired
+    public ValidationPipeline(ValidationService validationService, AddressValidationService addressValidationService,
+            @Value("${form-flow.validation.pipeline.short-circuit:false}") boolean shortCircuit,
+            @Value("${form-flow.validation.pipeline.concurrent-address-validation:false}") boolean concurrentAddressValidation,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(validationService, addressValidationService, shortCircuit, concurrentAddressValidation,
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    ValidationPipeline(ValidationService validationService, AddressValidationService addressValidationService,
+            boolean shortCircuit, boolean concurrentAddressValidation, MeterRegistry meterRegistry) {
+        this.validationService = validationService;
+        this.addressValidationService = addressValidationService;
+        this.shortCircuit = shortCircuit;
+        this.concurrentAddressValidation = concurrentAddressValidation;
+        this.addressValidationExecutor = concurrentAddressValidation ? Executors.newVirtualThreadPerTaskExecutor() : null;
+
+        this.fieldTimer = stageTimer("field", meterRegistry);
+        this.crossFieldTimer = stageTimer("cross-field", meterRegistry);
+        this.addressTimer = stageTimer("address", meterRegistry);
+    }
+
+    private static Timer stageTimer(String stage, MeterRegistry meterRegistry) {
+        return Timer.builder("formflow.validation.stage")
+                .tag("stage", stage)
+                .description("Time taken by a stage of validating a form submission")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The outcome of validating a form submission.
+     *
+     * @param errorMessages      the error messages by field, empty if the form submission is valid
+     * @param validatedAddresses the validated addresses by input name, or null if no addresses were validated
+     * @param addressInputNames  the names of the address inputs which were validated, empty if none were
+     */
+    public record Result(Map<String, List<String>> errorMessages, Map<String, ValidatedAddress> validatedAddresses,
+            List<String> addressInputNames) {
+
+        /**
+         * Whether any stage found errors.
+         *
+         * @return true if the form submission is not valid
+         */
+        public boolean hasErrors() {
+            return !errorMessages.isEmpty();
+        }
+    }
+
+    /**
+     * Runs field level and cross-field validation on a form submission, without validating its addresses.
+     *
+     * @param currentScreen  the screen the form submission was posted from
+     * @param flowName       the name of the current flow
+     * @param formSubmission the posted form data
+     * @param submission     the submission the form data is for
+     * @return the error messages, with no validated addresses
+     */
+    public Result validate(ScreenNavigationConfiguration currentScreen, String flowName, FormSubmission formSubmission,
+            Submission submission) {
+        return validate(currentScreen, flowName, formSubmission.classifyFields(), submission);
+    }
+
+    private Result validate(ScreenNavigationConfiguration currentScreen, String flowName, FormFieldClassification fields,
+            Submission submission) {
+        return new Result(validateInputs(currentScreen, flowName, fields, submission), null, List.of());
+    }
+
+    /**
+     * Runs all stages on a form submission, validating the addresses it asks to have validated if it has no other errors.
+     *
+     * @param currentScreen  the screen the form submission was posted from
+     * @param flowName       the name of the current flow
+     * @param formSubmission the posted form data
+     * @param submission     the submission the form data is for
+     * @return the error messages, and the validated addresses if there were addresses to validate and no errors
+     */
+    public Result validateWithAddresses(ScreenNavigationConfiguration currentScreen, String flowName,
+            FormSubmission formSubmission, Submission submission) {
+        FormFieldClassification fields = formSubmission.classifyFields();
+        List<String> addressInputNames = fields.getAddressInputNames();
+        if (addressInputNames.isEmpty()) {
+            return validate(currentScreen, flowName, fields, submission);
+        }
+
+        if (!concurrentAddressValidation) {
+            Map<String, List<String>> errorMessages = validateInputs(currentScreen, flowName, fields, submission);
+            if (!errorMessages.isEmpty()) {
+                return new Result(errorMessages, null, List.of());
+            }
+            return new Result(errorMessages, addressTimer.record(() -> addressValidationService.validate(formSubmission, addressInputNames)),
+                    addressInputNames);
+        }
+
+        // the lookup gets its own copy of the form data, as the request thread carries on with the original
+        FormSubmission addressSubmission = new FormSubmission(new HashMap<>(formSubmission.getFormData()));
+        CompletableFuture<Map<String, ValidatedAddress>> validatedAddresses = CompletableFuture.supplyAsync(
+                () -> addressTimer.record(() -> addressValidationService.validate(addressSubmission, addressInputNames)), addressValidationExecutor);
+
+        Map<String, List<String>> errorMessages = validateInputs(currentScreen, flowName, fields, submission);
+        if (!errorMessages.isEmpty()) {
+            validatedAddresses.cancel(true);
+            return new Result(errorMessages, null, List.of());
+        }
+        try {
+            return new Result(errorMessages, validatedAddresses.join(), addressInputNames);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Map<String, List<String>> validateInputs(ScreenNavigationConfiguration currentScreen, String flowName,
+            FormFieldClassification fields, Submission submission) {
+        FormSubmission filteredSubmission = new FormSubmission(fields.getValidatableFields());
+
+        Map<String, List<String>> errorMessages = fieldTimer.record(
+                () -> validationService.performFieldLevelValidation(flowName, filteredSubmission));
+        if (currentScreen.getCrossFieldValidationAction() == null) {
+            return errorMessages;
+        }
+        if (shortCircuit && !errorMessages.isEmpty()) {
+            log.debug("Skipping cross-field validation of screen {}, as field level validation failed", currentScreen.getName());
+            return errorMessages;
+        }
+
+        errorMessages.putAll(crossFieldTimer.record(
+                () -> validationService.performCrossFieldValidation(currentScreen, filteredSubmission, submission)));
+        return errorMessages;
+    }
+
+    /**
+     * Stops the threads validating addresses.
+     */
+    @PreDestroy
+    public void stop() {
+        if (addressValidationExecutor != null) {
+            addressValidationExecutor.shutdownNow();
+        }
+    }
+}
@@ -3,21 +3,19 @@ package formflow.library;
 import static formflow.library.inputs.FieldNameMarkers.DYNAMIC_FIELD_MARKER;
 
 import formflow.library.config.ActionManager;
+import formflow.library.config.FlowConfiguration;
+import formflow.library.config.FlowRegistry;
 import formflow.library.config.ScreenNavigationConfiguration;
 import formflow.library.data.FormSubmission;
 import formflow.library.data.Submission;
+import formflow.library.inputs.InputSchema;
+import formflow.library.inputs.InputSchema.InputField;
 import jakarta.validation.Validator;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.NotNull;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
@@ -37,59 +35,83 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class ValidationService {
 
-    private static final Map<String, Map<String, Boolean>> requiredInputs = new ConcurrentHashMap<>();
-    private static final List<String> requiredAnnotationsList = List.of(
-            NotNull.class.getName(),
-            NotEmpty.class.getName(),
-            NotBlank.class.getName()
-    );
-    private static String inputConfigPath;
+    private static volatile Map<String, Map<String, Boolean>> requiredInputs = Map.of();
+
+    private final Map<String, InputSchema> inputSchemas;
     private final Validator validator;
     private final ActionManager actionManager;
 
     /**
-     * Autoconfigured constructor.
+     * Autoconfigured constructor. Works out the input schema of every configured flow.
      *
      * @param validator       Validator from Jakarta package.
      * @param actionManager   the <code>ActionManager</code> that manages the logic to be run at specific points
+     * @param flowRegistry    the registry of the application's flows
      * @param inputConfigPath the package path where inputs classes are located
      */
-    public ValidationService(Validator validator, ActionManager actionManager,
+    public ValidationService(Validator validator, ActionManager actionManager, FlowRegistry flowRegistry,
             @Value("${form-flow.inputs: 'formflow.library.inputs.'}") String inputConfigPath) {
         this.validator = validator;
         this.actionManager = actionManager;
-        ValidationService.inputConfigPath = inputConfigPath;
-    }
-
-    public static Map<String, Map<String, Boolean>> getRequiredInputs(String flowName) {
-        if (!requiredInputs.containsKey(flowName)) {
-            Class<?> flowClass;
 
+        Map<String, InputSchema> schemas = new HashMap<>();
+        for (FlowConfiguration flowConfiguration : flowRegistry.getFlowConfigurations()) {
+            String flowName = flowConfiguration.getName();
             try {
-                flowClass = Class.forName(inputConfigPath + StringUtils.capitalize(flowName));
+                schemas.put(flowName, InputSchema.compile(Class.forName(inputConfigPath + StringUtils.capitalize(flowName))));
             } catch (ReflectiveOperationException e) {
-                log.error(
-                        "Error while trying to get the inputs class for flow {}. Make sure the inputs file for your application uses the same name as it's flow.",
-                        flowName, e);
-                throw new RuntimeException(e);
-            }
-
-            Field[] declaredFields = flowClass.getDeclaredFields();
-            for (Field field : declaredFields) {
-                if (Arrays.stream(field.getAnnotations())
-                        .anyMatch(annotation -> requiredAnnotationsList.contains(annotation.annotationType().getName()))) {
-                    if (requiredInputs.containsKey(flowName)) {
-                        requiredInputs.get(flowName).put(field.getName(), true);
-                    } else {
-                        requiredInputs.put(flowName, new ConcurrentHashMap<>(Map.of(field.getName(), true)));
-                    }
-                }
+                log.warn("Unable to find the inputs class for flow {}. Make sure the inputs file for your application uses "
+                        + "the same name as it's flow.", flowName);
             }
         }
+        this.inputSchemas = Map.copyOf(schemas);
+
+        Map<String, Map<String, Boolean>> requiredInputsByFlow = new HashMap<>();
+        inputSchemas.forEach((flowName, inputSchema) -> {
+            Map<String, Boolean> flowRequiredInputs = new HashMap<>();
+            inputSchema.getRequiredInputs().forEach(inputName -> flowRequiredInputs.put(inputName, true));
+            requiredInputsByFlow.put(flowName, Map.copyOf(flowRequiredInputs));
+        });
+        ValidationService.requiredInputs = Map.copyOf(requiredInputsByFlow);
+    }
 
+    /**
+     * Gets the required inputs of all flows, by flow name, each mapped to true.
+     *
+     * <p>
+     * This is the {@code requiredInputs} model attribute, read by templates as
+     * {@code requiredInputs.get(flow).getOrDefault(inputName, false)}.
+     * </p>
+     *
+     * @param flowName the name of the current flow, no longer used: all flows' required inputs are worked out at startup
+     * @return an unmodifiable map of flow name to the flow's required inputs, each mapped to true
+     * @deprecated use {@link #getRequiredInputsForFlow(String)} to get the required inputs of a single flow
+     */
+    @Deprecated
+    public static Map<String, Map<String, Boolean>> getRequiredInputs(String flowName) {
         return requiredInputs;
     }
 
+    /**
+     * Gets the names of a flow's required inputs: the fields of its inputs class with a {@code @NotNull}, {@code @NotEmpty} or
+     * {@code @NotBlank} annotation.
+     *
+     * @param flowName the name of the flow
+     * @return an unmodifiable set of the flow's required inputs, empty if the flow has no inputs class
+     */
+    public Set<String> getRequiredInputsForFlow(String flowName) {
+        InputSchema inputSchema = inputSchemas.get(flowName);
+        return inputSchema != null ? inputSchema.getRequiredInputs() : Set.of();
+    }
+
+    private InputSchema getInputSchema(String flowName) {
+        InputSchema inputSchema = inputSchemas.get(flowName);
+        if (inputSchema == null) {
+            throw new RuntimeException(String.format("Unable to find the inputs class for flow '%s'", flowName));
+        }
+        return inputSchema;
+    }
+
     /**
      * Validates client inputs with java bean validation based on input definition.
      *
@@ -102,14 +124,13 @@ public class ValidationService {
     public Map<String, List<String>> validate(ScreenNavigationConfiguration currentScreen, String flowName,
             FormSubmission formSubmission, Submission submission) {
 
-        Map<String, List<String>> crossFieldValidationMessages;
-        FormSubmission filteredSubmission = new FormSubmission(formSubmission.getValidatableFields());
+        FormSubmission filteredSubmission = filterValidatableFields(formSubmission);
 
         // perform field level validations
         Map<String, List<String>> validationMessages = performFieldLevelValidation(flowName, filteredSubmission);
 
         // perform cross-field validations, if supplied in action
-        crossFieldValidationMessages = actionManager.handleCrossFieldValidationAction(currentScreen, filteredSubmission,
+        Map<String, List<String>> crossFieldValidationMessages = performCrossFieldValidation(currentScreen, filteredSubmission,
                 submission);
 
         // combine messages and return them
@@ -118,21 +139,33 @@ public class ValidationService {
         return validationMessages;
     }
 
-    private Map<String, List<String>> performFieldLevelValidation(String flowName, FormSubmission formSubmission) {
+    /**
+     * Copies the fields of a form submission that are validated, leaving out the unvalidated ones such as CSRF tokens and
+     * address validation markers.
+     */
+    FormSubmission filterValidatableFields(FormSubmission formSubmission) {
+        return new FormSubmission(formSubmission.getValidatableFields());
+    }
 
-        Class<?> flowClass;
-        HashMap<String, List<String>> validationMessages = new HashMap<>();
+    /**
+     * Runs the current screen's cross-field validation action, if it has one.
+     */
+    Map<String, List<String>> performCrossFieldValidation(ScreenNavigationConfiguration currentScreen,
+            FormSubmission filteredSubmission, Submission submission) {
+        return actionManager.handleCrossFieldValidationAction(currentScreen, filteredSubmission, submission);
+    }
 
-        try {
-            flowClass = Class.forName(inputConfigPath + StringUtils.capitalize(flowName));
-        } catch (ReflectiveOperationException e) {
-            throw new RuntimeException(e);
-        }
+    /**
+     * Validates each field of a filtered form submission against its annotations in the flow's inputs class.
+     */
+    Map<String, List<String>> performFieldLevelValidation(String flowName, FormSubmission formSubmission) {
+
+        InputSchema inputSchema = getInputSchema(flowName);
+        HashMap<String, List<String>> validationMessages = new HashMap<>();
 
         formSubmission.getFormData().forEach((key, value) -> {
             boolean dynamicField = false;
             var messages = new ArrayList<String>();
-            List<String> annotationNames = null;
 
             if (key.contains("[]")) {
                 key = key.replace("[]", "");
@@ -145,10 +178,8 @@ public class ValidationService {
                 key = StringUtils.substringBefore(key, DYNAMIC_FIELD_MARKER);
             }
 
-            try {
-                annotationNames = Arrays.stream(flowClass.getDeclaredField(key).getDeclaredAnnotations())
-                        .map(annotation -> annotation.annotationType().getName()).toList();
-            } catch (NoSuchFieldException e) {
+            InputField field = inputSchema.getField(key);
+            if (field == null) {
                 if (dynamicField) {
                     throw new RuntimeException(
                             String.format(
@@ -158,13 +189,13 @@ public class ValidationService {
                             )
                     );
                 } else {
-                    throw new RuntimeException(e);
+                    throw new RuntimeException(new NoSuchFieldException(key));
                 }
             }
 
             // if it's acting like a dynamic field, then ensure that it is marked as one
             if (dynamicField) {
-                if (!annotationNames.contains("formflow.library.data.annotations.DynamicField")) {
+                if (!field.dynamic()) {
                     throw new RuntimeException(
                             String.format(
                                     "Field name '%s' (field: '%s') acts like it's a dynamic field, but the field does not contain the @DynamicField annotation",
@@ -174,12 +205,12 @@ public class ValidationService {
                 }
             }
 
-            if (Collections.disjoint(annotationNames, requiredAnnotationsList) && value.equals("")) {
+            if (!field.required() && value.equals("")) {
                 log.info("skipping validation - found empty input for non-required field");
                 return;
             }
 
-            validator.validateValue(flowClass, key, value)
+            validator.validateValue(inputSchema.getInputsClass(), key, value)
                     .forEach(violation -> messages.add(violation.getMessage()));
 
             if (!messages.isEmpty()) {
@@ -1,6 +1,7 @@
 package formflow.library.addressvalidation;
 
 import formflow.library.data.FormSubmission;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -16,4 +17,16 @@ public interface AddressValidationService {
      * @return A map of identifier strings to ValidatedAddress objects.
      */
     Map<String, ValidatedAddress> validate(FormSubmission formSubmission);
+
+    /**
+     * Validates the given addresses of a FormSubmission object, for callers that have already found which addresses it asks to
+     * have validated. By default, this finds them again by calling {@link #validate(FormSubmission)}.
+     *
+     * @param formSubmission    The form submission containing the addresses to be validated.
+     * @param addressInputNames The names of the address inputs to validate, such as {@code residentialAddress}.
+     * @return A map of identifier strings to ValidatedAddress objects.
+     */
+    default Map<String, ValidatedAddress> validate(FormSubmission formSubmission, List<String> addressInputNames) {
+        return validate(formSubmission);
+    }
 }
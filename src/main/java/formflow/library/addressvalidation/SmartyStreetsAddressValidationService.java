@@ -4,6 +4,7 @@ import com.smartystreets.api.us_street.Batch;
 import com.smartystreets.api.us_street.Client;
 import formflow.library.data.FormSubmission;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -59,13 +60,29 @@ public class SmartyStreetsAddressValidationService implements AddressValidationS
      */
     @Override
     public Map<String, ValidatedAddress> validate(FormSubmission formSubmission) {
+        if (!isEnabled) {
+            return Map.of();
+        }
+        return validate(formSubmission, formSubmission.classifyFields().getAddressInputNames());
+    }
+
+    /**
+     * Validates the given addresses of a FormSubmission object. If address validation is disabled or an error occurs, it
+     * returns an empty map.
+     *
+     * @param formSubmission    The form submission containing the addresses to be validated.
+     * @param addressInputNames The names of the address inputs to validate, such as {@code residentialAddress}.
+     * @return A map of identifier strings to ValidatedAddress objects.
+     */
+    @Override
+    public Map<String, ValidatedAddress> validate(FormSubmission formSubmission, List<String> addressInputNames) {
 
         if (!isEnabled) {
             return Map.of();
         }
 
         try {
-            Batch smartyBatch = validationRequestFactory.create(formSubmission);
+            Batch smartyBatch = validationRequestFactory.create(formSubmission, addressInputNames);
             Client client = clientFactory.create(authId, authToken, license);
             client.send(smartyBatch);
 
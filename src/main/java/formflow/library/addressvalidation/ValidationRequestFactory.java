@@ -1,8 +1,6 @@
 package formflow.library.addressvalidation;
 
 
-import static formflow.library.inputs.FieldNameMarkers.UNVALIDATED_FIELD_MARKER_VALIDATE_ADDRESS;
-
 import com.smartystreets.api.exceptions.BatchFullException;
 import com.smartystreets.api.us_street.Batch;
 import com.smartystreets.api.us_street.Lookup;
@@ -27,21 +25,28 @@ public class ValidationRequestFactory {
     }
 
     /**
-     * Creates a batch of address validation lookups from a given FormSubmission. It filters the form data for address fields
-     * marked for validation and constructs smarty lookups for each.
+     * Creates a batch of address validation lookups from a given FormSubmission. It finds the address fields marked for
+     * validation in the form submission's field classification and constructs smarty lookups for each.
      *
      * @param formSubmission The FormSubmission containing the data to be validated.
      * @return A Batch object containing all the address lookups ready to be sent to SmartyStreets.
      * @throws RuntimeException If the number of lookups exceeds the maximum batch size limit.
      */
     public Batch create(FormSubmission formSubmission) {
+        return create(formSubmission, formSubmission.classifyFields().getAddressInputNames());
+    }
+
+    /**
+     * Creates a batch of address validation lookups for the given address inputs of a FormSubmission, for callers that have
+     * already classified its fields.
+     *
+     * @param formSubmission    The FormSubmission containing the data to be validated.
+     * @param addressInputNames The names of the address inputs to look up, such as {@code residentialAddress}.
+     * @return A Batch object containing all the address lookups ready to be sent to SmartyStreets.
+     * @throws RuntimeException If the number of lookups exceeds the maximum batch size limit.
+     */
+    public Batch create(FormSubmission formSubmission, List<String> addressInputNames) {
         Batch smartyBatch = new Batch();
-        List<String> addressInputNames = formSubmission.getFormData().keySet().stream()
-                .filter(key ->
-                        key.startsWith(UNVALIDATED_FIELD_MARKER_VALIDATE_ADDRESS.toString()) &&
-                                formSubmission.getFormData().get(key).equals("true")
-                )
-                .map(key -> key.substring(UNVALIDATED_FIELD_MARKER_VALIDATE_ADDRESS.toString().length())).toList();
 
         addressInputNames.forEach(inputName -> {
             Lookup lookup = new Lookup();
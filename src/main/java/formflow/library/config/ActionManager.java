@@ -51,7 +51,8 @@ public class ActionManager {
             Submission submission) {
         String actionName = currentScreen.getOnPostAction();
         if (actionName != null) {
-            runAction(actionName, formSubmission, submission);
+            Action action = resolveAction(actionName, currentScreen.getResolvedOnPostAction());
+            runAction(actionName, action, formSubmission, submission);
         }
     }
 
@@ -68,7 +69,8 @@ public class ActionManager {
             Submission submission, String uuid) {
         String actionName = currentScreen.getOnPostAction();
         if (actionName != null) {
-            runAction(actionName, formSubmission, submission, uuid);
+            Action action = resolveAction(actionName, currentScreen.getResolvedOnPostAction());
+            runAction(actionName, action, formSubmission, submission, uuid);
         }
     }
 
@@ -86,7 +88,8 @@ public class ActionManager {
             Submission submission, String subflowUuid, String repeatForUuid) {
         String actionName = currentScreen.getOnPostAction();
         if (actionName != null) {
-            runAction(actionName, formSubmission, submission, subflowUuid, repeatForUuid);
+            Action action = resolveAction(actionName, currentScreen.getResolvedOnPostAction());
+            runAction(actionName, action, formSubmission, submission, subflowUuid, repeatForUuid);
         }
     }
 
@@ -101,7 +104,8 @@ public class ActionManager {
     public void handleBeforeSaveAction(ScreenNavigationConfiguration currentScreen, Submission submission) {
         String actionName = currentScreen.getBeforeSaveAction();
         if (actionName != null) {
-            runAction(actionName, submission);
+            Action action = resolveAction(actionName, currentScreen.getResolvedBeforeSaveAction());
+            runAction(actionName, action, submission);
         }
     }
 
@@ -117,7 +121,8 @@ public class ActionManager {
     public void handleBeforeSaveAction(ScreenNavigationConfiguration currentScreen, Submission submission, String uuid) {
         String actionName = currentScreen.getBeforeSaveAction();
         if (actionName != null) {
-            runAction(actionName, submission, uuid);
+            Action action = resolveAction(actionName, currentScreen.getResolvedBeforeSaveAction());
+            runAction(actionName, action, submission, uuid);
         }
     }
 
@@ -135,7 +140,8 @@ public class ActionManager {
             String repeatForUuid) {
         String actionName = currentScreen.getBeforeSaveAction();
         if (actionName != null) {
-            runAction(actionName, submission, subflowUuid, repeatForUuid);
+            Action action = resolveAction(actionName, currentScreen.getResolvedBeforeSaveAction());
+            runAction(actionName, action, submission, subflowUuid, repeatForUuid);
         }
     }
 
@@ -151,7 +157,8 @@ public class ActionManager {
     public void handleAfterSaveAction(ScreenNavigationConfiguration currentScreen, Submission submission) {
         String actionName = currentScreen.getAfterSaveAction();
         if (actionName != null) {
-            runAction(actionName, submission);
+            Action action = resolveAction(actionName, currentScreen.getResolvedAfterSaveAction());
+            runAction(actionName, action, submission);
         }
     }
 
@@ -167,7 +174,8 @@ public class ActionManager {
     public void handleAfterSaveAction(ScreenNavigationConfiguration currentScreen, Submission submission, String uuid) {
         String actionName = currentScreen.getAfterSaveAction();
         if (actionName != null) {
-            runAction(actionName, submission, uuid);
+            Action action = resolveAction(actionName, currentScreen.getResolvedAfterSaveAction());
+            runAction(actionName, action, submission, uuid);
         }
     }
 
@@ -185,7 +193,8 @@ public class ActionManager {
             String repeatForUuid) {
         String actionName = currentScreen.getAfterSaveAction();
         if (actionName != null) {
-            runAction(actionName, submission, subflowUuid, repeatForUuid);
+            Action action = resolveAction(actionName, currentScreen.getResolvedAfterSaveAction());
+            runAction(actionName, action, submission, subflowUuid, repeatForUuid);
         }
     }
 
@@ -200,7 +209,8 @@ public class ActionManager {
     public void handleBeforeDisplayAction(ScreenNavigationConfiguration currentScreen, Submission submission) {
         String actionName = currentScreen.getBeforeDisplayAction();
         if (actionName != null) {
-            runAction(actionName, submission);
+            Action action = resolveAction(actionName, currentScreen.getResolvedBeforeDisplayAction());
+            runAction(actionName, action, submission);
         }
     }
 
@@ -216,7 +226,8 @@ public class ActionManager {
     public void handleBeforeDisplayAction(ScreenNavigationConfiguration currentScreen, Submission submission, String uuid) {
         String actionName = currentScreen.getBeforeDisplayAction();
         if (actionName != null) {
-            runAction(actionName, submission, uuid);
+            Action action = resolveAction(actionName, currentScreen.getResolvedBeforeDisplayAction());
+            runAction(actionName, action, submission, uuid);
         }
     }
 
@@ -235,7 +246,8 @@ public class ActionManager {
             String repeatForUuid) {
         String actionName = currentScreen.getBeforeDisplayAction();
         if (actionName != null) {
-            runAction(actionName, submission, uuid, repeatForUuid);
+            Action action = resolveAction(actionName, currentScreen.getResolvedBeforeDisplayAction());
+            runAction(actionName, action, submission, uuid, repeatForUuid);
         }
     }
 
@@ -254,52 +266,72 @@ public class ActionManager {
         Map<String, List<String>> messageMap = new HashMap<>();
         String actionName = currentScreen.getCrossFieldValidationAction();
         if (actionName != null) {
-            messageMap.putAll(runValidationAction(actionName, formSubmission, submission));
+            Action action = resolveAction(actionName, currentScreen.getResolvedCrossFieldValidationAction());
+            messageMap.putAll(runValidationAction(actionName, action, formSubmission, submission));
         }
         return messageMap;
     }
 
-    private void runAction(String name, Submission submission) {
-        runAction(name, () -> getAction(name).run(submission));
+    /**
+     * Returns the action bound to the screen at startup, only falling back to a lookup by name for screen configurations which
+     * were not bound by the {@link FlowConfigurationBinder}.
+     */
+    private Action resolveAction(String name, Action resolvedAction) {
+        return resolvedAction != null ? resolvedAction : getAction(name);
     }
 
-    private void runAction(String name, Submission submission, String uuid, String repeatForUuid) {
-        runAction(name, () -> getAction(name).run(submission, uuid, repeatForUuid));
+    private void runAction(String name, Action action, Submission submission) {
+        runAction(name, action, submission, () -> action.run(submission));
     }
 
-    private void runAction(String name, Submission submission, String uuid) {
-        runAction(name, () -> getAction(name).run(submission, uuid));
+    private void runAction(String name, Action action, Submission submission, String uuid, String repeatForUuid) {
+        runAction(name, action, submission, () -> action.run(submission, uuid, repeatForUuid));
     }
 
-    private void runAction(String name, FormSubmission formSubmission, Submission submission) {
-        runAction(name, () -> getAction(name).run(formSubmission, submission));
+    private void runAction(String name, Action action, Submission submission, String uuid) {
+        runAction(name, action, submission, () -> action.run(submission, uuid));
     }
 
-    private void runAction(String name, FormSubmission formSubmission, Submission submission, String uuid) {
-        runAction(name, () -> getAction(name).run(formSubmission, submission, uuid));
+    private void runAction(String name, Action action, FormSubmission formSubmission, Submission submission) {
+        runAction(name, action, submission, () -> action.run(formSubmission, submission));
     }
 
-    private void runAction(String name, FormSubmission formSubmission, Submission submission, String uuid, String repeatForUuid) {
-        runAction(name, () -> getAction(name).run(formSubmission, submission, uuid, repeatForUuid));
+    private void runAction(String name, Action action, FormSubmission formSubmission, Submission submission, String uuid) {
+        runAction(name, action, submission, () -> action.run(formSubmission, submission, uuid));
+    }
+
+    private void runAction(String name, Action action, FormSubmission formSubmission, Submission submission, String uuid,
+            String repeatForUuid) {
+        runAction(name, action, submission, () -> action.run(formSubmission, submission, uuid, repeatForUuid));
     }
 
-    private void runAction(String name, Runnable action) {
+    private void runAction(String name, Action action, Submission submission, Runnable runnable) {
         if (action == null) {
             log.error("Unable to find Action '{}' to run", name);
             return;
         }
 
         try {
-            action.run();
+            runnable.run();
         } catch (Exception e) {
             log.error("Unable to run Action '{}'", name, e);
+        } finally {
+            // actions are free to change the input data directly, so anything derived from it must be recomputed
+            if (submission != null) {
+                submission.markInputDataChanged();
+            }
         }
     }
 
-    private Map<String, List<String>> runValidationAction(String name, FormSubmission formSubmission, Submission submission) {
+    private Map<String, List<String>> runValidationAction(String name, Action action, FormSubmission formSubmission,
+            Submission submission) {
         Map<String, List<String>> errorMessages = new HashMap<>();
+        if (action == null) {
+            log.error("Unable to find Action '{}' to run", name);
+            return errorMessages;
+        }
         try {
-            Map<String, List<String>> messages = getAction(name).runValidation(formSubmission, submission);
+            Map<String, List<String>> messages = action.runValidation(formSubmission, submission);
             if (messages != null) {
                 errorMessages.putAll(messages);
             }
@@ -2,19 +2,57 @@ package formflow.library.config;
 
 import formflow.library.config.submission.Condition;
 import formflow.library.data.Submission;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Manages the application's conditions and runs them.
+ *
+ * <p>
+ * Within a request, condition results are memoized per submission, condition and subflow and repeatFor iteration, until the
+ * submission's input data changes. Cache hits and misses are counted by the {@code cache.gets} meter, tagged with
+ * {@code cache=formflow.conditions}.
+ * </p>
+ */
 @Slf4j
 @Component
 public class ConditionManager {
 
     private final HashMap<String, Condition> conditions = new HashMap<>();
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
 
-    public ConditionManager(List<Condition> conditionsList) {
+    /**
+     * Creates a condition manager, recording its metrics to the application's meter registry if there is one.
+     *
+     * @param conditionsList        the application's conditions
+     * @param meterRegistryProvider provider for the meter registry, falling back to the global registry
+     */
+    @Autowired
+    public ConditionManager(List<Condition> conditionsList, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(conditionsList, meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * Creates a condition manager.
+     *
+     * @param conditionsList the application's conditions
+     * @param meterRegistry  the registry to record metrics to
+     */
+    public ConditionManager(List<Condition> conditionsList, MeterRegistry meterRegistry) {
         conditionsList.forEach(condition -> this.conditions.put(condition.getClass().getSimpleName(), condition));
+        this.cacheHits = Counter.builder("cache.gets").tag("cache", "formflow.conditions").tag("result", "hit")
+                .description("Condition results served from the per-request cache").register(meterRegistry);
+        this.cacheMisses = Counter.builder("cache.gets").tag("cache", "formflow.conditions").tag("result", "miss")
+                .description("Condition results which had to be computed").register(meterRegistry);
     }
 
     public Condition getCondition(String name) {
@@ -31,7 +69,7 @@ public class ConditionManager {
             log.warn("Condition not found: " + conditionName);
             return false;
         }
-        return condition.run(submission);
+        return runCondition(condition, submission);
     }
 
     public Boolean runCondition(String conditionName, Submission submission, String uuid) {
@@ -40,7 +78,7 @@ public class ConditionManager {
             log.warn("Condition not found: " + conditionName);
             return false;
         }
-        return condition.run(submission, uuid);
+        return runCondition(condition, submission, uuid);
     }
 
     public Boolean runCondition(String conditionName, Submission submission, String subflowUuid, String repeatForUuid) {
@@ -49,6 +87,67 @@ public class ConditionManager {
             log.warn("Condition not found: " + conditionName);
             return false;
         }
-        return condition.run(submission, subflowUuid, repeatForUuid);
+        return runCondition(condition, submission, subflowUuid, repeatForUuid);
+    }
+
+    /**
+     * Runs a condition that has already been resolved, memoizing the result for the rest of the request.
+     *
+     * @param condition  the condition to run, not null
+     * @param submission submission
+     * @return the condition's result
+     */
+    public Boolean runCondition(Condition condition, Submission submission) {
+        return runCached(new ConditionResultCache.Key(condition, 1, null, null), submission,
+                () -> condition.run(submission));
+    }
+
+    /**
+     * Runs a condition that has already been resolved against a subflow iteration, memoizing the result for the rest of the
+     * request.
+     *
+     * @param condition  the condition to run, not null
+     * @param submission submission
+     * @param uuid       uuid of the subflow iteration
+     * @return the condition's result
+     */
+    public Boolean runCondition(Condition condition, Submission submission, String uuid) {
+        return runCached(new ConditionResultCache.Key(condition, 2, uuid, null), submission,
+                () -> condition.run(submission, uuid));
+    }
+
+    /**
+     * Runs a condition that has already been resolved against a subflow's repeatFor iteration, memoizing the result for the rest
+     * of the request.
+     *
+     * @param condition     the condition to run, not null
+     * @param submission    submission
+     * @param subflowUuid   uuid of the subflow iteration
+     * @param repeatForUuid uuid of the repeatFor iteration
+     * @return the condition's result
+     */
+    public Boolean runCondition(Condition condition, Submission submission, String subflowUuid, String repeatForUuid) {
+        return runCached(new ConditionResultCache.Key(condition, 3, subflowUuid, repeatForUuid), submission,
+                () -> condition.run(submission, subflowUuid, repeatForUuid));
+    }
+
+    private Boolean runCached(ConditionResultCache.Key key, Submission submission, Supplier<Boolean> condition) {
+        ConditionResultCache cache = ConditionResultCache.forCurrentRequest();
+        if (cache == null) {
+            return condition.get();
+        }
+
+        Boolean result = cache.get(submission, key);
+        if (result != null) {
+            cacheHits.increment();
+            return result;
+        }
+
+        cacheMisses.increment();
+        result = condition.get();
+        if (result != null) {
+            cache.put(submission, key, result);
+        }
+        return result;
     }
 }
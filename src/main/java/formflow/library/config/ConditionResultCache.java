@@ -0,0 +1,88 @@
+package formflow.library.config;
+
+import formflow.library.config.submission.Condition;
+import formflow.library.data.Submission;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Memoizes condition results for the duration of a single request.
+ *
+ * <p>
+ * Results are kept per {@link Submission} instance and keyed by the condition and the subflow and repeatFor iteration it was
+ * run against. They are dropped as soon as the submission's input data version moves on, so a condition is re-run after
+ * anything changes the input data.
+ * </p>
+ */
+final class ConditionResultCache {
+
+    private static final String REQUEST_ATTRIBUTE = ConditionResultCache.class.getName();
+
+    private final Map<Submission, SubmissionResults> resultsBySubmission = new IdentityHashMap<>();
+
+    private ConditionResultCache() {
+    }
+
+    /**
+     * Gets the cache for the current request, creating it on first use.
+     *
+     * @return the current request's cache, or null when not called from within a request
+     */
+    static ConditionResultCache forCurrentRequest() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+
+        ConditionResultCache cache = (ConditionResultCache) requestAttributes.getAttribute(REQUEST_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new ConditionResultCache();
+            requestAttributes.setAttribute(REQUEST_ATTRIBUTE, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cache;
+    }
+
+    Boolean get(Submission submission, Key key) {
+        SubmissionResults submissionResults = resultsBySubmission.get(submission);
+        if (submissionResults == null) {
+            return null;
+        }
+        if (submissionResults.inputDataVersion != inputDataVersion(submission)) {
+            resultsBySubmission.remove(submission);
+            return null;
+        }
+        return submissionResults.results.get(key);
+    }
+
+    void put(Submission submission, Key key, Boolean result) {
+        SubmissionResults submissionResults = resultsBySubmission.computeIfAbsent(submission,
+                s -> new SubmissionResults(inputDataVersion(s)));
+        submissionResults.results.put(key, result);
+    }
+
+    private static int inputDataVersion(Submission submission) {
+        return submission != null ? submission.getInputDataVersion() : 0;
+    }
+
+    /**
+     * Identifies a single condition evaluation. {@code arguments} is the number of arguments the condition was run with, as
+     * {@link Condition#run(Submission, String)} with a null uuid is not the same call as {@link Condition#run(Submission)}.
+     */
+    record Key(Condition condition, int arguments, String subflowUuid, String repeatForUuid) {
+
+    }
+
+    private static final class SubmissionResults {
+
+        private final int inputDataVersion;
+        private final Map<Key, Boolean> results = new HashMap<>();
+
+        private SubmissionResults(int inputDataVersion) {
+            this.inputDataVersion = inputDataVersion;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package formflow.library.config;
+
+import formflow.library.config.submission.Action;
+import formflow.library.config.submission.Condition;
+import formflow.library.exceptions.FlowConfigurationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the condition and action names used in the flows configuration to their beans.
+ *
+ * <p>
+ * This runs once at startup. Every condition and action name referenced by a screen or next screen is resolved through the
+ * {@link ConditionManager} and {@link ActionManager} and stored on the {@link ScreenNavigationConfiguration} or
+ * {@link NextScreen}, so that the request path never has to look beans up by name.
+ * </p>
+ * <p>
+ * Names which cannot be resolved are logged at startup; unresolved conditions are ignored and unresolved actions are not run.
+ * Setting {@code form-flow.fail-on-unknown-beans} to {@code true} makes startup fail with a {@link FlowConfigurationException}
+ * listing all of them instead.
+ * </p>
+ */
+@Slf4j
+@Component
+public class FlowConfigurationBinder {
+
+    private final ConditionManager conditionManager;
+    private final ActionManager actionManager;
+
+    /**
+     * Binds every flow in the registry.
+     *
+     * @param flowRegistry       the indexed flow configurations, not null
+     * @param conditionManager   the manager used to resolve condition names, not null
+     * @param actionManager      the manager used to resolve action names, not null
+     * @param failOnUnknownBeans whether an unresolved condition or action name should fail startup
+     * @throws FlowConfigurationException if a name cannot be resolved and {@code failOnUnknownBeans} is true
+     */
+    public FlowConfigurationBinder(FlowRegistry flowRegistry, ConditionManager conditionManager, ActionManager actionManager,
+            @Value("${form-flow.fail-on-unknown-beans:false}") boolean failOnUnknownBeans) {
+        this.conditionManager = conditionManager;
+        this.actionManager = actionManager;
+
+        List<String> errors = bind(flowRegistry.getFlowConfigurations());
+        if (!errors.isEmpty()) {
+            if (failOnUnknownBeans) {
+                throw new FlowConfigurationException(
+                        "Unable to bind the flows configuration: " + String.join("; ", errors));
+            }
+            errors.forEach(error -> log.warn("Unable to bind the flows configuration: {}", error));
+        }
+    }
+
+    private List<String> bind(List<FlowConfiguration> flowConfigurations) {
+        List<String> errors = new ArrayList<>();
+        flowConfigurations.forEach(flowConfiguration -> {
+            if (flowConfiguration.getFlow() == null) {
+                return;
+            }
+            flowConfiguration.getFlow().forEach((screenName, screen) -> {
+                String location = "flow '%s', screen '%s'".formatted(flowConfiguration.getName(), screenName);
+
+                bindCondition(screen.getCondition(), screen::setResolvedCondition, location, errors);
+                bindAction(screen.getOnPostAction(), screen::setResolvedOnPostAction, location, errors);
+                bindAction(screen.getCrossFieldValidationAction(), screen::setResolvedCrossFieldValidationAction, location,
+                        errors);
+                bindAction(screen.getBeforeSaveAction(), screen::setResolvedBeforeSaveAction, location, errors);
+                bindAction(screen.getBeforeDisplayAction(), screen::setResolvedBeforeDisplayAction, location, errors);
+                bindAction(screen.getAfterSaveAction(), screen::setResolvedAfterSaveAction, location, errors);
+
+                if (screen.getNextScreens() != null) {
+                    screen.getNextScreens().forEach(nextScreen ->
+                            bindCondition(nextScreen.getCondition(), nextScreen::setResolvedCondition,
+                                    location + ", next screen '" + nextScreen.getName() + "'", errors));
+                }
+            });
+        });
+        return errors;
+    }
+
+    private void bindCondition(String conditionName, Consumer<Condition> setter, String location, List<String> errors) {
+        if (conditionName == null) {
+            return;
+        }
+        Condition condition = conditionManager.getCondition(conditionName);
+        if (condition == null) {
+            errors.add("unknown Condition '%s' in %s".formatted(conditionName, location));
+        }
+        setter.accept(condition);
+    }
+
+    private void bindAction(String actionName, Consumer<Action> setter, String location, List<String> errors) {
+        if (actionName == null) {
+            return;
+        }
+        Action action = actionManager.getAction(actionName);
+        if (action == null) {
+            errors.add("unknown Action '%s' in %s".formatted(actionName, location));
+        }
+        setter.accept(action);
+    }
+}
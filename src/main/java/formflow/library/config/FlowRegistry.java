@@ -0,0 +1,204 @@
+package formflow.library.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable, indexed view of the application's flow configurations.
+ *
+ * <p>
+ * The registry is compiled once from the list of {@link FlowConfiguration} objects parsed out of the flows configuration yaml
+ * file, so that looking up a flow, a screen, a subflow, or which subflow a given screen belongs to is a map lookup rather than a
+ * scan over every flow on every request.
+ * </p>
+ */
+public class FlowRegistry {
+
+    private final List<FlowConfiguration> flowConfigurations;
+    private final Map<String, CompiledFlow> flows;
+
+    /**
+     * Compiles the given flow configurations into a registry.
+     *
+     * @param flowConfigurations the flow configurations to index, not null
+     */
+    public FlowRegistry(List<FlowConfiguration> flowConfigurations) {
+        Map<String, CompiledFlow> compiledFlows = new LinkedHashMap<>();
+        flowConfigurations.forEach(flowConfiguration ->
+                compiledFlows.putIfAbsent(flowConfiguration.getName(), new CompiledFlow(flowConfiguration)));
+        this.flowConfigurations = List.copyOf(flowConfigurations);
+        this.flows = Collections.unmodifiableMap(compiledFlows);
+    }
+
+    /**
+     * Returns all the flow configurations in this registry, in the order they were configured.
+     *
+     * @return an unmodifiable list of flow configurations
+     */
+    public List<FlowConfiguration> getFlowConfigurations() {
+        return flowConfigurations;
+    }
+
+    /**
+     * Checks whether a flow with the given name is configured.
+     *
+     * @param flowName the name of the flow
+     * @return true if the flow exists, false otherwise
+     */
+    public boolean flowExists(String flowName) {
+        return flowName != null && flows.containsKey(flowName);
+    }
+
+    /**
+     * Gets the configuration for a flow.
+     *
+     * @param flowName the name of the flow
+     * @return the flow configuration, or null if the flow does not exist
+     */
+    public FlowConfiguration getFlowConfiguration(String flowName) {
+        CompiledFlow compiledFlow = getCompiledFlow(flowName);
+        return compiledFlow != null ? compiledFlow.flowConfiguration : null;
+    }
+
+    /**
+     * Gets the navigation configuration for a screen in a flow.
+     *
+     * @param flowName   the name of the flow
+     * @param screenName the name of the screen
+     * @return the screen's navigation configuration, or null if either the flow or the screen does not exist
+     */
+    public ScreenNavigationConfiguration getScreen(String flowName, String screenName) {
+        CompiledFlow compiledFlow = getCompiledFlow(flowName);
+        return compiledFlow != null && screenName != null ? compiledFlow.screens.get(screenName) : null;
+    }
+
+    /**
+     * Gets the configuration for a subflow in a flow.
+     *
+     * @param flowName    the name of the flow
+     * @param subflowName the name of the subflow
+     * @return the subflow configuration, or null if either the flow or the subflow does not exist
+     */
+    public SubflowConfiguration getSubflow(String flowName, String subflowName) {
+        CompiledFlow compiledFlow = getCompiledFlow(flowName);
+        return compiledFlow != null && subflowName != null ? compiledFlow.subflows.get(subflowName) : null;
+    }
+
+    /**
+     * Gets the names of all the subflows configured for a flow.
+     *
+     * @param flowName the name of the flow
+     * @return an unmodifiable set of subflow names, empty if the flow does not exist or has no subflows
+     */
+    public Set<String> getSubflowNames(String flowName) {
+        CompiledFlow compiledFlow = getCompiledFlow(flowName);
+        return compiledFlow != null ? compiledFlow.subflows.keySet() : Set.of();
+    }
+
+    /**
+     * Gets the name of the subflow that a screen belongs to.
+     *
+     * @param flowName   the name of the flow
+     * @param screenName the name of the screen
+     * @return the name of the subflow the screen is a part of, or null if it is not in a subflow
+     */
+    public String getSubflowNameForScreen(String flowName, String screenName) {
+        ScreenNavigationConfiguration screen = getScreen(flowName, screenName);
+        return screen != null ? screen.getSubflow() : null;
+    }
+
+    /**
+     * Gets the name of the subflow that uses the given screen as its delete confirmation screen.
+     *
+     * @param flowName   the name of the flow
+     * @param screenName the name of the screen
+     * @return the subflow name, or null if the screen is not a delete confirmation screen
+     */
+    public String getSubflowNameForDeleteConfirmationScreen(String flowName, String screenName) {
+        CompiledFlow compiledFlow = getCompiledFlow(flowName);
+        return compiledFlow != null && screenName != null ? compiledFlow.deleteConfirmationScreens.get(screenName) : null;
+    }
+
+    /**
+     * Gets the name of the subflow that uses the given screen as its review screen.
+     *
+     * @param flowName   the name of the flow
+     * @param screenName the name of the screen
+     * @return the subflow name, or null if the screen is not a review screen
+     */
+    public String getSubflowNameForReviewScreen(String flowName, String screenName) {
+        CompiledFlow compiledFlow = getCompiledFlow(flowName);
+        return compiledFlow != null && screenName != null ? compiledFlow.reviewScreens.get(screenName) : null;
+    }
+
+    /**
+     * Checks whether a screen is a delete confirmation screen for any subflow in the flow.
+     *
+     * @param flowName   the name of the flow
+     * @param screenName the name of the screen
+     * @return true if the screen is a delete confirmation screen, false otherwise
+     */
+    public boolean isDeleteConfirmationScreen(String flowName, String screenName) {
+        return getSubflowNameForDeleteConfirmationScreen(flowName, screenName) != null;
+    }
+
+    /**
+     * Checks whether a screen is the iteration start screen for any subflow in the flow.
+     *
+     * @param flowName   the name of the flow
+     * @param screenName the name of the screen
+     * @return true if the screen is an iteration start screen, false otherwise
+     */
+    public boolean isIterationStartScreen(String flowName, String screenName) {
+        CompiledFlow compiledFlow = getCompiledFlow(flowName);
+        return compiledFlow != null && screenName != null && compiledFlow.iterationStartScreens.contains(screenName);
+    }
+
+    private CompiledFlow getCompiledFlow(String flowName) {
+        return flowName != null ? flows.get(flowName) : null;
+    }
+
+    /**
+     * The precomputed indexes for a single flow.
+     */
+    private static final class CompiledFlow {
+
+        private final FlowConfiguration flowConfiguration;
+        private final Map<String, ScreenNavigationConfiguration> screens;
+        private final Map<String, SubflowConfiguration> subflows;
+        private final Map<String, String> deleteConfirmationScreens;
+        private final Map<String, String> reviewScreens;
+        private final Set<String> iterationStartScreens;
+
+        private CompiledFlow(FlowConfiguration flowConfiguration) {
+            this.flowConfiguration = flowConfiguration;
+            this.screens = flowConfiguration.getFlow() != null ?
+                    Collections.unmodifiableMap(new HashMap<>(flowConfiguration.getFlow())) : Map.of();
+            this.subflows = flowConfiguration.getSubflows() != null ?
+                    Collections.unmodifiableMap(new HashMap<>(flowConfiguration.getSubflows())) : Map.of();
+
+            Map<String, String> deleteConfirmationScreenIndex = new HashMap<>();
+            Map<String, String> reviewScreenIndex = new HashMap<>();
+            Set<String> iterationStartScreenIndex = new HashSet<>();
+            subflows.forEach((subflowName, subflowConfiguration) -> {
+                if (subflowConfiguration.getDeleteConfirmationScreen() != null) {
+                    deleteConfirmationScreenIndex.putIfAbsent(subflowConfiguration.getDeleteConfirmationScreen(), subflowName);
+                }
+                if (subflowConfiguration.getReviewScreen() != null) {
+                    reviewScreenIndex.putIfAbsent(subflowConfiguration.getReviewScreen(), subflowName);
+                }
+                if (subflowConfiguration.getIterationStartScreen() != null) {
+                    iterationStartScreenIndex.add(subflowConfiguration.getIterationStartScreen());
+                }
+            });
+            this.deleteConfirmationScreens = Collections.unmodifiableMap(deleteConfirmationScreenIndex);
+            this.reviewScreens = Collections.unmodifiableMap(reviewScreenIndex);
+            this.iterationStartScreens = Collections.unmodifiableSet(iterationStartScreenIndex);
+        }
+    }
+}
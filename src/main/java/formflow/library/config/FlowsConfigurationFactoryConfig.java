@@ -44,4 +44,15 @@ public class FlowsConfigurationFactoryConfig {
     public List<FlowConfiguration> flowsConfiguration() throws IOException {
         return flowsConfigurationFactory().getObject();
     }
+
+    /**
+     * Bean to get the indexed registry of the flow configurations, compiled once at startup.
+     *
+     * @return flow registry
+     * @throws IOException if an I/O error occurs while reading the configuration
+     */
+    @Bean
+    public FlowRegistry flowRegistry() throws IOException {
+        return new FlowRegistry(flowsConfiguration());
+    }
 }
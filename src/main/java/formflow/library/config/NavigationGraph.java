@@ -0,0 +1,213 @@
+package formflow.library.config;
+
+import formflow.library.config.submission.Condition;
+import formflow.library.data.Submission;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.springframework.stereotype.Component;
+
+/**
+ * A precompiled navigation graph for every configured flow.
+ *
+ * <p>
+ * Each screen is compiled once at startup into a {@link Screen} node that holds its outgoing edges, already split into
+ * conditional and unconditional edges, with edge targets linked to their {@link Screen} nodes. Conditions are the
+ * {@link Condition} beans bound onto the configuration by the {@link FlowConfigurationBinder}, so walking the graph on a request
+ * is a matter of following references rather than re-filtering a screen's next screens, re-looking up screens and
+ * looking conditions up by name. Conditions are run through the {@link ConditionManager}, so their results are memoized for
+ * the rest of the request.
+ * </p>
+ * <p>
+ * The navigation rules are the same as the ones applied to the flows configuration at request time: the first conditional next
+ * screen whose condition passes wins, otherwise the first next screen without a condition is used. Conditions which could not
+ * be bound are ignored.
+ * </p>
+ */
+@Component
+public class NavigationGraph {
+
+    private final Map<String, Map<String, Screen>> flows;
+
+    /**
+     * Compiles the navigation graph for every flow in the registry.
+     *
+     * @param flowRegistry     the indexed flow configurations, not null
+     * @param conditionManager the manager used to run conditions, not null
+     */
+    public NavigationGraph(FlowRegistry flowRegistry, ConditionManager conditionManager) {
+        Map<String, Map<String, Screen>> compiledFlows = new HashMap<>();
+        flowRegistry.getFlowConfigurations().forEach(flowConfiguration ->
+                compiledFlows.putIfAbsent(flowConfiguration.getName(), compileFlow(flowConfiguration, conditionManager)));
+        this.flows = Collections.unmodifiableMap(compiledFlows);
+    }
+
+    /**
+     * Gets the compiled node for a screen in a flow.
+     *
+     * @param flowName   the name of the flow
+     * @param screenName the name of the screen
+     * @return the screen's node, or null if either the flow or the screen does not exist
+     */
+    public Screen getScreen(String flowName, String screenName) {
+        if (flowName == null || screenName == null) {
+            return null;
+        }
+        Map<String, Screen> screens = flows.get(flowName);
+        return screens != null ? screens.get(screenName) : null;
+    }
+
+    private static Map<String, Screen> compileFlow(FlowConfiguration flowConfiguration, ConditionManager conditionManager) {
+        Map<String, ScreenNavigationConfiguration> screenConfigurations =
+                flowConfiguration.getFlow() != null ? flowConfiguration.getFlow() : Map.of();
+
+        Map<String, Screen> screens = new HashMap<>();
+        screenConfigurations.forEach((screenName, screenConfiguration) ->
+                screens.put(screenName, new Screen(screenConfiguration, conditionManager)));
+
+        // link the edges once every node exists, so targets can be referenced directly
+        screens.values().forEach(screen -> screen.link(screens));
+        return Collections.unmodifiableMap(screens);
+    }
+
+    /**
+     * A compiled screen in a flow's navigation graph.
+     */
+    public static final class Screen {
+
+        private static final Edge[] NO_EDGES = new Edge[0];
+
+        private final ScreenNavigationConfiguration screenNavigationConfiguration;
+        private final ConditionManager conditionManager;
+        private final boolean inSubflow;
+        private Edge[] conditionalEdges = NO_EDGES;
+        private Edge unconditionalEdge;
+
+        private Screen(ScreenNavigationConfiguration screenNavigationConfiguration, ConditionManager conditionManager) {
+            this.screenNavigationConfiguration = screenNavigationConfiguration;
+            this.conditionManager = conditionManager;
+            this.inSubflow = screenNavigationConfiguration.getSubflow() != null;
+        }
+
+        private void link(Map<String, Screen> screens) {
+            List<NextScreen> nextScreens = screenNavigationConfiguration.getNextScreens() != null ?
+                    screenNavigationConfiguration.getNextScreens() : List.of();
+            List<Edge> conditional = new ArrayList<>();
+            for (NextScreen nextScreen : nextScreens) {
+                if (nextScreen.getCondition() == null) {
+                    if (unconditionalEdge == null) {
+                        unconditionalEdge = new Edge(nextScreen, screens.get(nextScreen.getName()));
+                    }
+                } else {
+                    conditional.add(new Edge(nextScreen, screens.get(nextScreen.getName())));
+                }
+            }
+            conditionalEdges = conditional.toArray(NO_EDGES);
+        }
+
+        /**
+         * Returns the name of the screen.
+         *
+         * @return the screen name
+         */
+        public String getName() {
+            return screenNavigationConfiguration.getName();
+        }
+
+        /**
+         * Returns the screen's navigation configuration.
+         *
+         * @return the navigation configuration this node was compiled from
+         */
+        public ScreenNavigationConfiguration getScreenNavigationConfiguration() {
+            return screenNavigationConfiguration;
+        }
+
+        /**
+         * Checks whether the screen's own condition fails, meaning the screen should not be shown and navigation should move on
+         * to the next screen.
+         *
+         * @param submission    submission
+         * @param subflowUuid   current subflow iteration uuid, can be null
+         * @param repeatForUuid current repeatFor iteration uuid, can be null
+         * @return true if the screen has a condition and it does not pass, false otherwise
+         */
+        public boolean shouldSkip(Submission submission, String subflowUuid, String repeatForUuid) {
+            Condition condition = screenNavigationConfiguration.getResolvedCondition();
+            return condition != null && !runCondition(condition, submission, subflowUuid, repeatForUuid);
+        }
+
+        /**
+         * Determines the edge to follow out of this screen.
+         *
+         * @param submission    submission
+         * @param subflowUuid   current subflow iteration uuid, can be null
+         * @param repeatForUuid current repeatFor iteration uuid, can be null
+         * @return the first conditional edge whose condition passes, otherwise the unconditional edge
+         * @throws NoSuchElementException if no condition passes and the screen has no unconditional next screen
+         */
+        public Edge getNextEdge(Submission submission, String subflowUuid, String repeatForUuid) {
+            for (Edge edge : conditionalEdges) {
+                Condition condition = edge.nextScreen.getResolvedCondition();
+                if (condition != null && runCondition(condition, submission, subflowUuid, repeatForUuid)) {
+                    return edge;
+                }
+            }
+            if (unconditionalEdge == null) {
+                throw new NoSuchElementException(
+                        "No next screen without a condition is configured for screen " + getName());
+            }
+            return unconditionalEdge;
+        }
+
+        private boolean runCondition(Condition condition, Submission submission, String subflowUuid, String repeatForUuid) {
+            if (inSubflow && repeatForUuid != null) {
+                return conditionManager.runCondition(condition, submission, subflowUuid, repeatForUuid);
+            } else if (inSubflow) {
+                return conditionManager.runCondition(condition, submission, subflowUuid);
+            } else {
+                return conditionManager.runCondition(condition, submission);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Screen(" + getName() + ")";
+        }
+    }
+
+    /**
+     * A compiled edge from one screen to the next.
+     */
+    public static final class Edge {
+
+        private final NextScreen nextScreen;
+        private final Screen target;
+
+        private Edge(NextScreen nextScreen, Screen target) {
+            this.nextScreen = nextScreen;
+            this.target = target;
+        }
+
+        /**
+         * Returns the name of the screen this edge leads to.
+         *
+         * @return the target screen name
+         */
+        public String getTargetName() {
+            return nextScreen.getName();
+        }
+
+        /**
+         * Returns the node of the screen this edge leads to.
+         *
+         * @return the target screen, or null if the target is not a screen in the flow
+         */
+        public Screen getTarget() {
+            return target;
+        }
+    }
+}
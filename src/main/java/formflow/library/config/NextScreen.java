@@ -1,7 +1,12 @@
 package formflow.library.config;
 
 
+import formflow.library.config.submission.Condition;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
 
 
 /**
@@ -13,9 +18,18 @@ public class NextScreen {
 
     private String name;
     private String condition;
+
+    /**
+     * The bean the condition name resolves to, bound once at startup by the {@link FlowConfigurationBinder}.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Condition resolvedCondition;
+
     /**
      * Default constructor.
      */
     public NextScreen() {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+package formflow.library.config;
+
+import formflow.library.data.Submission;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The repeatFor iterations of a subflow iteration, indexed by uuid and by the selected value they repeat for, with a cursor on
+ * the first iteration not yet complete.
+ *
+ * <p>
+ * Each index, and the cursor, is built on first use, so a single lookup costs the one pass a scan of the iterations would.
+ * After that, finding an iteration, marking one complete, checking whether all are complete and finding the next incomplete
+ * one take constant time, rather than a scan each. The cursor only moves forward as iterations are marked complete, so
+ * stepping through all of them costs a single pass in total. The iterations are those of the Submission loaded for the
+ * current request, so there is nothing to keep between requests.
+ * </p>
+ *
+ * <p>
+ * This works on the iterations in the subflow iteration's data, so iterations marked complete through it are marked complete
+ * in the Submission. Iterations added, removed or marked complete other than through it are not seen: index them again after
+ * such changes.
+ * </p>
+ */
+public final class RepeatForIterations {
+
+    private static final String UUID_KEY = "uuid";
+    private static final String REPEAT_FOR_VALUE_KEY = "repeatForValue";
+
+    private final List<Map<String, Object>> iterations;
+    private Map<Object, Integer> byUuid;
+    private Map<Object, Integer> byRepeatForValue;
+    private int firstNotComplete = -1;
+
+    private RepeatForIterations(List<Map<String, Object>> iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Indexes the repeatFor iterations of a subflow iteration.
+     *
+     * @param subflowIterationData the subflow iteration's data
+     * @param saveDataAs           the key the repeatFor iterations are saved under, as configured by the repeatFor's
+     *                             {@code saveDataAs}
+     * @return the indexed iterations, empty if the subflow iteration has none
+     */
+    public static RepeatForIterations of(Map<String, Object> subflowIterationData, String saveDataAs) {
+        return new RepeatForIterations(
+                (List<Map<String, Object>>) subflowIterationData.getOrDefault(saveDataAs, Collections.EMPTY_LIST));
+    }
+
+    /**
+     * Indexes a list of repeatFor iterations.
+     *
+     * @param iterations the repeatFor iterations
+     * @return the indexed iterations
+     */
+    public static RepeatForIterations of(List<Map<String, Object>> iterations) {
+        return new RepeatForIterations(iterations);
+    }
+
+    /**
+     * Finds an iteration by its uuid.
+     *
+     * @param uuid the iteration's uuid
+     * @return the iteration, or null if there is none with the uuid
+     */
+    public Map<String, Object> get(Object uuid) {
+        Integer position = byUuid().get(uuid);
+        return position != null ? iterations.get(position) : null;
+    }
+
+    /**
+     * Finds the iteration for a selected value.
+     *
+     * @param repeatForValue the selected value the iteration repeats for
+     * @return the iteration, or null if there is none for the value
+     */
+    public Map<String, Object> getByRepeatForValue(Object repeatForValue) {
+        if (byRepeatForValue == null) {
+            byRepeatForValue = index(REPEAT_FOR_VALUE_KEY);
+        }
+        Integer position = byRepeatForValue.get(repeatForValue);
+        return position != null ? iterations.get(position) : null;
+    }
+
+    /**
+     * Marks an iteration complete.
+     *
+     * @param uuid the iteration's uuid
+     * @return the iteration, or null if there is none with the uuid
+     */
+    public Map<String, Object> markComplete(Object uuid) {
+        Integer position = byUuid().get(uuid);
+        if (position == null) {
+            return null;
+        }
+        Map<String, Object> iteration = iterations.get(position);
+        iteration.put(Submission.ITERATION_IS_COMPLETE_KEY, true);
+        if (position == firstNotComplete()) {
+            firstNotComplete = nextNotComplete(position + 1);
+        }
+        return iteration;
+    }
+
+    /**
+     * Whether all iterations are complete.
+     *
+     * @return true if every iteration has been marked complete
+     */
+    public boolean hasFinishedAllIterations() {
+        return firstNotComplete() == iterations.size();
+    }
+
+    /**
+     * Finds the first iteration which is marked incomplete.
+     *
+     * @return the iteration, or null if there is none
+     */
+    public Map<String, Object> nextIncompleteIteration() {
+        for (int i = firstNotComplete(); i < iterations.size(); i++) {
+            if (Boolean.FALSE.equals(iterations.get(i).get(Submission.ITERATION_IS_COMPLETE_KEY))) {
+                return iterations.get(i);
+            }
+        }
+        return null;
+    }
+
+    private Map<Object, Integer> byUuid() {
+        if (byUuid == null) {
+            byUuid = index(UUID_KEY);
+        }
+        return byUuid;
+    }
+
+    private Map<Object, Integer> index(String key) {
+        Map<Object, Integer> positions = new HashMap<>((int) (iterations.size() / 0.75f) + 1);
+        for (int i = 0; i < iterations.size(); i++) {
+            // the first iteration with a uuid or value is the one found, as when scanning the iterations
+            positions.putIfAbsent(iterations.get(i).get(key), i);
+        }
+        return positions;
+    }
+
+    private int firstNotComplete() {
+        if (firstNotComplete < 0) {
+            firstNotComplete = nextNotComplete(0);
+        }
+        return firstNotComplete;
+    }
+
+    private int nextNotComplete(int from) {
+        int position = from;
+        while (position < iterations.size()
+                && Boolean.TRUE.equals(iterations.get(position).get(Submission.ITERATION_IS_COMPLETE_KEY))) {
+            position++;
+        }
+        return position;
+    }
+}
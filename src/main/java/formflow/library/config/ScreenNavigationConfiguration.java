@@ -1,8 +1,14 @@
 package formflow.library.config;
 
+import formflow.library.config.submission.Action;
+import formflow.library.config.submission.Condition;
 import java.util.Collections;
 import java.util.List;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * Screen navigation configuration class used to store navigation information about a specific screen.
@@ -19,6 +25,36 @@ public class ScreenNavigationConfiguration {
     private String beforeDisplayAction;
     private String afterSaveAction;
     private String condition;
+
+    /**
+     * The beans the condition and action names above resolve to. These are bound once at startup by the
+     * {@link FlowConfigurationBinder} and are null when the name is not set or could not be resolved.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Action resolvedOnPostAction;
+    @Setter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Action resolvedCrossFieldValidationAction;
+    @Setter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Action resolvedBeforeSaveAction;
+    @Setter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Action resolvedBeforeDisplayAction;
+    @Setter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Action resolvedAfterSaveAction;
+    @Setter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Condition resolvedCondition;
+
     /**
      * Default constructor.
      */
@@ -16,7 +16,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class SessionContinuityInterceptorConfiguration implements WebMvcConfigurer {
 
     @Autowired
-    List<FlowConfiguration> flowConfigurations;
+    FlowRegistry flowRegistry;
 
     /**
      * Default constructor.
@@ -31,7 +31,7 @@ public class SessionContinuityInterceptorConfiguration implements WebMvcConfigur
      */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new SessionContinuityInterceptor(flowConfigurations))
+        registry.addInterceptor(new SessionContinuityInterceptor(flowRegistry))
                 .addPathPatterns(List.of(SessionContinuityInterceptor.FLOW_PATH_FORMAT,
                         SessionContinuityInterceptor.NAVIGATION_FLOW_PATH_FORMAT));
     }
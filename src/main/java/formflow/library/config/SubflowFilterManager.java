@@ -2,6 +2,7 @@ package formflow.library.config;
 
 import formflow.library.config.submission.SubflowRelationshipFilter;
 import formflow.library.data.Submission;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import org.springframework.stereotype.Component;
@@ -30,6 +31,10 @@ public class SubflowFilterManager {
                     + " does not exist. Do you have a typo in your yaml configuration?");
         }
         SubflowRelationshipFilter subflowRelationshipFilter = getFilter(filterName);
-        return subflowRelationshipFilter.filter(subflowDataToFilter, submission);
+        if (subflowRelationshipFilter.onlyReadsSubflowData()) {
+            return subflowRelationshipFilter.filter(Collections.unmodifiableList(subflowDataToFilter), submission);
+        }
+        List<HashMap<String, Object>> copyOfSubflowDataToFilter = subflowDataToFilter.stream().map(HashMap::new).toList();
+        return subflowRelationshipFilter.filter(copyOfSubflowDataToFilter, submission);
     }
 }
@@ -2,7 +2,6 @@ package formflow.library.config;
 
 import formflow.library.data.Submission;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,17 +19,18 @@ import org.springframework.web.server.ResponseStatusException;
 public class SubflowManager {
 
     private final SubflowFilterManager subflowFilterManager;
-    List<FlowConfiguration> flowConfigurations;
+    private final FlowRegistry flowRegistry;
 
-    public SubflowManager(List<FlowConfiguration> flowConfigurations, SubflowFilterManager subflowFilterManager) {
-        this.flowConfigurations = flowConfigurations;
+    public SubflowManager(FlowRegistry flowRegistry, SubflowFilterManager subflowFilterManager) {
+        this.flowRegistry = flowRegistry;
         this.subflowFilterManager = subflowFilterManager;
     }
 
     public boolean subflowHasRelationship(String flow, String subflow) {
-        FlowConfiguration flowConfiguration = getFlowConfiguration(flow);
-        if (flowConfiguration.getSubflows().containsKey(subflow)) {
-            return flowConfiguration.getSubflows().get(subflow).getRelationship() != null;
+        getFlowConfiguration(flow);
+        SubflowConfiguration subflowConfiguration = flowRegistry.getSubflow(flow, subflow);
+        if (subflowConfiguration != null) {
+            return subflowConfiguration.getRelationship() != null;
         } else {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                     String.format("Subflow %s not found in flow %s. Check that your flows-config.yaml is configured correctly.",
@@ -38,7 +38,16 @@ public class SubflowManager {
         }
     }
 
-    public void addSubflowRelationshipData(ScreenNavigationConfiguration currentScreen, String flow, Submission submission) {
+    /**
+     * Brings a relationship subflow's iterations in line with the iterations of the subflow it relates to, adding an iteration
+     * for each related iteration that does not have one yet.
+     *
+     * @param currentScreen the screen of the relationship subflow being displayed
+     * @param flow          the name of the flow
+     * @param submission    the submission to update
+     * @return true if the relationship subflow's iterations were changed, and the submission needs saving
+     */
+    public boolean addSubflowRelationshipData(ScreenNavigationConfiguration currentScreen, String flow, Submission submission) {
         String subflowName = currentScreen.getSubflow();
 
         SubflowConfiguration currentSubflow = getSubflowConfiguration(flow, subflowName);
@@ -46,34 +55,44 @@ public class SubflowManager {
         String relatedIdKey = currentSubflow.getRelationship().getRelationAlias();
 
         List<HashMap<String, Object>> relatedSubflowData = getSubflowData(submission, relatedSubflowName);
+        boolean initialSetup = !submission.getInputData().containsKey(subflowName);
         List<Map<String, Object>> currentSubflowData = getOrCreateSubflowData(submission, subflowName);
 
         if (subflowHasRelationshipFilter(flow, currentScreen.getSubflow())) {
-            List<HashMap<String, Object>> copyOfSubflowDataToFilterAgainst = relatedSubflowData.stream().map(HashMap::new)
-                    .toList();
-            relatedSubflowData = handleSubflowRelationshipFilter(flow, currentScreen.getSubflow(),
-                    copyOfSubflowDataToFilterAgainst, submission);
+            relatedSubflowData = handleSubflowRelationshipFilter(flow, currentScreen.getSubflow(), relatedSubflowData,
+                    submission);
         }
 
-        if (!submission.getInputData().containsKey(subflowName)) {
+        if (initialSetup) {
             // Initial setup: add all related items as incomplete iterations
             relatedSubflowData.forEach(relatedItem ->
                     currentSubflowData.add(createSubflowIterationWithRelationship(relatedIdKey, relatedItem.get("uuid")))
             );
-        } else if (currentSubflowData.size() != relatedSubflowData.size()) {
-            // Reconciliation: we must have deleted some iterations, we need to reset the relationships and iteration statuses
-            // Collect the existing iteration IDs and then loop over the related subflow to find the missing iteration IDs
-            Set<Object> existingRelationIds = currentSubflowData.stream()
-                    .map(entry -> entry.get(relatedIdKey))
-                    .collect(Collectors.toSet());
-
-            relatedSubflowData.stream()
-                    .map(item -> item.get("uuid"))
-                    .filter(uuid -> !existingRelationIds.contains(uuid))
-                    .forEach(missingUuid ->
-                            currentSubflowData.add(createSubflowIterationWithRelationship(relatedIdKey, missingUuid))
-                    );
+            submission.markInputDataChanged();
+            return true;
         }
+        if (currentSubflowData.size() == relatedSubflowData.size()) {
+            return false;
+        }
+
+        // Reconciliation: we must have deleted some iterations, we need to reset the relationships and iteration statuses
+        // Collect the existing iteration IDs and then loop over the related subflow to find the missing iteration IDs
+        Set<Object> existingRelationIds = currentSubflowData.stream()
+                .map(entry -> entry.get(relatedIdKey))
+                .collect(Collectors.toSet());
+
+        int sizeBefore = currentSubflowData.size();
+        relatedSubflowData.stream()
+                .map(item -> item.get("uuid"))
+                .filter(uuid -> !existingRelationIds.contains(uuid))
+                .forEach(missingUuid ->
+                        currentSubflowData.add(createSubflowIterationWithRelationship(relatedIdKey, missingUuid))
+                );
+        if (currentSubflowData.size() == sizeBefore) {
+            return false;
+        }
+        submission.markInputDataChanged();
+        return true;
     }
 
     public boolean hasFinishedAllSubflowIterations(String currentSubflowName, Submission submission) {
@@ -85,20 +104,22 @@ public class SubflowManager {
     }
 
     public String getIterationStartScreenForSubflow(String flowName, String subflowName) {
-        FlowConfiguration flowConfiguration = getFlowConfiguration(flowName);
-        if (flowConfiguration.getSubflows().get(subflowName) == null) {
+        getFlowConfiguration(flowName);
+        SubflowConfiguration subflowConfiguration = flowRegistry.getSubflow(flowName, subflowName);
+        if (subflowConfiguration == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                     String.format("Subflow %s not found in flow %s. Check that your flows-config.yaml is configured correctly.",
                             subflowName, flowName));
         }
-        return flowConfiguration.getSubflows().get(subflowName).getIterationStartScreen();
+        return subflowConfiguration.getIterationStartScreen();
     }
 
     public String getRelatedSubflowName(String flowName, String currentSubflowName) {
-        FlowConfiguration flowConfiguration = getFlowConfiguration(flowName);
+        getFlowConfiguration(flowName);
+        SubflowConfiguration subflowConfiguration = flowRegistry.getSubflow(flowName, currentSubflowName);
 
-        if (flowConfiguration.getSubflows().containsKey(currentSubflowName)) {
-            return flowConfiguration.getSubflows().get(currentSubflowName).getRelationship().getRelatesTo();
+        if (subflowConfiguration != null) {
+            return subflowConfiguration.getRelationship().getRelatesTo();
         } else {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                     String.format(
@@ -117,9 +138,8 @@ public class SubflowManager {
     }
 
     public SubflowConfiguration getSubflowConfiguration(String flow, String subflow) {
-        SubflowConfiguration subflowConfiguration = flowConfigurations.stream()
-                .filter(config -> config.getName().equals(flow))
-                .findFirst().get().getSubflows().get(subflow);
+        getFlowConfiguration(flow);
+        SubflowConfiguration subflowConfiguration = flowRegistry.getSubflow(flow, subflow);
 
         if (subflowConfiguration == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
@@ -186,10 +206,7 @@ public class SubflowManager {
     }
 
     private FlowConfiguration getFlowConfiguration(String flowName) {
-        FlowConfiguration flowConfiguration = flowConfigurations.stream()
-                .filter(config -> config.getName().equals(flowName))
-                .findFirst()
-                .orElse(null);
+        FlowConfiguration flowConfiguration = flowRegistry.getFlowConfiguration(flowName);
 
         if (flowConfiguration == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
@@ -199,10 +216,7 @@ public class SubflowManager {
     }
 
     private String getRelationKey(String flow, String subflow) {
-        return flowConfigurations.stream()
-                .filter(config -> config.getName().equals(flow))
-                .findFirst()
-                .map(config -> config.getSubflows().get(subflow))
+        return Optional.ofNullable(flowRegistry.getSubflow(flow, subflow))
                 .map(SubflowConfiguration::getRelationship)
                 .map(SubflowRelationship::getRelationAlias).orElse("relatedId");
     }
@@ -225,9 +239,9 @@ public class SubflowManager {
     }
 
     public Boolean subflowHasRelationshipFilter(String flowName, String subflowName) {
-        FlowConfiguration flowConfiguration = getFlowConfiguration(flowName);
+        getFlowConfiguration(flowName);
 
-        SubflowConfiguration subflowConfiguration = flowConfiguration.getSubflows().get(subflowName);
+        SubflowConfiguration subflowConfiguration = flowRegistry.getSubflow(flowName, subflowName);
         if (subflowConfiguration == null) {
             throw new IllegalArgumentException("Subflow " + subflowName + " does not exist in flow " + flowName);
         }
@@ -235,6 +249,17 @@ public class SubflowManager {
         return subflowConfiguration.getRelationship() != null && subflowConfiguration.getRelationship().getFilter() != null;
     }
 
+    /**
+     * Runs a relationship subflow's filter over the iterations of the subflow it relates to. Filters which may change the
+     * iterations they are given are handed copies of them; those which only read them are handed the iterations themselves, in
+     * a list they cannot change.
+     *
+     * @param flowName            the name of the flow
+     * @param subflowName         the name of the relationship subflow
+     * @param subflowDataToFilter the related subflow's iterations
+     * @param submission          the submission
+     * @return the related iterations which pass the filter
+     */
     public List<HashMap<String, Object>> handleSubflowRelationshipFilter(String flowName, String subflowName,
             List<HashMap<String, Object>> subflowDataToFilter, Submission submission) {
         SubflowConfiguration subflowConfiguration = getSubflowConfiguration(flowName, subflowName);
@@ -243,13 +268,11 @@ public class SubflowManager {
     }
 
     public Optional<SubflowRelationship> subflowRelationship(String flowName, String subflowName) {
-        FlowConfiguration flowConfiguration = getFlowConfiguration(flowName);
+        getFlowConfiguration(flowName);
 
-        if (flowConfiguration.getSubflows().containsKey(subflowName)) {
-            SubflowRelationship subflowRelationship = flowConfiguration.getSubflows().get(subflowName).getRelationship();
-            if (subflowRelationship != null) {
-                return Optional.of(subflowRelationship);
-            }
+        SubflowConfiguration subflowConfiguration = flowRegistry.getSubflow(flowName, subflowName);
+        if (subflowConfiguration != null && subflowConfiguration.getRelationship() != null) {
+            return Optional.of(subflowConfiguration.getRelationship());
         }
 
         return Optional.empty();
@@ -291,16 +314,14 @@ public class SubflowManager {
 
     private List<Map<String, Object>> updateSubflowRepeatForIterations(Map<String, Object> currentSubflowData,
             List<String> repeatForInputData, String saveAsInputName) {
-        List<Map<String, Object>> currentRepeatForIterations = (List<Map<String, Object>>) currentSubflowData.getOrDefault(
-                saveAsInputName, Collections.EMPTY_LIST);
-        List<Map<String, Object>> newRepeatForIterations = new ArrayList<>();
+        RepeatForIterations currentRepeatForIterations = RepeatForIterations.of(currentSubflowData, saveAsInputName);
+        List<Map<String, Object>> newRepeatForIterations = new ArrayList<>(repeatForInputData.size());
 
         repeatForInputData.forEach(newEntry -> {
-            Optional<Map<String, Object>> matchingIteration = currentRepeatForIterations.stream()
-                    .filter(oldEntry -> oldEntry.get("repeatForValue").equals(newEntry)).findFirst();
+            Map<String, Object> matchingIteration = currentRepeatForIterations.getByRepeatForValue(newEntry);
 
-            if (matchingIteration.isPresent()) {
-                newRepeatForIterations.add(matchingIteration.get());
+            if (matchingIteration != null) {
+                newRepeatForIterations.add(matchingIteration);
             } else {
                 newRepeatForIterations.add(createSubflowIterationRepeat(newEntry));
             }
@@ -322,36 +343,15 @@ public class SubflowManager {
     }
 
     public boolean hasFinishedAllIterations(String subflowDataKey, Map<String, Object> subflowIterationData) {
-        List<Map<String, Object>> currentSubflowData = (List<Map<String, Object>>) subflowIterationData.get(subflowDataKey);
-
-        return currentSubflowData.stream()
-                .allMatch(iteration -> iteration.get(Submission.ITERATION_IS_COMPLETE_KEY).equals(true));
+        return RepeatForIterations.of(subflowIterationData, subflowDataKey).hasFinishedAllIterations();
     }
 
     public Map<String, Object> getRepeatForIteration(Map<String, Object> subflowData,
             String nestedSubflowKey, String nestedIterationId) {
-
-        List<Map<String, Object>> nestedIterations = (List<Map<String, Object>>) subflowData.getOrDefault(nestedSubflowKey,
-                Collections.EMPTY_LIST);
-
-        Optional<Map<String, Object>> currentIteration = nestedIterations.stream()
-                .filter(iteration -> iteration.get("uuid").equals(nestedIterationId)).findFirst();
-
-        return currentIteration.isPresent() ? currentIteration.get() : null;
+        return RepeatForIterations.of(subflowData, nestedSubflowKey).get(nestedIterationId);
     }
 
     public Map<String, Object> getNextRepeatForIterationUuid(String inputKey, Map<String, Object> inputData) {
-        List<Map<String, Object>> subflowData = (List<Map<String, Object>>) inputData.get(inputKey);
-
-        // Try to find the next incomplete iteration
-        Optional<Map<String, Object>> nextIteration = subflowData.stream()
-                .filter(iteration -> Boolean.FALSE.equals(iteration.get(Submission.ITERATION_IS_COMPLETE_KEY)))
-                .findFirst();
-
-        if (nextIteration.isPresent()) {
-            return nextIteration.get(); // normal forward flow
-        }
-
-        return null;
+        return RepeatForIterations.of(inputData, inputKey).nextIncompleteIteration();
     }
 }
@@ -0,0 +1,35 @@
+package formflow.library.config;
+
+import formflow.library.data.PostgresSubmissionCacheInvalidationChannel;
+import formflow.library.data.SubmissionCacheInvalidationChannel;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the default {@link SubmissionCacheInvalidationChannel} when the Submission cache is enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "form-flow.submission.cache.enabled", havingValue = "true")
+public class SubmissionCacheConfiguration {
+
+    /**
+     * Default constructor.
+     */
+    public SubmissionCacheConfiguration() {
+    }
+
+    /**
+     * Bean for the Postgres LISTEN/NOTIFY invalidation channel, unless the application provides its own channel.
+     *
+     * @param dataSource the application's data source
+     * @return the invalidation channel
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SubmissionCacheInvalidationChannel submissionCacheInvalidationChannel(DataSource dataSource) {
+        return new PostgresSubmissionCacheInvalidationChannel(dataSource);
+    }
+}
@@ -0,0 +1,37 @@
+package formflow.library.config;
+
+import formflow.library.data.SubmissionRepositoryService;
+import formflow.library.interceptors.SubmissionUnitOfWorkInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/***
+ * Adds SubmissionUnitOfWorkInterceptor to the Interceptor registry.
+ */
+@Configuration
+public class SubmissionUnitOfWorkInterceptorConfiguration implements WebMvcConfigurer {
+
+    SubmissionRepositoryService submissionRepositoryService;
+
+    /**
+     * Default constructor for SubmissionUnitOfWorkInterceptorConfiguration. Sets {@code submissionRepositoryService}.
+     *
+     * @param submissionRepositoryService The service used to load and save Submissions.
+     */
+    public SubmissionUnitOfWorkInterceptorConfiguration(SubmissionRepositoryService submissionRepositoryService) {
+        this.submissionRepositoryService = submissionRepositoryService;
+    }
+
+    /**
+     * Adds the SubmissionUnitOfWorkInterceptor to the Interceptor registry, ahead of the other interceptors.
+     *
+     * @param registry The Interceptor registry.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SubmissionUnitOfWorkInterceptor(submissionRepositoryService))
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,41 @@
+package formflow.library.config;
+
+import formflow.library.file.JdbcThumbnailStore;
+import formflow.library.file.ThumbnailStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the default {@link ThumbnailStore} for uploaded files.
+ */
+@Configuration
+public class ThumbnailStoreConfiguration {
+
+    /**
+     * Default constructor.
+     */
+    public ThumbnailStoreConfiguration() {
+    }
+
+    /**
+     * Bean for the database backed thumbnail store, unless the application provides its own store.
+     *
+     * @param dataSource            the application's data source
+     * @param maxWeight             the most bytes of thumbnails to cache in memory
+     * @param meterRegistryProvider the registry to publish the cache metrics to, if there is one
+     * @return the thumbnail store
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ThumbnailStore thumbnailStore(DataSource dataSource,
+            @Value("${form-flow.uploads.thumbnail-cache.max-weight:16777216}") long maxWeight,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new JdbcThumbnailStore(dataSource, maxWeight, meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
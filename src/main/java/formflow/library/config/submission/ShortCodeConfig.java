@@ -36,6 +36,10 @@ public class ShortCodeConfig {
         private ShortCodeCreationPoint creationPoint = ShortCodeCreationPoint.submission;
         private String prefix = null;
         private String suffix = null;
+        /**
+         * How many unused codes each node generates and checks ahead of time, 0 to generate each code when it is needed.
+         */
+        private int poolSize = 0;
 
         /**
          * Default constructor.
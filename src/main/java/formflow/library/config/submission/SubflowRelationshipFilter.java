@@ -18,8 +18,9 @@ public interface SubflowRelationshipFilter {
      * Runs a filter method against a specific subflows data.
      *
      * @param subflowDataToFilter The subflow data to be filtered. Note that this is a copy and will not modify the original data
-     *                            in the submission. Filtering will only occur against the copy when setting up the data for the
-     *                            subflow relationship.
+     *                            in the submission, unless {@link #onlyReadsSubflowData()} is overridden to return true.
+     *                            Filtering will only occur against the copy when setting up the data for the subflow
+     *                            relationship.
      * @return The filtered subflow data.
      */
     default List<HashMap<String, Object>> filter(List<HashMap<String, Object>> subflowDataToFilter, Submission submission) {
@@ -27,4 +28,15 @@ public interface SubflowRelationshipFilter {
                 "You did not implement the necessary filter method for your implementing class of the SubflowRelationshipFilter interface: "
                         + this.getClass().getName());
     }
+
+    /**
+     * Whether this filter only reads the subflow data it is given. Filters that do are handed the subflow's iterations
+     * themselves, in a list they cannot change, rather than copies of them, which saves copying every iteration whenever a
+     * relationship subflow's screen is displayed. Such filters must not change the iterations.
+     *
+     * @return true if the filter does not change the subflow data it is given, false by default
+     */
+    default boolean onlyReadsSubflowData() {
+        return false;
+    }
 }
@@ -0,0 +1,54 @@
+package formflow.library.controller_advisors;
+
+import formflow.library.ScreenController;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+/**
+ * Handles a screen POST whose Submission was saved concurrently with different values for the same input, such as from a
+ * second browser tab, by sending the user back to the screen they posted from with a message, rather than to an error page.
+ * The screen then shows the Submission as it was saved, for the user to check and post again.
+ */
+@ControllerAdvice(assignableTypes = ScreenController.class)
+@Slf4j
+public class SubmissionConflictAdvice {
+
+    private final MessageSource messageSource;
+
+    public SubmissionConflictAdvice(MessageSource messageSource) {
+        this.messageSource = messageSource;
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ModelAndView handleSubmissionConflict(OptimisticLockingFailureException ex, HttpServletRequest request,
+            RedirectAttributes redirectAttributes, Locale locale) {
+        log.info("Submission was saved concurrently, redirecting back to the screen: {}", ex.getMessage());
+
+        redirectAttributes.addFlashAttribute("submissionConflictMessage",
+                messageSource.getMessage("general.submission-conflict", null, locale));
+
+        return new ModelAndView("redirect:" + screenPath(request));
+    }
+
+    /**
+     * The path of the screen a POST was made from: the path posted to, without the {@code /submit} suffix, or for a delete,
+     * its confirmation screen.
+     */
+    static String screenPath(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.endsWith("/submit")) {
+            return path.substring(0, path.length() - "/submit".length());
+        }
+        if (path.endsWith("/delete")) {
+            return path.substring(0, path.length() - "/delete".length()) + "/deleteConfirmation";
+        }
+        return path;
+    }
+}
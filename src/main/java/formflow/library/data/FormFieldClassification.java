@@ -0,0 +1,126 @@
+package formflow.library.data;
+
+import static formflow.library.inputs.FieldNameMarkers.DYNAMIC_FIELD_MARKER;
+import static formflow.library.inputs.FieldNameMarkers.UNVALIDATED_FIELD_MARKER_VALIDATE_ADDRESS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fields of a {@link FormSubmission}, sorted by what their names mark them as, in a single pass over the form data.
+ *
+ * <p>
+ * Fields whose names contain one of the form submission's unvalidated field markers, such as the CSRF token and the address
+ * validation markers, are left out of validation. Address validation markers set to true name the address inputs to validate.
+ * Of the other fields, dynamic fields and checkbox arrays are noted as such.
+ * </p>
+ *
+ * <p>
+ * This is a snapshot of the form data when it was classified: classify it again after changing its fields.
+ * </p>
+ */
+public final class FormFieldClassification {
+
+    private static final String CHECKBOX_ARRAY_MARKER = "[]";
+
+    private final Map<String, Object> validatableFields;
+    private final List<String> addressValidationFields;
+    private final List<String> addressInputNames;
+    private final List<String> dynamicFields;
+    private final List<String> checkboxArrayFields;
+
+    FormFieldClassification(Map<String, Object> formData, List<String> unvalidatedFields) {
+        Map<String, Object> validatable = new HashMap<>((int) (formData.size() / 0.75f) + 1);
+        List<String> addressValidation = new ArrayList<>(0);
+        List<String> addressInputs = new ArrayList<>(0);
+        List<String> dynamic = new ArrayList<>(0);
+        List<String> checkboxArrays = new ArrayList<>(0);
+
+        for (Map.Entry<String, Object> field : formData.entrySet()) {
+            String key = field.getKey();
+            if (key.startsWith(UNVALIDATED_FIELD_MARKER_VALIDATE_ADDRESS)
+                    && field.getValue() != null && field.getValue().toString().equalsIgnoreCase("true")) {
+                addressValidation.add(key);
+                addressInputs.add(key.substring(UNVALIDATED_FIELD_MARKER_VALIDATE_ADDRESS.length()));
+            }
+            if (isUnvalidated(key, unvalidatedFields)) {
+                continue;
+            }
+            validatable.put(key, field.getValue());
+            if (key.contains(DYNAMIC_FIELD_MARKER)) {
+                dynamic.add(key);
+            }
+            if (key.contains(CHECKBOX_ARRAY_MARKER)) {
+                checkboxArrays.add(key);
+            }
+        }
+
+        this.validatableFields = validatable;
+        this.addressValidationFields = Collections.unmodifiableList(addressValidation);
+        this.addressInputNames = Collections.unmodifiableList(addressInputs);
+        this.dynamicFields = Collections.unmodifiableList(dynamic);
+        this.checkboxArrayFields = Collections.unmodifiableList(checkboxArrays);
+    }
+
+    /**
+     * Whether a field's name contains one of the given unvalidated field markers.
+     */
+    static boolean isUnvalidated(String key, List<String> unvalidatedFields) {
+        for (String unvalidatedField : unvalidatedFields) {
+            if (key.contains(unvalidatedField)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the fields to validate: all fields but those with an unvalidated field marker in their name.
+     *
+     * @return the classification's own, modifiable map of the fields to validate, not a copy: changing it changes this
+     * classification
+     */
+    public Map<String, Object> getValidatableFields() {
+        return validatableFields;
+    }
+
+    /**
+     * Gets the names of the address validation markers set to true, such as {@code validate_residentialAddress}.
+     *
+     * @return the names of the markers
+     */
+    public List<String> getAddressValidationFields() {
+        return addressValidationFields;
+    }
+
+    /**
+     * Gets the names of the address inputs to validate, such as {@code residentialAddress}: the address validation markers
+     * set to true, without the marker.
+     *
+     * @return the names of the address inputs
+     */
+    public List<String> getAddressInputNames() {
+        return addressInputNames;
+    }
+
+    /**
+     * Gets the names of the dynamic fields to validate.
+     *
+     * @return the names of the fields containing the dynamic field marker
+     */
+    public List<String> getDynamicFields() {
+        return dynamicFields;
+    }
+
+    /**
+     * Gets the names of the checkbox and checkbox set fields to validate.
+     *
+     * @return the names of the fields with {@code []} in their name
+     */
+    public List<String> getCheckboxArrayFields() {
+        return checkboxArrayFields;
+    }
+}
@@ -7,10 +7,10 @@ import static formflow.library.inputs.FieldNameMarkers.UNVALIDATED_FIELD_MARKER_
 import formflow.library.addressvalidation.ValidatedAddress;
 import formflow.library.inputs.AddressParts;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.stream.Collectors;
 import lombok.Data;
 import org.springframework.util.MultiValueMap;
 
@@ -51,25 +51,43 @@ public class FormSubmission {
 
     /**
      * Processes the provided MultiValueMap to remove empty values and flatten the data. This is used to clean up the form data
-     * from the client.
+     * from the client. The values are processed in a single pass into a map sized for them, without changing the given form
+     * data.
      *
      * @param formData The form data as a MultiValueMap.
      * @return A Map with cleaned and flattened form data.
      */
-    private Map<String, Object> removeEmptyValuesAndFlatten(MultiValueMap<String, String> formData) {
-        return formData.entrySet().stream().peek(entry -> {
-                    // An empty checkbox/checkboxSet has a hidden value of "" which needs to be removed
-                    if (entry.getKey().contains("[]") && entry.getValue().size() == 1 && entry.getValue().get(0).equals("")) {
-                        entry.setValue(new ArrayList<>());
-                    }
-                    if (entry.getValue().size() > 1 && entry.getValue().get(0).equals("")) {
-                        entry.getValue().remove(0);
-                    }
-                })
+    private static Map<String, Object> removeEmptyValuesAndFlatten(MultiValueMap<String, String> formData) {
+        Map<String, Object> result = new HashMap<>((int) (formData.size() / 0.75f) + 1);
+        for (Entry<String, List<String>> entry : formData.entrySet()) {
+            String key = entry.getKey();
+            boolean checkboxArray = key.contains("[]");
+            List<String> values = entry.getValue();
+
+            if (values.size() == 1) {
+                // An empty checkbox/checkboxSet has a hidden value of "" which needs to be removed
                 // Flatten arrays to be single values if the array contains one item
-                .collect(Collectors.toMap(Entry::getKey,
-                        entry -> entry.getValue().size() == 1 && !entry.getKey().contains("[]") ? entry.getValue().get(0)
-                                : entry.getValue()));
+                result.put(key, checkboxArray ? (values.getFirst().isEmpty() ? new ArrayList<String>() : values)
+                        : values.getFirst());
+            } else if (values.size() > 1 && values.getFirst().isEmpty()) {
+                List<String> nonEmptyValues = new ArrayList<>(values.subList(1, values.size()));
+                result.put(key, nonEmptyValues.size() == 1 && !checkboxArray ? nonEmptyValues.getFirst() : nonEmptyValues);
+            } else {
+                result.put(key, values);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sorts the fields of the form data by what their names mark them as, in a single pass. Code needing more than one kind of
+     * field, such as the fields to validate and the addresses to validate, can classify the form data once and use the
+     * classification for both.
+     *
+     * @return the classification of the form data's current fields
+     */
+    public FormFieldClassification classifyFields() {
+        return new FormFieldClassification(formData, unvalidatedFields);
     }
 
     /**
@@ -78,10 +96,13 @@ public class FormSubmission {
      * @return A Map containing only validated address data mapped by field names.
      */
     public Map<String, Object> getValidatableFields() {
-        return formData.entrySet().stream().filter(
-                        formField -> unvalidatedFields.stream()
-                                .noneMatch(unvalidatedField -> formField.getKey().contains(unvalidatedField)))
-                .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
+        Map<String, Object> validatableFields = new HashMap<>((int) (formData.size() / 0.75f) + 1);
+        formData.forEach((key, value) -> {
+            if (!FormFieldClassification.isUnvalidated(key, unvalidatedFields)) {
+                validatableFields.put(key, value);
+            }
+        });
+        return validatableFields;
     }
 
     /**
@@ -90,10 +111,14 @@ public class FormSubmission {
      * @return List of Strings representing the validate field name
      */
     public List<String> getAddressValidationFields() {
-        return formData.entrySet().stream()
-                .filter(entry -> entry.getKey().startsWith(UNVALIDATED_FIELD_MARKER_VALIDATE_ADDRESS))
-                .filter(entry -> entry.getValue().toString().equalsIgnoreCase("true"))
-                .map(Entry::getKey).toList();
+        List<String> addressValidationFields = new ArrayList<>(0);
+        formData.forEach((key, value) -> {
+            if (key.startsWith(UNVALIDATED_FIELD_MARKER_VALIDATE_ADDRESS)
+                    && value != null && value.toString().equalsIgnoreCase("true")) {
+                addressValidationFields.add(key);
+            }
+        });
+        return addressValidationFields;
     }
 
     /**
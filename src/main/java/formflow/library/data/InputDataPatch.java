@@ -0,0 +1,162 @@
+package formflow.library.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The changes between two versions of a Submission's input data, as a list of jsonb path updates.
+ *
+ * <p>
+ * Changes are found by walking both versions down into subflow iterations, so flipping {@code iterationIsComplete} on one
+ * household member sets just that value, and adding an iteration appends just that iteration. Anything that cannot be
+ * expressed as setting or removing a path, such as an iteration being deleted from the middle of a subflow, sets the nearest
+ * enclosing value instead.
+ * </p>
+ */
+final class InputDataPatch {
+
+    /**
+     * How far down into the input data to look for changes: top level key, subflow iteration, iteration key.
+     */
+    private static final int MAX_DEPTH = 3;
+
+    private final List<Change> changes = new ArrayList<>();
+
+    private InputDataPatch() {
+    }
+
+    /**
+     * A single change to the input data: the value at {@code path} is set to {@code value}, or removed.
+     *
+     * @param path   path of the changed value, made of map keys and list indexes
+     * @param value  the new value, ignored for removals
+     * @param remove whether the value at the path is removed
+     */
+    record Change(List<Object> path, Object value, boolean remove) {
+
+    }
+
+    /**
+     * Computes the changes that turn the persisted input data into the current input data.
+     *
+     * @param persisted the input data as last loaded or saved, not null
+     * @param current   the input data as it is now, not null
+     * @return the changes, empty if the two are equal
+     */
+    static InputDataPatch between(Map<String, Object> persisted, Map<String, Object> current) {
+        InputDataPatch patch = new InputDataPatch();
+        patch.diff(new ArrayList<>(), persisted, current);
+        return patch;
+    }
+
+    List<Change> getChanges() {
+        return changes;
+    }
+
+    boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    int size() {
+        return changes.size();
+    }
+
+    /**
+     * Tells whether any of the given keys, at whatever depth, is changed or removed.
+     *
+     * @param keys the keys to look for
+     * @return true if a change's path ends with one of the keys
+     */
+    boolean changesAnyOf(Set<String> keys) {
+        return changes.stream().anyMatch(change -> keys.contains(change.path().getLast()));
+    }
+
+    /**
+     * Translates the changes so they apply to the stored form of the input data, where encrypted fields are kept under a
+     * suffixed key. Values are taken from the stored form of the current input data.
+     *
+     * @param storedInputData the current input data, as it would be stored
+     * @param encryptedSuffix the suffix given to the keys of encrypted fields
+     * @return the changes to apply to the stored input data
+     */
+    InputDataPatch toStoredForm(Map<String, Object> storedInputData, String encryptedSuffix) {
+        InputDataPatch stored = new InputDataPatch();
+        for (Change change : changes) {
+            List<Object> path = new ArrayList<>(change.path().size());
+            Object node = storedInputData;
+            for (Object segment : change.path()) {
+                if (node instanceof Map<?, ?> map && segment instanceof String key && !map.containsKey(key)
+                        && map.containsKey(key + encryptedSuffix)) {
+                    segment = key + encryptedSuffix;
+                }
+                path.add(segment);
+                node = child(node, segment);
+            }
+
+            if (change.remove()) {
+                stored.changes.add(new Change(path, null, true));
+                Object last = path.getLast();
+                if (last instanceof String key) {
+                    // the removed value may have been an encrypted one
+                    List<Object> encryptedPath = new ArrayList<>(path);
+                    encryptedPath.set(path.size() - 1, key + encryptedSuffix);
+                    stored.changes.add(new Change(encryptedPath, null, true));
+                }
+            } else {
+                stored.changes.add(new Change(path, node, false));
+            }
+        }
+        return stored;
+    }
+
+    private void diff(List<Object> path, Object persisted, Object current) {
+        if (Objects.equals(persisted, current)) {
+            return;
+        }
+
+        if (path.size() < MAX_DEPTH && persisted instanceof Map<?, ?> persistedMap && current instanceof Map<?, ?> currentMap) {
+            persistedMap.keySet().stream()
+                    .filter(key -> !currentMap.containsKey(key))
+                    .forEach(key -> changes.add(new Change(append(path, key), null, true)));
+            currentMap.forEach((key, value) -> {
+                if (persistedMap.containsKey(key)) {
+                    diff(append(path, key), persistedMap.get(key), value);
+                } else {
+                    changes.add(new Change(append(path, key), value, false));
+                }
+            });
+        } else if (path.size() < MAX_DEPTH && persisted instanceof List<?> persistedList && current instanceof List<?> currentList
+                && currentList.size() >= persistedList.size()) {
+            for (int i = 0; i < currentList.size(); i++) {
+                if (i < persistedList.size()) {
+                    diff(append(path, i), persistedList.get(i), currentList.get(i));
+                } else {
+                    // jsonb_set appends to an array when the index is past its end
+                    changes.add(new Change(append(path, i), currentList.get(i), false));
+                }
+            }
+        } else {
+            changes.add(new Change(List.copyOf(path), current, false));
+        }
+    }
+
+    private static List<Object> append(List<Object> path, Object segment) {
+        List<Object> result = new ArrayList<>(path.size() + 1);
+        result.addAll(path);
+        result.add(segment);
+        return result;
+    }
+
+    private static Object child(Object node, Object segment) {
+        if (node instanceof Map<?, ?> map) {
+            return map.get(segment);
+        }
+        if (node instanceof List<?> list && segment instanceof Integer index && index < list.size()) {
+            return list.get(index);
+        }
+        return null;
+    }
+}
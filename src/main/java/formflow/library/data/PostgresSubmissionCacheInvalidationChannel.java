@@ -0,0 +1,130 @@
+package formflow.library.data;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * A {@link SubmissionCacheInvalidationChannel} using Postgres' {@code LISTEN} and {@code NOTIFY}.
+ *
+ * <p>
+ * Invalidations are sent with {@code pg_notify}, in the same transaction as the save when there is one, so other nodes only
+ * hear about changes once they are committed. Each node listens on a connection of its own, taken from the data source for
+ * as long as the application runs. If that connection is lost, the listener reconnects and the whole cache is invalidated,
+ * since notifications sent in the meantime are gone.
+ * </p>
+ */
+@Slf4j
+public class PostgresSubmissionCacheInvalidationChannel implements SubmissionCacheInvalidationChannel {
+
+    /**
+     * The name of the Postgres notification channel.
+     */
+    public static final String CHANNEL = "formflow_submission_cache";
+
+    private static final int POLL_TIMEOUT_MILLIS = 5000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    /**
+     * Sent along with each notification so that a node can ignore its own.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    /**
+     * Constructs the channel.
+     *
+     * @param dataSource the Postgres data source to notify and listen through
+     */
+    public PostgresSubmissionCacheInvalidationChannel(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void publish(UUID submissionId) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> {
+        }, CHANNEL, nodeId + ":" + submissionId);
+    }
+
+    @Override
+    public synchronized void subscribe(Listener listener) {
+        if (running) {
+            throw new IllegalStateException("Already listening for Submission cache invalidations");
+        }
+        running = true;
+        listenerThread = new Thread(() -> listen(listener), "formflow-submission-cache-invalidation");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    /**
+     * Stops listening for invalidations.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen(Listener listener) {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                // LISTEN only takes effect once committed
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                listener.invalidateAll();
+                log.info("Listening for Submission cache invalidations on channel {}", CHANNEL);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter(), listener);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Lost the Submission cache invalidation channel, reconnecting", e);
+                listener.invalidateAll();
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(String payload, Listener listener) {
+        int separator = payload.indexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+
+        try {
+            listener.invalidate(UUID.fromString(payload.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed Submission cache invalidation '{}'", payload);
+        }
+    }
+}
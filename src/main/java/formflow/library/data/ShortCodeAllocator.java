@@ -0,0 +1,222 @@
+package formflow.library.data;
+
+import formflow.library.config.submission.ShortCodeConfig;
+import formflow.library.config.submission.ShortCodeConfig.Config.ShortCodeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.text.CharacterPredicate;
+import org.apache.commons.text.RandomStringGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Allocates unique short codes to Submissions.
+ *
+ * <p>
+ * A code is claimed by setting it on the Submission's row, relying on the unique constraint on {@code submissions.short_code}
+ * to reject codes that are already taken, and trying another code when one is. Each attempt runs in a transaction of its own,
+ * as a rejected code aborts the transaction it was tried in. No lock is held while doing so. When a flow's
+ * {@link ShortCodeConfig.Config} has a {@code poolSize}, codes are generated in batches and checked against the database with a
+ * single query, and only the ones not already taken are handed out.
+ * </p>
+ *
+ * <p>
+ * Per flow, {@code formflow.short-code.allocations} counts the codes allocated and {@code formflow.short-code.collisions} the
+ * codes found to be taken. Since codes are random, the share of them found to be taken estimates how much of the code space is
+ * in use; this is published as the {@code formflow.short-code.utilization} gauge, a ratio between 0 and 1.
+ * </p>
+ */
+@Slf4j
+@Component
+class ShortCodeAllocator {
+
+    /**
+     * How many codes to try before giving up on a Submission: only reached when nearly the whole code space is in use.
+     */
+    private static final int MAX_ATTEMPTS = 100;
+    private static final double UTILIZATION_SMOOTHING = 0.01;
+    private static final double UTILIZATION_WARNING_THRESHOLD = 0.5;
+
+    private static final Map<ShortCodeType, RandomStringGenerator> GENERATORS = new EnumMap<>(ShortCodeType.class);
+
+    static {
+        GENERATORS.put(ShortCodeType.alphanumeric, generator(Character::isLetterOrDigit));
+        GENERATORS.put(ShortCodeType.alpha, generator(Character::isLetter));
+        GENERATORS.put(ShortCodeType.numeric, generator(Character::isDigit));
+    }
+
+    private final SubmissionRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, FlowCodes> flows = new ConcurrentHashMap<>();
+
+    @Autowired
+    ShortCodeAllocator(SubmissionRepository repository, PlatformTransactionManager transactionManager,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(repository, transactionManager, meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    ShortCodeAllocator(SubmissionRepository repository, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // each attempt commits or rolls back on its own: a rejected code aborts the transaction it was tried in
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * A short code set on a Submission's row.
+     *
+     * @param shortCode the Submission's short code
+     * @param version   the Submission's version after the short code was set, or -1 if the Submission already had a short code
+     * @param updatedAt when the short code was set, or null if the Submission already had a short code
+     */
+    record Allocation(String shortCode, long version, OffsetDateTime updatedAt) {
+
+    }
+
+    /**
+     * Sets a unique short code on a Submission which does not have one yet.
+     *
+     * @param submissionId the id of the saved Submission
+     * @param flow         the Submission's flow
+     * @param config       the flow's short code configuration
+     * @return the allocated code, or the Submission's existing code if it got one concurrently; null if the Submission does
+     * not exist
+     * @throws IllegalStateException if no free code could be found
+     */
+    Allocation allocate(UUID submissionId, String flow, ShortCodeConfig.Config config) {
+        FlowCodes flowCodes = flows.computeIfAbsent(flow, FlowCodes::new);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            boolean pooled = config.getPoolSize() > 0;
+            String code = pooled ? flowCodes.take(config) : generate(config);
+            OffsetDateTime updatedAt = OffsetDateTime.now();
+            try {
+                Long version = transactionTemplate.execute(status -> repository.assignShortCode(submissionId, code, updatedAt) == 1
+                        ? repository.findVersionById(submissionId) : null);
+                if (version != null) {
+                    flowCodes.allocations.increment();
+                    if (!pooled) {
+                        flowCodes.sample(false);
+                    }
+                    return new Allocation(code, version, updatedAt);
+                }
+                return repository.findById(submissionId)
+                        .map(submission -> new Allocation(submission.getShortCode(), -1, null))
+                        .orElse(null);
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Confirmation code {} already exists", code);
+                flowCodes.collisions.increment();
+                if (!pooled) {
+                    // pooled codes were sampled when they were checked
+                    flowCodes.sample(true);
+                }
+            }
+        }
+        throw new IllegalStateException("Unable to find an unused short code for flow " + flow
+                + " after " + MAX_ATTEMPTS + " attempts, its short code configuration allows too few codes");
+    }
+
+    private static RandomStringGenerator generator(CharacterPredicate filter) {
+        // without a random source of its own, the generator uses ThreadLocalRandom and is safe to share
+        return RandomStringGenerator.builder().withinRange('0', 'z').filteredBy(filter).get();
+    }
+
+    private static String generate(ShortCodeConfig.Config config) {
+        String code = GENERATORS.get(config.getCodeType()).generate(config.getCodeLength());
+        if (config.isUppercase()) {
+            code = code.toUpperCase();
+        }
+        if (config.getPrefix() != null) {
+            code = config.getPrefix() + code;
+        }
+        if (config.getSuffix() != null) {
+            code = code + config.getSuffix();
+        }
+        return code;
+    }
+
+    /**
+     * The pool and meters of a single flow.
+     */
+    private final class FlowCodes {
+
+        private final String flow;
+        private final Queue<String> pool = new ConcurrentLinkedQueue<>();
+        private final Counter allocations;
+        private final Counter collisions;
+        private volatile double utilization;
+        private boolean warned;
+
+        private FlowCodes(String flow) {
+            this.flow = flow;
+            this.allocations = Counter.builder("formflow.short-code.allocations").tag("flow", flow)
+                    .description("Short codes allocated").register(meterRegistry);
+            this.collisions = Counter.builder("formflow.short-code.collisions").tag("flow", flow)
+                    .description("Short codes which turned out to be taken already").register(meterRegistry);
+            Gauge.builder("formflow.short-code.utilization", this, flowCodes -> flowCodes.utilization).tag("flow", flow)
+                    .description("Estimated share of the flow's short code space in use").register(meterRegistry);
+        }
+
+        /**
+         * Takes a code from the pool, refilling the pool first when it is empty. Should every code generated for the pool be
+         * taken, an unchecked code is returned instead.
+         */
+        private String take(ShortCodeConfig.Config config) {
+            String code = pool.poll();
+            if (code == null) {
+                refill(config);
+                code = pool.poll();
+            }
+            return code != null ? code : generate(config);
+        }
+
+        private synchronized void refill(ShortCodeConfig.Config config) {
+            if (!pool.isEmpty()) {
+                return;
+            }
+
+            Set<String> candidates = new HashSet<>();
+            for (int i = 0; i < config.getPoolSize(); i++) {
+                candidates.add(generate(config));
+            }
+            List<String> taken = repository.findShortCodesIn(candidates);
+            for (String candidate : candidates) {
+                sample(taken.contains(candidate));
+            }
+            if (!taken.isEmpty()) {
+                collisions.increment(taken.size());
+                taken.forEach(candidates::remove);
+            }
+            pool.addAll(candidates);
+        }
+
+        private synchronized void sample(boolean taken) {
+            utilization += UTILIZATION_SMOOTHING * ((taken ? 1 : 0) - utilization);
+            if (!warned && utilization > UTILIZATION_WARNING_THRESHOLD) {
+                warned = true;
+                log.warn("About {}% of the short codes for flow {} are in use, consider allowing more codes",
+                        Math.round(utilization * 100), flow);
+            }
+        }
+    }
+}
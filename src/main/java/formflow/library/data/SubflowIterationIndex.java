@@ -0,0 +1,132 @@
+package formflow.library.data;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Where each of a Submission's subflow iterations is in its subflow's list, by the iteration's uuid, so that iterations can be
+ * found without scanning their subflow.
+ *
+ * <p>
+ * A subflow's positions are worked out the first time one of its iterations is looked up, and kept up to date by the
+ * {@link Submission} methods changing its iterations. Subflow lists are also changed directly, by the controllers and by
+ * applications' actions, so every position found is checked against the list before it is used, and a subflow's positions are
+ * worked out again when they turn out to be stale: when the position of a uuid holds another iteration, or when a uuid is
+ * missing but the subflow's list has been replaced, resized, or changed through the Submission since.
+ * </p>
+ *
+ * <p>
+ * This is not thread safe, like the Submission's input data.
+ * </p>
+ */
+final class SubflowIterationIndex {
+
+    private static final String UUID_KEY = "uuid";
+
+    private final Map<String, Positions> subflows = new HashMap<>();
+
+    /**
+     * The positions of a subflow's iterations, as of when they were worked out from its list.
+     */
+    private static final class Positions {
+
+        private final List<Map<String, Object>> iterations;
+        private final Map<Object, Integer> byUuid;
+        private final int size;
+        private int inputDataVersion;
+
+        private Positions(List<Map<String, Object>> iterations, int inputDataVersion) {
+            this.iterations = iterations;
+            this.byUuid = new HashMap<>((int) (iterations.size() / 0.75f) + 1);
+            for (int i = 0; i < iterations.size(); i++) {
+                Object uuid = iterations.get(i).get(UUID_KEY);
+                if (uuid != null) {
+                    // the first iteration with a uuid is the one found, as when scanning the list
+                    byUuid.putIfAbsent(uuid, i);
+                }
+            }
+            this.size = iterations.size();
+            this.inputDataVersion = inputDataVersion;
+        }
+    }
+
+    /**
+     * Finds where an iteration is in its subflow's list.
+     *
+     * @param inputData        the Submission's input data
+     * @param inputDataVersion the Submission's input data version
+     * @param subflowName      the name of the subflow
+     * @param uuid             the uuid of the iteration
+     * @return the position of the iteration in the subflow's list, or -1 if the subflow has no such iteration
+     */
+    int indexOf(Map<String, Object> inputData, int inputDataVersion, String subflowName, Object uuid) {
+        if (uuid == null) {
+            return -1;
+        }
+        if (!(inputData.get(subflowName) instanceof List<?> list)) {
+            subflows.remove(subflowName);
+            return -1;
+        }
+        List<Map<String, Object>> iterations = (List<Map<String, Object>>) list;
+
+        Positions positions = subflows.get(subflowName);
+        if (positions != null && positions.iterations == iterations) {
+            Integer position = positions.byUuid.get(uuid);
+            if (position != null && holds(iterations, position, uuid)) {
+                return position;
+            }
+            if (position == null && positions.size == iterations.size() && positions.inputDataVersion == inputDataVersion) {
+                return -1;
+            }
+        }
+
+        positions = new Positions(iterations, inputDataVersion);
+        subflows.put(subflowName, positions);
+        Integer position = positions.byUuid.get(uuid);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Records that an iteration has been put in place of another at a position of its subflow's list, or changed in place.
+     *
+     * @param subflowName      the name of the subflow
+     * @param position         the position of the iteration
+     * @param previousUuid     the uuid of the iteration previously at the position
+     * @param iteration        the iteration now at the position
+     * @param inputDataVersion the Submission's input data version after the change
+     */
+    void replaced(String subflowName, int position, Object previousUuid, Map<String, Object> iteration,
+            int inputDataVersion) {
+        Positions positions = subflows.get(subflowName);
+        if (positions == null) {
+            return;
+        }
+        Object uuid = iteration.get(UUID_KEY);
+        if (!Objects.equals(uuid, previousUuid)) {
+            positions.byUuid.remove(previousUuid, position);
+            if (uuid != null) {
+                positions.byUuid.putIfAbsent(uuid, position);
+            }
+        }
+        positions.inputDataVersion = inputDataVersion;
+    }
+
+    /**
+     * Records that iterations of a subflow have been changed in place, leaving their uuids and positions as they were.
+     *
+     * @param subflowName      the name of the subflow
+     * @param inputDataVersion the Submission's input data version after the change
+     */
+    void changedInPlace(String subflowName, int inputDataVersion) {
+        Positions positions = subflows.get(subflowName);
+        if (positions != null) {
+            positions.inputDataVersion = inputDataVersion;
+        }
+    }
+
+    private static boolean holds(List<Map<String, Object>> iterations, int position, Object uuid) {
+        return position < iterations.size() && uuid.equals(iterations.get(position).get(UUID_KEY));
+    }
+}
@@ -9,6 +9,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -16,10 +18,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.UUID;
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -44,9 +44,7 @@ import org.springframework.stereotype.Component;
 @Getter
 @Setter
 @ToString
-@AllArgsConstructor
 @Component
-@Builder
 public class Submission {
 
     /**
@@ -75,6 +73,62 @@ public class Submission {
     @Setter(AccessLevel.NONE)
     @Column(name = "short_code")
     private String shortCode;
+    /**
+     * Incremented by every save, so that a save based on an outdated copy of this Submission is detected rather than
+     * silently overwriting another save.
+     */
+    @Version
+    @Column(name = "version")
+    private long version;
+
+    /**
+     * The key this Submission's encrypted fields are encrypted with in envelope mode, itself encrypted with the configured
+     * encryption key. Null if the Submission's encrypted fields are encrypted with the configured encryption key directly.
+     */
+    @Column(name = "data_key")
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    @ToString.Exclude
+    private String dataKey;
+
+    /**
+     * Bumped every time the input data is replaced or changed through this class, so that anything derived from the input data
+     * (such as memoized condition results) can tell it is stale. Code which changes the input data map directly should call
+     * {@link #markInputDataChanged()}. This is not persisted.
+     */
+    @Transient
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private int inputDataVersion;
+
+    /**
+     * The fingerprint of this Submission's state as of when it was last loaded from or saved to the database, used to skip
+     * saves when nothing has changed. Null if this Submission has not been loaded or saved. This is not persisted.
+     */
+    @Transient
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    @ToString.Exclude
+    private byte[] persistedFingerprint;
+
+    /**
+     * A copy of this Submission as of when it was last loaded from or saved to the database, used to work out what a save
+     * changed: to write just that, or to merge it with a concurrent save. This is not persisted.
+     */
+    @Transient
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    @ToString.Exclude
+    private Submission persistedSnapshot;
+
+    /**
+     * Where each subflow iteration is in its subflow, by uuid, worked out when first needed. This is not persisted.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private SubflowIterationIndex subflowIterationIndex;
 
     /**
      * Creates a new <code>Submission</code> with empty content
@@ -84,6 +138,32 @@ public class Submission {
         urlParams = new HashMap<>();
     }
 
+    /**
+     * Creates a new <code>Submission</code> with the given content. This, and {@link #builder()}, only take the Submission's
+     * content: its version and the state kept to track its changes are set by saving and loading it.
+     *
+     * @param id          the Submission's id
+     * @param flow        the flow the Submission is for
+     * @param inputData   the input data
+     * @param urlParams   the url params
+     * @param createdAt   when the Submission was created
+     * @param updatedAt   when the Submission was last updated
+     * @param submittedAt when the Submission was submitted
+     * @param shortCode   the Submission's short code
+     */
+    @Builder
+    public Submission(UUID id, String flow, Map<String, Object> inputData, Map<String, String> urlParams,
+            OffsetDateTime createdAt, OffsetDateTime updatedAt, OffsetDateTime submittedAt, String shortCode) {
+        this.id = id;
+        this.flow = flow;
+        this.inputData = inputData;
+        this.urlParams = urlParams;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.submittedAt = submittedAt;
+        this.shortCode = shortCode;
+    }
+
     /**
      * Create a deep copy of the given submission.
      *
@@ -91,23 +171,42 @@ public class Submission {
      * @return deep copy of origSubmission
      */
     public static Submission copySubmission(Submission origSubmission) {
+        // deep copy the subflows and any lists
+        return copySubmission(origSubmission, new HashMap<>(origSubmission.getUrlParams()),
+                copyMap(origSubmission.getInputData()));
+    }
+
+    /**
+     * Creates a copy of the given submission which shares the given submission's url params and has the given input data.
+     *
+     * @param origSubmission given submission to copy
+     * @param inputData      the input data of the copy
+     * @return shallow copy of origSubmission with the given input data
+     */
+    static Submission copySubmissionWithInputData(Submission origSubmission, Map<String, Object> inputData) {
+        return copySubmission(origSubmission, origSubmission.getUrlParams(), inputData);
+    }
+
+    private static Submission copySubmission(Submission origSubmission, Map<String, String> urlParams,
+            Map<String, Object> inputData) {
         Submission newSubmission = new Submission();
-        newSubmission.setUrlParams(new HashMap<>(origSubmission.getUrlParams()));
+        newSubmission.setUrlParams(urlParams);
 
         newSubmission.setFlow(origSubmission.getFlow());
         newSubmission.setCreatedAt(origSubmission.getCreatedAt());
         newSubmission.setUpdatedAt(origSubmission.getUpdatedAt());
         newSubmission.setSubmittedAt(origSubmission.getSubmittedAt());
         newSubmission.setId(origSubmission.getId());
+        newSubmission.setVersion(origSubmission.getVersion());
 
         newSubmission.setShortCode(origSubmission.getShortCode());
+        newSubmission.setDataKey(origSubmission.getDataKey());
 
-        // deep copy the subflows and any lists
-        newSubmission.setInputData(copyMap(origSubmission.getInputData()));
+        newSubmission.setInputData(inputData);
         return newSubmission;
     }
 
-    private static Map<String, Object> copyMap(Map<String, Object> origMap) {
+    static Map<String, Object> copyMap(Map<String, Object> origMap) {
         Map<String, Object> result = new HashMap<>();
         for (Map.Entry<String, Object> entry : origMap.entrySet()) {
             if (entry.getValue() instanceof List) {
@@ -151,14 +250,15 @@ public class Submission {
      * @return the requested subflow's set of data for the uuid, null if subflow not present
      */
     public Map<String, Object> getSubflowEntryByUuid(String subflowName, String uuid) {
-        if (!inputData.containsKey(subflowName)) {
-            return null;
-        }
-
-        List<Map<String, Object>> subflow = (List<Map<String, Object>>) inputData.get(subflowName);
-        Optional<Map<String, Object>> iteration = subflow.stream().filter(entry -> entry.get("uuid").equals(uuid)).findFirst();
+        int index = subflowIterationIndex().indexOf(inputData, inputDataVersion, subflowName, uuid);
+        return index >= 0 ? ((List<Map<String, Object>>) inputData.get(subflowName)).get(index) : null;
+    }
 
-        return iteration.isPresent() ? iteration.get() : null;
+    private SubflowIterationIndex subflowIterationIndex() {
+        if (subflowIterationIndex == null) {
+            subflowIterationIndex = new SubflowIterationIndex();
+        }
+        return subflowIterationIndex;
     }
 
     /**
@@ -173,6 +273,7 @@ public class Submission {
     public void mergeFormDataWithSubmissionData(FormSubmission formSubmission) {
         inputData.forEach((key, value) -> formSubmission.getFormData().merge(key, value, (newValue, oldValue) -> newValue));
         inputData = formSubmission.getFormData();
+        markInputDataChanged();
     }
 
     /**
@@ -197,9 +298,14 @@ public class Submission {
 
         iterationToUpdate.forEach((key, value) -> formDataSubmission.merge(key, value, (newValue, OldValue) -> newValue));
         var subflowArr = (List<Map<String, Object>>) inputData.get(subflowName);
-        int indexToUpdate = subflowArr.indexOf(iterationToUpdate);
+        Object uuidToUpdate = iterationToUpdate.get("uuid");
+        int indexToUpdate = subflowIterationIndex().indexOf(inputData, inputDataVersion, subflowName, uuidToUpdate);
+        if (indexToUpdate < 0 || !subflowArr.get(indexToUpdate).equals(iterationToUpdate)) {
+            indexToUpdate = subflowArr.indexOf(iterationToUpdate);
+        }
         subflowArr.set(indexToUpdate, formDataSubmission);
-        inputData.replace(subflowName, subflowArr);
+        markInputDataChanged();
+        subflowIterationIndex().replaced(subflowName, indexToUpdate, uuidToUpdate, formDataSubmission, inputDataVersion);
     }
 
     /**
@@ -223,19 +329,16 @@ public class Submission {
         List<Map<String, Object>> repeatForIterations = (List<Map<String, Object>>) subflowEntry.getOrDefault(
                 repeatForSaveDataAsKey, Collections.EMPTY_LIST);
 
-        Optional<Map<String, Object>> currentIteration = repeatForIterations.stream()
-                .filter(iteration -> iteration.get("uuid").equals(formDataSubmission.get("uuid"))).findFirst();
-
-        if (currentIteration.isPresent()) {
-            int nestedIndexToUpdate = repeatForIterations.indexOf(currentIteration.get());
-            repeatForIterations.set(nestedIndexToUpdate, formDataSubmission);
-
-            subflowEntry.put(repeatForSaveDataAsKey, repeatForIterations);
-
-            List<Map<String, Object>> subflowArr = (List<Map<String, Object>>) this.inputData.get(subflowName);
-            int indexToUpdate = subflowArr.indexOf(subflowEntry);
-            subflowArr.set(indexToUpdate, subflowEntry);
-            this.inputData.put(subflowName, subflowArr);
+        // the subflow entry is changed in place, so only the repeatFor iteration needs replacing
+        Object uuidToUpdate = formDataSubmission.get("uuid");
+        for (int i = 0; i < repeatForIterations.size(); i++) {
+            if (repeatForIterations.get(i).get("uuid").equals(uuidToUpdate)) {
+                repeatForIterations.set(i, formDataSubmission);
+                subflowEntry.put(repeatForSaveDataAsKey, repeatForIterations);
+                markInputDataChanged();
+                subflowIterationIndex().changedInPlace(subflowName, inputDataVersion);
+                return;
+            }
         }
     }
 
@@ -252,6 +355,8 @@ public class Submission {
             return;
         }
         iterationData.put(ITERATION_IS_COMPLETE_KEY, true);
+        markInputDataChanged();
+        subflowIterationIndex().changedInPlace(subflow, inputDataVersion);
     }
 
     /**
@@ -283,6 +388,25 @@ public class Submission {
         inputData.remove(inputName + AddressParts.CITY + UNVALIDATED_FIELD_MARKER_VALIDATED);
         inputData.remove(inputName + AddressParts.STATE + UNVALIDATED_FIELD_MARKER_VALIDATED);
         inputData.remove(inputName + AddressParts.ZIPCODE + UNVALIDATED_FIELD_MARKER_VALIDATED);
+        markInputDataChanged();
+    }
+
+    /**
+     * Replaces the Submission's input data.
+     *
+     * @param inputData the new input data
+     */
+    public void setInputData(Map<String, Object> inputData) {
+        this.inputData = inputData;
+        markInputDataChanged();
+    }
+
+    /**
+     * Records that the input data has changed. This only needs to be called by code that changes the input data map directly,
+     * rather than through this class.
+     */
+    public void markInputDataChanged() {
+        inputDataVersion++;
     }
 
     public void setShortCode(String shortCode) {
@@ -0,0 +1,184 @@
+package formflow.library.data;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A bounded, application wide cache of decrypted Submissions, enabled with {@code form-flow.submission.cache.enabled}.
+ *
+ * <p>
+ * The cache holds Submissions exactly as they were loaded. They must never be handed out or changed; callers get copies.
+ * Saving a Submission evicts it here and, through the {@link SubmissionCacheInvalidationChannel}, on every other node.
+ * </p>
+ *
+ * <p>
+ * The cache is bounded to {@code form-flow.submission.cache.max-size} Submissions or, when
+ * {@code form-flow.submission.cache.max-weight} is set, to roughly that many bytes of Submission data. Its hits, misses,
+ * evictions and size are published under the {@code cache=formflow.submission-cache} tag.
+ * </p>
+ */
+@Slf4j
+@Component
+class SubmissionCache implements SubmissionCacheInvalidationChannel.Listener {
+
+    static final String NAME = "formflow.submission-cache";
+
+    private final Cache<UUID, Submission> cache;
+    private final SubmissionCacheInvalidationChannel channel;
+    /**
+     * Bumped by every invalidation, so that a Submission loaded before an invalidation is not cached after it.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    SubmissionCache(@Value("${form-flow.submission.cache.enabled:false}") boolean enabled,
+            @Value("${form-flow.submission.cache.max-size:1000}") long maxSize,
+            @Value("${form-flow.submission.cache.max-weight:0}") long maxWeight,
+            ObjectProvider<SubmissionCacheInvalidationChannel> channelProvider,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(enabled, maxSize, maxWeight, enabled ? channelProvider.getIfAvailable() : null,
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    SubmissionCache(boolean enabled, long maxSize, long maxWeight, SubmissionCacheInvalidationChannel channel,
+            MeterRegistry meterRegistry) {
+        this.channel = channel;
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+        this.cache = maxWeight > 0
+                ? builder.maximumWeight(maxWeight).weigher((UUID id, Submission submission) -> weigh(submission)).build()
+                : builder.maximumSize(maxSize).build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, NAME);
+
+        if (channel == null) {
+            log.warn("No SubmissionCacheInvalidationChannel is available, Submissions saved on other nodes may be served stale");
+        } else {
+            channel.subscribe(this);
+        }
+    }
+
+    boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Gets the current generation, to be passed to {@link #put(Submission, long)} for a Submission about to be loaded.
+     *
+     * @return the current generation
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Gets a cached Submission. The returned Submission must not be changed.
+     *
+     * @param id the id of the Submission
+     * @return the cached Submission, or null
+     */
+    Submission get(UUID id) {
+        return cache != null ? cache.getIfPresent(id) : null;
+    }
+
+    /**
+     * Caches a Submission, unless something was invalidated since it started being loaded.
+     *
+     * @param submission           the loaded Submission, which must not be changed afterwards
+     * @param generationBeforeLoad the {@link #generation()} from before the Submission was loaded
+     */
+    void put(Submission submission, long generationBeforeLoad) {
+        if (cache == null || generation.get() != generationBeforeLoad) {
+            return;
+        }
+        cache.put(submission.getId(), submission);
+        if (generation.get() != generationBeforeLoad) {
+            // invalidated while it was being put
+            cache.invalidate(submission.getId());
+        }
+    }
+
+    /**
+     * Evicts a Submission which has been saved, here and on every other node.
+     *
+     * <p>
+     * When called within a transaction, the Submission is evicted again once the transaction completes, in case it was loaded
+     * and cached from the not yet committed row in the meantime.
+     * </p>
+     *
+     * @param id the id of the saved Submission
+     */
+    void evict(UUID id) {
+        if (cache == null) {
+            return;
+        }
+        invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(id);
+                }
+            });
+        }
+        if (channel != null) {
+            channel.publish(id);
+        }
+    }
+
+    @Override
+    public void invalidate(UUID submissionId) {
+        generation.incrementAndGet();
+        cache.invalidate(submissionId);
+    }
+
+    @Override
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Estimates the memory a Submission takes up, in bytes.
+     */
+    static int weigh(Submission submission) {
+        long weight = 256 + weigh(submission.getInputData()) + weigh(submission.getUrlParams());
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static long weigh(Object value) {
+        if (value instanceof String string) {
+            return 40 + 2L * string.length();
+        } else if (value instanceof Map<?, ?> map) {
+            long weight = 48;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                weight += 32 + weigh(entry.getKey()) + weigh(entry.getValue());
+            }
+            return weight;
+        } else if (value instanceof Collection<?> collection) {
+            long weight = 40;
+            for (Object element : collection) {
+                weight += 8 + weigh(element);
+            }
+            return weight;
+        }
+        return 16;
+    }
+}
@@ -0,0 +1,47 @@
+package formflow.library.data;
+
+import java.util.UUID;
+
+/**
+ * Carries Submission cache invalidations between the nodes of an application, so that a Submission saved on one node is not
+ * served stale from another node's cache.
+ *
+ * <p>
+ * The default implementation is {@link PostgresSubmissionCacheInvalidationChannel}. Applications can provide their own by
+ * declaring a bean of this type.
+ * </p>
+ */
+public interface SubmissionCacheInvalidationChannel {
+
+    /**
+     * Tells the other nodes that a Submission has changed.
+     *
+     * @param submissionId the id of the Submission that changed
+     */
+    void publish(UUID submissionId);
+
+    /**
+     * Starts delivering invalidations published by other nodes to the listener.
+     *
+     * @param listener the listener to deliver invalidations to
+     */
+    void subscribe(Listener listener);
+
+    /**
+     * Receives invalidations from a {@link SubmissionCacheInvalidationChannel}.
+     */
+    interface Listener {
+
+        /**
+         * Called when another node has changed a Submission.
+         *
+         * @param submissionId the id of the Submission that changed
+         */
+        void invalidate(UUID submissionId);
+
+        /**
+         * Called when invalidations may have been missed, for example while reconnecting to the channel.
+         */
+        void invalidateAll();
+    }
+}
@@ -1,23 +1,35 @@
 package formflow.library.data;
 
-import static formflow.library.data.Submission.copySubmission;
+import static formflow.library.data.Submission.copySubmissionWithInputData;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.crypto.tink.Aead;
 import com.google.crypto.tink.CleartextKeysetHandle;
 import com.google.crypto.tink.ConfigurationV0;
 import com.google.crypto.tink.JsonKeysetReader;
 import com.google.crypto.tink.KeysetHandle;
+import com.google.crypto.tink.TinkProtoKeysetFormat;
 import com.google.crypto.tink.aead.AeadConfig;
+import com.google.crypto.tink.aead.PredefinedAeadParameters;
 import formflow.library.exceptions.SubmissionDecryptionException;
+import io.hypersistence.utils.hibernate.type.util.ObjectMapperWrapper;
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.binary.Hex;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -25,6 +37,15 @@ import org.springframework.util.StringUtils;
 /**
  * Service providing encryption and decryption of designated fields in a <code>Submission</code> using Google's Tink Cryptographic
  * Library
+ *
+ * <p>
+ * By default each field is encrypted with the configured key and stored hex encoded. In envelope mode, enabled with
+ * {@code form-flow.encryption.envelope.enabled}, each Submission gets a data key of its own, which is stored encrypted with the
+ * configured key in the Submission's {@code data_key} column. Fields are encrypted with the data key and stored Base64 encoded,
+ * and with {@code form-flow.encryption.envelope.single-blob} all encrypted fields of a map are stored together as a single
+ * value. Values are decrypted according to how they were stored, so Submissions saved before envelope mode was enabled can
+ * still be read, and are rewritten in envelope mode on their next full save.
+ * </p>
  */
 @Service
 public class SubmissionEncryptionService {
@@ -33,8 +54,27 @@ public class SubmissionEncryptionService {
      * Suffix added to the field name for encrypted fields
      */
     public final String ENCRYPT_SUFFIX = "_encrypted";
+    /**
+     * Key under which a map's encrypted fields are stored when they are stored together.
+     */
+    static final String BLOB_KEY = "_encrypted";
+    /**
+     * Prefix of values encrypted with a Submission's data key, which tells them apart from hex encoded values.
+     */
+    static final String ENVELOPE_PREFIX = "env:";
+    private static final byte[] DATA_KEY_ASSOCIATED_DATA = "formflow.submission.data-key".getBytes(StandardCharsets.UTF_8);
+    private static final int DATA_KEY_CACHE_SIZE = 1000;
+
     private final Aead encDec;
+    private final int primaryKeyId;
     private final String inputConfigPath;
+    private final boolean envelope;
+    private final boolean singleBlob;
+    private final Map<String, EncryptionPlan> encryptionPlans = new ConcurrentHashMap<>();
+    /**
+     * Decrypted data keys, by their encrypted form.
+     */
+    private final Cache<String, Aead> dataKeys = CacheBuilder.newBuilder().maximumSize(DATA_KEY_CACHE_SIZE).build();
 
     /**
      * Constructs an instance of the <code>SubmissionEncryptionService</code>
@@ -42,12 +82,30 @@ public class SubmissionEncryptionService {
      * @param key             the key used to encrypt the fields
      * @param inputConfigPath the package path where inputs classes are located
      */
+    public SubmissionEncryptionService(String key, String inputConfigPath) {
+        this(key, inputConfigPath, false, false);
+    }
+
+    /**
+     * Constructs an instance of the <code>SubmissionEncryptionService</code>
+     *
+     * @param key             the key used to encrypt the fields, or the data keys in envelope mode
+     * @param inputConfigPath the package path where inputs classes are located
+     * @param envelope        whether to encrypt each Submission's fields with a data key of its own
+     * @param singleBlob      whether to store all encrypted fields of a map as a single value, in envelope mode
+     */
+    @Autowired
     public SubmissionEncryptionService(
             @Value("${form-flow.encryption-key:#{null}}") String key,
-            @Value("${form-flow.inputs: 'formflow.library.inputs.'}") String inputConfigPath) {
+            @Value("${form-flow.inputs: 'formflow.library.inputs.'}") String inputConfigPath,
+            @Value("${form-flow.encryption.envelope.enabled:false}") boolean envelope,
+            @Value("${form-flow.encryption.envelope.single-blob:false}") boolean singleBlob) {
         this.inputConfigPath = inputConfigPath;
+        this.envelope = envelope;
+        this.singleBlob = envelope && singleBlob;
         if (key == null || key.isEmpty()) {
             encDec = null;
+            primaryKeyId = 0;
             return;
         }
 
@@ -55,11 +113,58 @@ public class SubmissionEncryptionService {
             AeadConfig.register();
             KeysetHandle keysetHandle = CleartextKeysetHandle.read(JsonKeysetReader.withString(key));
             encDec = keysetHandle.getPrimitive(ConfigurationV0.get(), Aead.class);
+            primaryKeyId = keysetHandle.getPrimary().getId();
         } catch (GeneralSecurityException | IOException e) {
             throw new IllegalStateException(e);
         }
     }
 
+    /**
+     * Whether an encryption key is configured.
+     *
+     * @return true if fields are encrypted
+     */
+    boolean isEnabled() {
+        return encDec != null;
+    }
+
+    /**
+     * Gets the id of the key new values are encrypted with: the primary key of the configured keyset.
+     *
+     * @return the primary key's id
+     */
+    int getPrimaryKeyId() {
+        return primaryKeyId;
+    }
+
+    /**
+     * Re-encrypts a Submission's data key with the primary key of the configured keyset. The data key may have been encrypted
+     * with any key of the keyset.
+     *
+     * @param dataKey the data key, encrypted and Base64 encoded
+     * @return the same data key, encrypted with the primary key and Base64 encoded
+     */
+    String rewrapDataKey(String dataKey) {
+        try {
+            KeysetHandle keysetHandle = TinkProtoKeysetFormat.parseEncryptedKeyset(Base64.getDecoder().decode(dataKey), encDec,
+                    DATA_KEY_ASSOCIATED_DATA);
+            return Base64.getEncoder().encodeToString(
+                    TinkProtoKeysetFormat.serializeEncryptedKeyset(keysetHandle, encDec, DATA_KEY_ASSOCIATED_DATA));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new SubmissionDecryptionException("Unable to decrypt the submission's data key", e);
+        }
+    }
+
+    /**
+     * Whether all encrypted fields of a map are stored together as a single value, so that changing one of them changes that
+     * value.
+     *
+     * @return true if encrypted fields are stored together
+     */
+    boolean storesEncryptedFieldsTogether() {
+        return encDec != null && singleBlob;
+    }
+
     /**
      * Go through "@Encrypt" annotations and replace fields with encrypted value.
      *
@@ -71,7 +176,8 @@ public class SubmissionEncryptionService {
      * </p>
      *
      * @param submission submission to be encrypted
-     * @return encrypted copy of the given submission
+     * @return encrypted copy of the given submission, sharing the parts without encrypted fields with it; the given submission
+     * itself if it has nothing to encrypt
      */
     public Submission encrypt(Submission submission) {
         if (submission.getFlow() == null || encDec == null) {
@@ -92,7 +198,8 @@ public class SubmissionEncryptionService {
      * </p>
      *
      * @param submission submission to be decrypted
-     * @return decrypted copy of the given submission
+     * @return decrypted copy of the given submission, sharing the parts without encrypted fields with it; the given submission
+     * itself if it has nothing to decrypt
      */
     public Submission decrypt(Submission submission) {
         if (submission.getFlow() == null || encDec == null) {
@@ -102,53 +209,82 @@ public class SubmissionEncryptionService {
         return getNewSubmission(submission, EncryptionDirection.DECRYPT);
     }
 
+    /**
+     * Copies the submission with its fields encrypted or decrypted. Only the input data maps holding such fields are copied, the
+     * rest is shared with the given submission.
+     *
+     * @return the copy, or the given submission itself if it has no fields to encrypt or decrypt
+     */
     @NotNull
     private Submission getNewSubmission(Submission submission, EncryptionDirection direction) {
-        Submission result = copySubmission(submission);
-        List<Field> fields = getAnnotatedFields(submission);
-        Map<String, Object> inputData = result.getInputData();
-        submission.getInputData().entrySet().forEach(entry -> {
-            fields.forEach(field -> {
-                if (entry.getValue() instanceof List) {
-                    List possibleSubflows = (List) inputData.get(entry.getKey());
-                    for (var element : possibleSubflows) {
-                        // check for subflows
-                        if (element instanceof Map) {
-                            Map<String, Object> subflow = (Map<String, Object>) element;
-                            if (containsEncryptionField(direction, field, subflow)) {
-                                replaceValue(field, subflow, direction);
-                            }
+        EncryptionPlan plan = getEncryptionPlan(submission.getFlow());
+        Map<String, String> renames = direction == EncryptionDirection.ENCRYPT ? plan.encryptedNames() : plan.decryptedNames();
+        if (renames.isEmpty()) {
+            return submission;
+        }
+
+        FieldCrypter crypter = new FieldCrypter(direction, renames, submission.getDataKey());
+        Map<String, Object> inputData = submission.getInputData();
+        // copied on the first change
+        Map<String, Object> newInputData = crypter.apply(inputData);
+        for (Map.Entry<String, Object> entry : inputData.entrySet()) {
+            if (entry.getValue() instanceof List possibleSubflows) {
+                List<Object> newSubflows = null;
+                for (int i = 0; i < possibleSubflows.size(); i++) {
+                    // check for subflows
+                    if (possibleSubflows.get(i) instanceof Map element) {
+                        Map<String, Object> subflow = crypter.apply(element);
+                        if (subflow == null) {
+                            continue;
+                        }
+                        if (newSubflows == null) {
+                            newSubflows = new ArrayList<>(possibleSubflows);
                         }
+                        newSubflows.set(i, subflow);
                     }
-                } else if (containsEncryptionField(direction, field, entry.getKey())) {
-                    replaceValue(field, inputData, direction);
                 }
-            });
-        });
+                if (newSubflows != null) {
+                    if (newInputData == null) {
+                        newInputData = new HashMap<>(inputData);
+                    }
+                    newInputData.put(entry.getKey(), newSubflows);
+                }
+            }
+        }
 
+        if (newInputData == null) {
+            return submission;
+        }
+        Submission result = copySubmissionWithInputData(submission, newInputData);
+        result.setDataKey(crypter.dataKey);
         return result;
     }
 
-    private boolean containsEncryptionField(EncryptionDirection direction, Field field, Map<String, Object> subflow) {
-        return (direction == EncryptionDirection.ENCRYPT && subflow.containsKey(field.getName())) ||
-                (direction == EncryptionDirection.DECRYPT && subflow.containsKey(field.getName() + ENCRYPT_SUFFIX));
-    }
-
-    private boolean containsEncryptionField(EncryptionDirection direction, Field field, String entryKey) {
-        return (direction == EncryptionDirection.ENCRYPT && entryKey.equals(field.getName())) ||
-                (direction == EncryptionDirection.DECRYPT && entryKey.equals(field.getName() + ENCRYPT_SUFFIX));
+    /**
+     * Gets the names of a flow's encrypted fields, working them out from the flow's inputs class the first time.
+     *
+     * @param flow the name of the flow
+     * @return the flow's encryption plan
+     */
+    @NotNull
+    EncryptionPlan getEncryptionPlan(String flow) {
+        return encryptionPlans.computeIfAbsent(flow, this::createEncryptionPlan);
     }
 
-    @NotNull
-    private List<Field> getAnnotatedFields(Submission submission) {
+    private EncryptionPlan createEncryptionPlan(String flow) {
         try {
-            Class<?> flowClass = Class.forName(inputConfigPath + StringUtils.capitalize(submission.getFlow()));
+            Class<?> flowClass = Class.forName(inputConfigPath + StringUtils.capitalize(flow));
 
-            List<Field> fields = Arrays.stream(flowClass.getDeclaredFields())
+            Map<String, String> encryptedNames = new LinkedHashMap<>();
+            Map<String, String> decryptedNames = new LinkedHashMap<>();
+            Arrays.stream(flowClass.getDeclaredFields())
                     .filter(field -> Arrays.stream(field.getAnnotations())
                             .anyMatch(annotation -> annotation.annotationType().getName().endsWith(".Encrypted")))
-                    .toList();
-            return fields;
+                    .forEach(field -> {
+                        encryptedNames.put(field.getName(), field.getName() + ENCRYPT_SUFFIX);
+                        decryptedNames.put(field.getName() + ENCRYPT_SUFFIX, field.getName());
+                    });
+            return new EncryptionPlan(Collections.unmodifiableMap(encryptedNames), Collections.unmodifiableMap(decryptedNames));
         } catch (ReflectiveOperationException e) {
             throw new IllegalStateException("Unable to find flow class", e);
         }
@@ -170,24 +306,160 @@ public class SubmissionEncryptionService {
         }
     }
 
-    private void replaceValue(Field field, Map<String, Object> inputMap, EncryptionDirection direction) {
-        String fieldName = getNewFieldName(field, direction);
+    private static String encryptString(Aead dataKey, String name, String data) {
+        try {
+            return ENVELOPE_PREFIX + Base64.getEncoder().encodeToString(
+                    dataKey.encrypt(data.getBytes(StandardCharsets.UTF_8), name.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String decryptString(Aead dataKey, String name, String encryptedData) {
+        try {
+            byte[] ciphertext = Base64.getDecoder().decode(encryptedData.substring(ENVELOPE_PREFIX.length()));
+            return new String(dataKey.decrypt(ciphertext, name.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new SubmissionDecryptionException("Unable to decrypt " + name, e);
+        }
+    }
 
-        if (direction == EncryptionDirection.ENCRYPT) {
-            String value = (String) inputMap.remove(field.getName());
-            inputMap.put(fieldName, encryptString(value));
-        } else {
-            String value = (String) inputMap.remove(field.getName() + ENCRYPT_SUFFIX);
-            inputMap.put(fieldName, decryptString(fieldName, value));
+    /**
+     * Creates a new data key.
+     *
+     * @return the data key, encrypted with the configured key and Base64 encoded
+     */
+    private String createDataKey() {
+        try {
+            KeysetHandle keysetHandle = KeysetHandle.generateNew(PredefinedAeadParameters.AES256_GCM);
+            String dataKey = Base64.getEncoder().encodeToString(
+                    TinkProtoKeysetFormat.serializeEncryptedKeyset(keysetHandle, encDec, DATA_KEY_ASSOCIATED_DATA));
+            dataKeys.put(dataKey, keysetHandle.getPrimitive(ConfigurationV0.get(), Aead.class));
+            return dataKey;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
         }
     }
 
-    private String getNewFieldName(Field field, EncryptionDirection direction) {
-        if (direction == EncryptionDirection.ENCRYPT) {
-            return field.getName() + ENCRYPT_SUFFIX;
-        } else {
-            return field.getName();
+    /**
+     * Decrypts a data key.
+     *
+     * @param dataKey the data key, encrypted with the configured key and Base64 encoded
+     * @return the decrypted data key
+     */
+    private Aead getDataKey(String dataKey) {
+        Aead aead = dataKeys.getIfPresent(dataKey);
+        if (aead != null) {
+            return aead;
+        }
+        try {
+            KeysetHandle keysetHandle = TinkProtoKeysetFormat.parseEncryptedKeyset(Base64.getDecoder().decode(dataKey), encDec,
+                    DATA_KEY_ASSOCIATED_DATA);
+            aead = keysetHandle.getPrimitive(ConfigurationV0.get(), Aead.class);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new SubmissionDecryptionException("Unable to decrypt the submission's data key", e);
         }
+        dataKeys.put(dataKey, aead);
+        return aead;
+    }
+
+    /**
+     * Encrypts or decrypts the fields of one Submission, creating the Submission's data key when it is first needed.
+     */
+    private final class FieldCrypter {
+
+        private final EncryptionDirection direction;
+        private final Map<String, String> renames;
+        private String dataKey;
+        private Aead dataKeyAead;
+
+        private FieldCrypter(EncryptionDirection direction, Map<String, String> renames, String dataKey) {
+            this.direction = direction;
+            this.renames = renames;
+            this.dataKey = dataKey;
+        }
+
+        /**
+         * Copies the map with its fields encrypted or decrypted. Values which are lists are left alone.
+         *
+         * @return the copy, or null if the map has no fields to encrypt or decrypt
+         */
+        private Map<String, Object> apply(Map<String, Object> map) {
+            if (!containsFields(map)) {
+                return null;
+            }
+
+            Map<String, Object> result = new HashMap<>(map);
+            if (direction == EncryptionDirection.ENCRYPT && singleBlob) {
+                Map<String, Object> fields = new LinkedHashMap<>();
+                renames.keySet().stream().filter(name -> isField(result, name))
+                        .forEach(name -> fields.put(name, result.remove(name)));
+                result.put(BLOB_KEY, encryptString(dataKeyAead(), BLOB_KEY, ObjectMapperWrapper.INSTANCE.toString(fields)));
+            } else if (direction == EncryptionDirection.ENCRYPT) {
+                renames.forEach((name, newName) -> {
+                    if (isField(result, name)) {
+                        String value = (String) result.remove(name);
+                        result.put(newName, envelope ? encryptString(dataKeyAead(), name, value) : encryptString(value));
+                    }
+                });
+            } else {
+                Object blob = result.remove(BLOB_KEY);
+                renames.forEach((name, newName) -> {
+                    if (isField(result, name)) {
+                        String value = (String) result.remove(name);
+                        result.put(newName, value.startsWith(ENVELOPE_PREFIX)
+                                ? decryptString(dataKeyAead(), newName, value) : decryptString(newName, value));
+                    }
+                });
+                if (blob instanceof String encryptedFields) {
+                    // fields stored on their own were saved later, so they take precedence
+                    Map<String, Object> fields = ObjectMapperWrapper.INSTANCE.fromString(
+                            decryptString(dataKeyAead(), BLOB_KEY, encryptedFields), Map.class);
+                    fields.forEach(result::putIfAbsent);
+                }
+            }
+            return result;
+        }
+
+        private boolean containsFields(Map<String, Object> map) {
+            if (direction == EncryptionDirection.DECRYPT && map.containsKey(BLOB_KEY)) {
+                return true;
+            }
+            for (String name : renames.keySet()) {
+                if (isField(map, name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isField(Map<String, Object> map, String name) {
+            return map.containsKey(name) && !(map.get(name) instanceof List);
+        }
+
+        private Aead dataKeyAead() {
+            if (dataKeyAead == null) {
+                if (dataKey == null) {
+                    if (direction == EncryptionDirection.DECRYPT) {
+                        throw new SubmissionDecryptionException("Unable to decrypt a submission without a data key", null);
+                    }
+                    dataKey = createDataKey();
+                }
+                dataKeyAead = getDataKey(dataKey);
+            }
+            return dataKeyAead;
+        }
+    }
+
+    /**
+     * The names of a flow's encrypted fields, as they are renamed when encrypting and decrypting. Top level fields and fields
+     * within subflow iterations are renamed alike.
+     *
+     * @param encryptedNames the names of the encrypted fields, mapped to the names their encrypted values are stored under
+     * @param decryptedNames the names encrypted values are stored under, mapped to the names of their fields
+     */
+    record EncryptionPlan(Map<String, String> encryptedNames, Map<String, String> decryptedNames) {
+
     }
 
     private enum EncryptionDirection {
@@ -0,0 +1,92 @@
+package formflow.library.data;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes a digest of the persisted state of a {@link Submission}.
+ *
+ * <p>
+ * The digest covers everything that a save would write: the flow, the input data, the url parameters, the submitted at
+ * timestamp and the short code. Maps are digested in key order, so two submissions with equal content always have equal
+ * fingerprints, no matter how their maps were built up. It is used to tell whether a Submission has changed since it was last
+ * loaded or saved, and is never stored.
+ * </p>
+ */
+final class SubmissionFingerprint {
+
+    private SubmissionFingerprint() {
+    }
+
+    /**
+     * Computes the fingerprint of the given submission's persisted state.
+     *
+     * @param submission the submission, not null
+     * @return a SHA-256 digest of the submission's persisted state
+     */
+    static byte[] of(Submission submission) {
+        MessageDigest digest = newDigest();
+        update(digest, submission.getFlow());
+        update(digest, submission.getInputData());
+        update(digest, submission.getUrlParams());
+        update(digest, submission.getSubmittedAt());
+        update(digest, submission.getShortCode());
+        return digest.digest();
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update((byte) 'n');
+        } else if (value instanceof Map<?, ?> map) {
+            digest.update((byte) 'm');
+            updateLength(digest, map.size());
+            List<Map.Entry<?, ?>> entries = new ArrayList<>(map.entrySet());
+            entries.sort(Comparator.comparing(entry -> String.valueOf(entry.getKey())));
+            for (Map.Entry<?, ?> entry : entries) {
+                update(digest, String.valueOf(entry.getKey()));
+                update(digest, entry.getValue());
+            }
+        } else if (value instanceof Collection<?> collection) {
+            digest.update((byte) 'l');
+            updateLength(digest, collection.size());
+            for (Object element : collection) {
+                update(digest, element);
+            }
+        } else if (value instanceof Object[] array) {
+            update(digest, Arrays.asList(array));
+        } else {
+            // the type is part of the digest so that, for example, the number 1 and the string "1" differ
+            digest.update((byte) 'v');
+            updateString(digest, value.getClass().getName());
+            updateString(digest, value.toString());
+        }
+    }
+
+    private static void updateString(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        updateLength(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void updateLength(MessageDigest digest, int length) {
+        digest.update((byte) (length >>> 24));
+        digest.update((byte) (length >>> 16));
+        digest.update((byte) (length >>> 8));
+        digest.update((byte) length);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
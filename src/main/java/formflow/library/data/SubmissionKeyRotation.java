@@ -0,0 +1,335 @@
+package formflow.library.data;
+
+import com.google.common.util.concurrent.RateLimiter;
+import formflow.library.exceptions.SubmissionDecryptionException;
+import io.hypersistence.utils.hibernate.type.util.ObjectMapperWrapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Re-encrypts all Submissions in the background after the encryption key has been rotated, enabled with
+ * {@code form-flow.encryption.rotation.enabled}.
+ *
+ * <p>
+ * To rotate the key, a new key is added to the keyset in {@code form-flow.encryption-key} and made its primary key, keeping
+ * the old key in the keyset. Values are encrypted with the new key from then on, and values encrypted with the old key can
+ * still be decrypted, so the application keeps working while this job pages through the Submissions in order of their id and
+ * re-encrypts them with the new key, a batch at a time. Submissions encrypted in envelope mode only have their data key
+ * re-encrypted; others have each of their encrypted fields re-encrypted. Once the job has completed, the old key can be
+ * removed from the keyset.
+ * </p>
+ *
+ * <p>
+ * Submissions which cannot be re-encrypted are skipped and their ids recorded in the progress row's
+ * {@code failed_submission_ids}. Once every Submission has been seen, those are tried again, and the job only completes when
+ * none remain. Otherwise it stops having completed with failures, leaving the Submissions encrypted with the old key, which
+ * must then be kept; they are tried again the next time the application starts.
+ * </p>
+ *
+ * <p>
+ * Progress is recorded per primary key in the {@code submission_key_rotation} table after every batch, so after a restart the
+ * job carries on where it left off, and once it has completed it is not run again. Each batch locks the progress row, so
+ * when several nodes run the job they take turns instead of doing the same work, and locks the Submissions it re-encrypts,
+ * so saving one of them waits until its batch is done. Batches are throttled to
+ * {@code form-flow.encryption.rotation.submissions-per-second}.
+ * </p>
+ *
+ * <p>
+ * The re-encrypted Submissions are counted by {@code formflow.encryption.rotation.submissions}, and the
+ * {@code formflow.encryption.rotation.progress} gauge estimates how far through the Submissions the job is, from 0 to 1.
+ * </p>
+ */
+@Slf4j
+@Component
+class SubmissionKeyRotation {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+    /**
+     * The last Submission id seen once all Submissions have been seen, after which only the failed ones are tried again.
+     */
+    private static final UUID LAST_ID = new UUID(-1, -1);
+    private static final long RETRY_DELAY_MILLIS = 5000;
+
+    private static final RowMapper<Submission> STORED_SUBMISSION = (resultSet, rowNum) -> {
+        Submission submission = new Submission();
+        submission.setId(resultSet.getObject("id", UUID.class));
+        submission.setFlow(resultSet.getString("flow"));
+        String inputData = resultSet.getString("input_data");
+        if (inputData != null) {
+            submission.setInputData(ObjectMapperWrapper.INSTANCE.fromString(inputData, Map.class));
+        }
+        submission.setDataKey(resultSet.getString("data_key"));
+        return submission;
+    };
+
+    private final SubmissionEncryptionService encryptionService;
+    private final SubmissionCache submissionCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final RateLimiter rateLimiter;
+
+    private final Counter rewrapped;
+    private final Counter reencrypted;
+    private final Counter unchanged;
+    private final Counter failed;
+    private volatile double progress;
+
+    private volatile boolean running;
+    private Thread rotationThread;
+
+    @Autowired
+    SubmissionKeyRotation(SubmissionEncryptionService encryptionService, SubmissionCache submissionCache, DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${form-flow.encryption.rotation.enabled:false}") boolean enabled,
+            @Value("${form-flow.encryption.rotation.batch-size:100}") int batchSize,
+            @Value("${form-flow.encryption.rotation.submissions-per-second:50}") double submissionsPerSecond,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(encryptionService, submissionCache, dataSource, transactionManager, enabled, batchSize, submissionsPerSecond,
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    SubmissionKeyRotation(SubmissionEncryptionService encryptionService, SubmissionCache submissionCache, DataSource dataSource,
+            PlatformTransactionManager transactionManager, boolean enabled, int batchSize, double submissionsPerSecond,
+            MeterRegistry meterRegistry) {
+        this.encryptionService = encryptionService;
+        this.submissionCache = submissionCache;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.rateLimiter = RateLimiter.create(submissionsPerSecond);
+
+        String name = "formflow.encryption.rotation.submissions";
+        String description = "Submissions re-encrypted with the primary encryption key";
+        this.rewrapped = Counter.builder(name).tag("result", "rewrapped").description(description).register(meterRegistry);
+        this.reencrypted = Counter.builder(name).tag("result", "reencrypted").description(description).register(meterRegistry);
+        this.unchanged = Counter.builder(name).tag("result", "unchanged").description(description).register(meterRegistry);
+        this.failed = Counter.builder(name).tag("result", "failed").description(description).register(meterRegistry);
+        Gauge.builder("formflow.encryption.rotation.progress", this, rotation -> rotation.progress)
+                .description("Estimated share of the Submissions re-encrypted with the primary encryption key")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts re-encrypting Submissions in the background, if enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        if (!encryptionService.isEnabled()) {
+            log.warn("Submission key rotation is enabled, but no encryption key is configured");
+            return;
+        }
+
+        running = true;
+        rotationThread = new Thread(this::run, "formflow-key-rotation");
+        rotationThread.setDaemon(true);
+        rotationThread.start();
+    }
+
+    /**
+     * Stops re-encrypting Submissions, after the current batch.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (rotationThread != null) {
+            rotationThread.interrupt();
+        }
+    }
+
+    private void run() {
+        log.info("Re-encrypting submissions with key {}", encryptionService.getPrimaryKeyId());
+        while (running) {
+            try {
+                switch (rotateBatch()) {
+                    case COMPLETE -> {
+                        log.info("All submissions are encrypted with key {}", encryptionService.getPrimaryKeyId());
+                        return;
+                    }
+                    case COMPLETE_WITH_FAILURES -> {
+                        log.error("Some submissions could not be encrypted with key {}, see failed_submission_ids in "
+                                + "submission_key_rotation; keep the old key until they have been",
+                                encryptionService.getPrimaryKeyId());
+                        return;
+                    }
+                    case LOCKED -> Thread.sleep(RETRY_DELAY_MILLIS);
+                    case MORE -> {
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unable to re-encrypt a batch of submissions, retrying", e);
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * The outcome of a batch.
+     */
+    enum Batch {
+        /**
+         * There are more Submissions to re-encrypt.
+         */
+        MORE,
+        /**
+         * Another node is re-encrypting a batch.
+         */
+        LOCKED,
+        /**
+         * All Submissions are encrypted with the primary key.
+         */
+        COMPLETE,
+        /**
+         * All Submissions have been tried, but some could not be encrypted with the primary key.
+         */
+        COMPLETE_WITH_FAILURES
+    }
+
+    /**
+     * Re-encrypts the next batch of Submissions, waiting for the rate limit first. Once all Submissions have been seen, tries
+     * those which failed again instead.
+     *
+     * @return whether there are more Submissions to re-encrypt
+     */
+    Batch rotateBatch() {
+        rateLimiter.acquire(batchSize);
+        return transactionTemplate.execute(status -> {
+            String keyId = String.valueOf(encryptionService.getPrimaryKeyId());
+            jdbcTemplate.update("INSERT INTO submission_key_rotation (key_id, last_submission_id) VALUES (?, ?) "
+                    + "ON CONFLICT DO NOTHING", keyId, FIRST_ID);
+            List<Map<String, Object>> checkpoint = jdbcTemplate.queryForList("SELECT last_submission_id, completed_at "
+                    + "FROM submission_key_rotation WHERE key_id = ? FOR UPDATE SKIP LOCKED", keyId);
+            if (checkpoint.isEmpty()) {
+                return Batch.LOCKED;
+            }
+            if (checkpoint.getFirst().get("completed_at") != null) {
+                progress = 1;
+                return Batch.COMPLETE;
+            }
+
+            UUID lastId = (UUID) checkpoint.getFirst().get("last_submission_id");
+            if (lastId.equals(LAST_ID)) {
+                return retryFailed(keyId);
+            }
+
+            List<Submission> submissions = jdbcTemplate.query("SELECT id, flow, input_data, data_key FROM submissions "
+                    + "WHERE id > ? ORDER BY id LIMIT ? FOR UPDATE", STORED_SUBMISSION, lastId, batchSize);
+            for (Submission submission : submissions) {
+                if (!rotate(submission)) {
+                    jdbcTemplate.update("UPDATE submission_key_rotation "
+                            + "SET failed_submission_ids = array_append(failed_submission_ids, ?) WHERE key_id = ?",
+                            submission.getId(), keyId);
+                }
+            }
+
+            if (submissions.size() < batchSize) {
+                jdbcTemplate.update("UPDATE submission_key_rotation SET last_submission_id = ?, updated_at = now() "
+                        + "WHERE key_id = ?", LAST_ID, keyId);
+                return retryFailed(keyId);
+            }
+            UUID batchLastId = submissions.getLast().getId();
+            jdbcTemplate.update("UPDATE submission_key_rotation SET last_submission_id = ?, updated_at = now() "
+                    + "WHERE key_id = ?", batchLastId, keyId);
+            progress = progressOf(batchLastId);
+            return Batch.MORE;
+        });
+    }
+
+    /**
+     * Tries the Submissions which failed again, completing the job if none fail this time. Submissions deleted since are
+     * dropped from the failures.
+     */
+    private Batch retryFailed(String keyId) {
+        List<UUID> failedIds = jdbcTemplate.queryForList("SELECT unnest(failed_submission_ids) FROM submission_key_rotation "
+                + "WHERE key_id = ?", UUID.class, keyId);
+        for (UUID failedId : failedIds) {
+            List<Submission> submissions = jdbcTemplate.query("SELECT id, flow, input_data, data_key FROM submissions "
+                    + "WHERE id = ? FOR UPDATE", STORED_SUBMISSION, failedId);
+            if (submissions.isEmpty() || rotate(submissions.getFirst())) {
+                jdbcTemplate.update("UPDATE submission_key_rotation "
+                        + "SET failed_submission_ids = array_remove(failed_submission_ids, ?) WHERE key_id = ?", failedId, keyId);
+            }
+        }
+
+        int remaining = jdbcTemplate.queryForObject("SELECT cardinality(failed_submission_ids) FROM submission_key_rotation "
+                + "WHERE key_id = ?", Integer.class, keyId);
+        if (remaining > 0) {
+            jdbcTemplate.update("UPDATE submission_key_rotation SET updated_at = now() WHERE key_id = ?", keyId);
+            return Batch.COMPLETE_WITH_FAILURES;
+        }
+        jdbcTemplate.update("UPDATE submission_key_rotation SET completed_at = now(), updated_at = now() "
+                + "WHERE key_id = ?", keyId);
+        progress = 1;
+        return Batch.COMPLETE;
+    }
+
+    /**
+     * Re-encrypts a Submission with the primary key. Its version is bumped, so that saves of copies loaded before are merged
+     * with it rather than writing back values or a data key encrypted with the old key.
+     *
+     * @return false if the Submission could not be re-encrypted
+     */
+    private boolean rotate(Submission stored) {
+        try {
+            if (stored.getDataKey() != null) {
+                jdbcTemplate.update("UPDATE submissions SET data_key = ?, version = version + 1 WHERE id = ?",
+                        encryptionService.rewrapDataKey(stored.getDataKey()), stored.getId());
+                rewrapped.increment();
+            } else {
+                Submission reencryptedSubmission = encryptionService.encrypt(encryptionService.decrypt(stored));
+                if (reencryptedSubmission == stored) {
+                    unchanged.increment();
+                    return true;
+                }
+                jdbcTemplate.update("UPDATE submissions SET input_data = CAST(? AS jsonb), data_key = ?, version = version + 1 "
+                                + "WHERE id = ?", ObjectMapperWrapper.INSTANCE.toString(reencryptedSubmission.getInputData()),
+                        reencryptedSubmission.getDataKey(), stored.getId());
+                reencrypted.increment();
+            }
+            submissionCache.evict(stored.getId());
+            return true;
+        } catch (SubmissionDecryptionException | IllegalStateException e) {
+            failed.increment();
+            log.error("Unable to re-encrypt submission {}, skipping it", stored.getId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Estimates how far through the Submissions a Submission id is, since ids are random.
+     */
+    private static double progressOf(UUID id) {
+        return (double) (id.getMostSignificantBits() >>> 11) / (1L << 53);
+    }
+}
@@ -0,0 +1,167 @@
+package formflow.library.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Three-way merge of two concurrent changes to a Submission's map, key by key.
+ *
+ * <p>
+ * Starting from the base both changes were made from, each key takes the value from whichever side changed it. Subflows, lists
+ * of iterations each with a {@code uuid}, are merged iteration by iteration: iterations added by either side are all kept, and
+ * iterations both sides kept are merged key by key in turn. Keys changed differently by both sides, and iterations one side
+ * deleted while the other changed them, conflict: they are reported, and the merge should not be used.
+ * </p>
+ */
+final class SubmissionMerge {
+
+    private static final Object ABSENT = new Object();
+    private static final String UUID_KEY = "uuid";
+
+    private SubmissionMerge() {
+    }
+
+    /**
+     * The merged map, and what both sides changed differently.
+     *
+     * @param merged    the merged map, only to be used if there are no conflicts
+     * @param conflicts the keys both sides changed differently, with iterations given as {@code subflow[uuid]} and their keys
+     *                  as {@code subflow[uuid].key}
+     * @param <V>       the type of the map's values
+     */
+    record Result<V>(Map<String, V> merged, Set<String> conflicts) {
+
+        /**
+         * Whether both sides changed something differently.
+         *
+         * @return true if the merge has conflicts
+         */
+        boolean hasConflicts() {
+            return !conflicts.isEmpty();
+        }
+    }
+
+    /**
+     * Merges our and their changes to the base map.
+     *
+     * @param base   the map both changes were made from, not null
+     * @param ours   the map with our changes, not null
+     * @param theirs the map with their changes, not null
+     * @param <V>    the type of the maps' values
+     * @return the merged map, and the keys both sides changed differently
+     */
+    static <V> Result<V> merge(Map<String, V> base, Map<String, V> ours, Map<String, V> theirs) {
+        Map<String, Object> merged = new HashMap<>();
+        Set<String> conflicts = new LinkedHashSet<>();
+        mergeMaps("", base, ours, theirs, merged, conflicts);
+        return new Result<>((Map<String, V>) (Map<String, ?>) merged, conflicts);
+    }
+
+    private static void mergeMaps(String prefix, Map<String, ?> base, Map<String, ?> ours, Map<String, ?> theirs,
+            Map<String, Object> merged, Set<String> conflicts) {
+        Set<String> keys = new LinkedHashSet<>(base.keySet());
+        keys.addAll(ours.keySet());
+        keys.addAll(theirs.keySet());
+
+        for (String key : keys) {
+            Object baseValue = valueOf(base, key);
+            Object ourValue = valueOf(ours, key);
+            Object theirValue = valueOf(theirs, key);
+
+            boolean weChanged = !Objects.equals(baseValue, ourValue);
+            boolean theyChanged = !Objects.equals(baseValue, theirValue);
+            Object value = weChanged ? ourValue : theirValue;
+            if (weChanged && theyChanged && !Objects.equals(ourValue, theirValue)) {
+                if (isSubflow(baseValue) && isSubflow(ourValue) && isSubflow(theirValue)) {
+                    value = mergeIterations(prefix + key, baseValue, ourValue, theirValue, conflicts);
+                } else {
+                    conflicts.add(prefix + key);
+                }
+            }
+
+            if (value != ABSENT) {
+                merged.put(key, value);
+            }
+        }
+    }
+
+    /**
+     * Merges two changed versions of a subflow by iteration uuid, keeping their iterations in order, followed by those only we
+     * added.
+     */
+    private static List<Object> mergeIterations(String subflow, Object base, Object ours, Object theirs,
+            Set<String> conflicts) {
+        Map<Object, Map<String, Object>> baseIterations = byUuid(base);
+        Map<Object, Map<String, Object>> ourIterations = byUuid(ours);
+        Map<Object, Map<String, Object>> theirIterations = byUuid(theirs);
+        Set<Object> uuids = new LinkedHashSet<>(theirIterations.keySet());
+        uuids.addAll(ourIterations.keySet());
+
+        List<Object> merged = new ArrayList<>(uuids.size());
+        for (Object uuid : uuids) {
+            String iteration = subflow + "[" + uuid + "]";
+            Map<String, Object> baseIteration = baseIterations.get(uuid);
+            Map<String, Object> ourIteration = ourIterations.get(uuid);
+            Map<String, Object> theirIteration = theirIterations.get(uuid);
+
+            if (ourIteration == null || theirIteration == null) {
+                Map<String, Object> kept = ourIteration != null ? ourIteration : theirIteration;
+                if (baseIteration == null) {
+                    // added by one side
+                    merged.add(kept);
+                } else if (!Objects.equals(baseIteration, kept)) {
+                    // deleted by one side, changed by the other
+                    conflicts.add(iteration);
+                }
+                continue;
+            }
+
+            Map<String, Object> mergedIteration = new HashMap<>();
+            mergeMaps(iteration + ".", baseIteration != null ? baseIteration : Map.of(), ourIteration, theirIteration,
+                    mergedIteration, conflicts);
+            merged.add(mergedIteration);
+        }
+        return merged;
+    }
+
+    /**
+     * Whether a value is a subflow, or absent: a list whose elements are all iterations with a uuid.
+     */
+    private static boolean isSubflow(Object value) {
+        if (value == ABSENT) {
+            return true;
+        }
+        if (!(value instanceof List<?> list)) {
+            return false;
+        }
+        Set<Object> uuids = new LinkedHashSet<>();
+        for (Object element : list) {
+            if (!(element instanceof Map<?, ?> iteration) || iteration.get(UUID_KEY) == null
+                    || !uuids.add(iteration.get(UUID_KEY))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<Object, Map<String, Object>> byUuid(Object subflow) {
+        Map<Object, Map<String, Object>> iterations = new LinkedHashMap<>();
+        if (subflow instanceof List<?> list) {
+            for (Object element : list) {
+                Map<String, Object> iteration = (Map<String, Object>) element;
+                iterations.put(iteration.get(UUID_KEY), iteration);
+            }
+        }
+        return iterations;
+    }
+
+    private static Object valueOf(Map<String, ?> map, String key) {
+        return map.containsKey(key) ? map.get(key) : ABSENT;
+    }
+}
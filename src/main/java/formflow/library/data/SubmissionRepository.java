@@ -1,8 +1,13 @@
 package formflow.library.data;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -14,4 +19,23 @@ public interface SubmissionRepository extends JpaRepository<Submission, UUID> {
     boolean existsByShortCode(String shortCode);
 
     Optional<Submission> findSubmissionByShortCode(String shortCode);
+
+    @Query("select s.shortCode from Submission s where s.shortCode in :shortCodes")
+    List<String> findShortCodesIn(Collection<String> shortCodes);
+
+    /**
+     * Sets the Submission's short code, unless it already has one. Fails with a
+     * {@link org.springframework.dao.DataIntegrityViolationException} if another Submission has the code.
+     *
+     * @param id        the id of the Submission
+     * @param shortCode the short code to set
+     * @return 1 if the short code was set, 0 if the Submission does not exist or already has a short code
+     */
+    @Modifying
+    @Query(value = "UPDATE submissions SET short_code = :shortCode, version = version + 1, updated_at = :updatedAt "
+            + "WHERE id = :id AND short_code IS NULL", nativeQuery = true)
+    int assignShortCode(UUID id, String shortCode, OffsetDateTime updatedAt);
+
+    @Query("select s.version from Submission s where s.id = :id")
+    long findVersionById(UUID id);
 }
@@ -1,22 +1,78 @@
 package formflow.library.data;
 
-import static formflow.library.config.submission.ShortCodeConfig.Config.ShortCodeType.alpha;
-import static formflow.library.config.submission.ShortCodeConfig.Config.ShortCodeType.alphanumeric;
-import static formflow.library.config.submission.ShortCodeConfig.Config.ShortCodeType.numeric;
+import static formflow.library.data.Submission.copyMap;
+import static formflow.library.data.Submission.copySubmission;
+import static formflow.library.data.Submission.copySubmissionWithInputData;
 
 import formflow.library.config.submission.ShortCodeConfig;
-import formflow.library.config.submission.ShortCodeConfig.Config.ShortCodeType;
+import io.hypersistence.utils.hibernate.type.util.ObjectMapperWrapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.StringJoiner;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.text.RandomStringGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service to retrieve and store {@link formflow.library.data.Submission} objects in the database.
+ *
+ * <p>
+ * Within a request that has begun a unit of work (see {@link #beginUnitOfWork()}), each Submission is loaded and decrypted at
+ * most once: looking the same id up again returns the instance already loaded in that request, or once the Submission has
+ * been saved, the instance as saved. Lookups served this way are counted by the {@code cache.gets} meter, tagged with {@code cache=formflow.submissions},
+ * and the number of database loads and writes made by each request are recorded by the {@code formflow.submission.loads} and
+ * {@code formflow.submission.writes} distribution summaries.
+ * </p>
+ *
+ * <p>
+ * When {@code form-flow.submission.partial-updates.enabled} is set, saving a previously loaded Submission whose only changes
+ * are to its input data updates just the changed jsonb paths, rather than rewriting the whole document. Saves with more than
+ * {@code form-flow.submission.partial-updates.max-changes} changed paths are written in full. Saves are counted by the
+ * {@code formflow.submission.saves} meter, tagged with {@code mode=partial} or {@code mode=full}.
+ * </p>
+ *
+ * <p>
+ * When {@code form-flow.submission.cache.enabled} is set, decrypted Submissions are also kept in a bounded cache shared by all
+ * requests, so loading one usually needs neither a query nor decryption. Saves evict the Submission from the caches of all
+ * nodes; see {@link SubmissionCacheInvalidationChannel}.
+ * </p>
+ *
+ * <p>
+ * Saves are checked against the Submission's version. When a save finds the Submission was saved by someone else since it was
+ * loaded, the two sets of changes are merged key by key, and subflows iteration by iteration, and the save is retried, up to
+ * {@code form-flow.submission.optimistic-lock.max-retries} times. When both saves changed the same key or iteration
+ * differently, the save fails with an {@link OptimisticLockingFailureException} instead. Such conflicts are counted by the
+ * {@code formflow.submission.conflicts} meter, tagged with {@code resolution=merged}, {@code resolution=conflicting} when both
+ * saves changed the same key, or {@code resolution=failed} when the retries ran out.
+ * </p>
+ *
+ * <p>
+ * To work out what a save changed, each Submission keeps a snapshot of itself as last loaded or saved. Snapshots are never
+ * changed once taken, so they are shared rather than copied where possible: with the shared cache, and with the Submission
+ * read back from a full save, and a partial update only copies the keys it wrote.
+ * </p>
  */
 @Service
 @Transactional
@@ -29,39 +85,301 @@ public class SubmissionRepositoryService {
 
     ShortCodeConfig shortCodeConfig;
 
+    private final SubmissionCache submissionCache;
+
+    private final ShortCodeAllocator shortCodeAllocator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${form-flow.submission.partial-updates.enabled:false}")
+    private boolean partialUpdatesEnabled;
+
+    @Value("${form-flow.submission.partial-updates.max-changes:20}")
+    private int partialUpdatesMaxChanges;
+
+    @Value("${form-flow.submission.optimistic-lock.max-retries:3}")
+    private int optimisticLockMaxRetries;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter partialSaves;
+    private final Counter fullSaves;
+    private final Counter mergedConflicts;
+    private final Counter conflictingConflicts;
+    private final Counter failedConflicts;
+    private final Counter unitOfWorkHits;
+    private final Counter unitOfWorkMisses;
+    private final DistributionSummary loadsPerRequest;
+    private final DistributionSummary writesPerRequest;
+
     public SubmissionRepositoryService(SubmissionRepository repository, SubmissionEncryptionService encryptionService,
-            ShortCodeConfig shortCodeConfig) {
+            ShortCodeConfig shortCodeConfig, SubmissionCache submissionCache, ShortCodeAllocator shortCodeAllocator,
+            PlatformTransactionManager transactionManager, ObjectProvider<MeterRegistry> meterRegistryProvider) {
         this.repository = repository;
         this.encryptionService = encryptionService;
         this.shortCodeConfig = shortCodeConfig;
-    }
+        this.submissionCache = submissionCache;
+        this.shortCodeAllocator = shortCodeAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
 
-    private static String generateRandomCode(int length, ShortCodeType type) {
-        RandomStringGenerator.Builder builder = RandomStringGenerator.builder().withinRange('0', 'z');
-
-        builder = switch (type) {
-            case alphanumeric -> builder.filteredBy(Character::isLetterOrDigit);
-            case alpha -> builder.filteredBy(Character::isLetter);
-            case numeric -> builder.filteredBy(Character::isDigit);
-        };
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        this.unitOfWorkHits = Counter.builder("cache.gets").tag("cache", "formflow.submissions").tag("result", "hit")
+                .description("Submission lookups served by the request's unit of work").register(meterRegistry);
+        this.unitOfWorkMisses = Counter.builder("cache.gets").tag("cache", "formflow.submissions").tag("result", "miss")
+                .description("Submission lookups which had to go to the database").register(meterRegistry);
+        this.partialSaves = Counter.builder("formflow.submission.saves").tag("mode", "partial")
+                .description("Submission saves which updated only the changed parts of the input data").register(meterRegistry);
+        this.fullSaves = Counter.builder("formflow.submission.saves").tag("mode", "full")
+                .description("Submission saves which wrote the whole Submission").register(meterRegistry);
+        this.mergedConflicts = conflictCounter("merged", meterRegistry);
+        this.conflictingConflicts = conflictCounter("conflicting", meterRegistry);
+        this.failedConflicts = conflictCounter("failed", meterRegistry);
+        this.loadsPerRequest = DistributionSummary.builder("formflow.submission.loads")
+                .description("Submissions loaded from the database per request").register(meterRegistry);
+        this.writesPerRequest = DistributionSummary.builder("formflow.submission.writes")
+                .description("Submissions written to the database per request").register(meterRegistry);
+    }
 
-        return builder.get().generate(length);
+    private static Counter conflictCounter(String resolution, MeterRegistry meterRegistry) {
+        return Counter.builder("formflow.submission.conflicts").tag("resolution", resolution)
+                .description("Saves which found the Submission had been saved since it was loaded").register(meterRegistry);
     }
 
     /**
      * Saves the Submission in the database.
      *
+     * <p>
+     * If the Submission has not changed since it was loaded or last saved, nothing is written and the Submission is returned
+     * as is. This makes repeated saves of the same Submission within a request free after the first one that carries changes.
+     * </p>
+     *
+     * <p>
+     * If the Submission was saved by someone else since it was loaded, their changes are merged into the given Submission and
+     * the save is retried. This is not possible when called within a transaction, which the conflict has already failed; the
+     * {@link OptimisticLockingFailureException} is thrown instead.
+     * </p>
+     *
      * @param submission the {@link formflow.library.data.Submission} to save, not null
      * @return the saved {@link formflow.library.data.Submission}
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Submission save(Submission submission) {
         var newRecord = submission.getId() == null;
-        Submission savedSubmission = repository.save(encryptionService.encrypt(submission));
+        boolean canRetry = !newRecord && !TransactionSynchronizationManager.isActualTransactionActive();
+        for (int attempt = 0; ; attempt++) {
+            byte[] fingerprint = SubmissionFingerprint.of(submission);
+            if (!newRecord && Arrays.equals(fingerprint, submission.getPersistedFingerprint())) {
+                log.debug("Submission {} is unchanged, skipping save", submission.getId());
+                return submission;
+            }
+
+            try {
+                return transactionTemplate.execute(status -> write(submission, newRecord, fingerprint));
+            } catch (OptimisticLockingFailureException e) {
+                if (!canRetry || attempt >= optimisticLockMaxRetries) {
+                    failedConflicts.increment();
+                    throw e;
+                }
+                log.info("Submission {} was saved concurrently, merging and retrying", submission.getId());
+                mergeWithPersisted(submission, e);
+            }
+        }
+    }
+
+    private Submission write(Submission submission, boolean newRecord, byte[] fingerprint) {
+        if (!newRecord && partialUpdatesEnabled && savePartially(submission)) {
+            submission.setPersistedFingerprint(fingerprint);
+            partialSaves.increment();
+            return submission;
+        }
+
+        // flushed so that the version and timestamps are set before they are read back below
+        Submission savedSubmission = repository.saveAndFlush(encryptionService.encrypt(submission));
+        fullSaves.increment();
         if (newRecord) {
             log.info("created submission id: " + savedSubmission.getId());
         }
         // straight from the db will be encrypted, so decrypt first.
-        return encryptionService.decrypt(savedSubmission);
+        Submission decryptedSubmission = encryptionService.decrypt(savedSubmission);
+        submission.setId(decryptedSubmission.getId());
+        submission.setVersion(decryptedSubmission.getVersion());
+        submission.setDataKey(decryptedSubmission.getDataKey());
+        submission.setCreatedAt(decryptedSubmission.getCreatedAt());
+        submission.setUpdatedAt(decryptedSubmission.getUpdatedAt());
+        submission.setPersistedFingerprint(fingerprint);
+        // a merged entity holds a copy of the saved state, which serves as the snapshot as is; a persisted one is the
+        // Submission itself, or shares its maps
+        boolean sharesState = newRecord || savedSubmission == submission || decryptedSubmission == submission;
+        submission.setPersistedSnapshot(sharesState ? copySubmission(decryptedSubmission) : decryptedSubmission);
+
+        written(submission.getId(), submission);
+        return submission;
+    }
+
+    /**
+     * Merges the changes made to the Submission since it was loaded with the changes saved by someone else in the meantime,
+     * leaving the Submission ready to be saved again.
+     *
+     * @param submission the Submission whose save failed
+     * @param conflict   the failure, thrown on if the Submission no longer exists or both saves changed the same value
+     */
+    private void mergeWithPersisted(Submission submission, OptimisticLockingFailureException conflict) {
+        Submission theirs = repository.findById(submission.getId()).map(encryptionService::decrypt).orElseThrow(() -> conflict);
+        Submission base = submission.getPersistedSnapshot() != null ? submission.getPersistedSnapshot() : new Submission();
+
+        SubmissionMerge.Result<Object> inputData = SubmissionMerge.merge(base.getInputData(), submission.getInputData(),
+                theirs.getInputData());
+        SubmissionMerge.Result<String> urlParams = SubmissionMerge.merge(base.getUrlParams(), submission.getUrlParams(),
+                theirs.getUrlParams());
+        if (inputData.hasConflicts() || urlParams.hasConflicts()) {
+            log.warn("Submission {} was saved concurrently with different values for {}, not saving it",
+                    submission.getId(), inputData.hasConflicts() ? inputData.conflicts() : urlParams.conflicts());
+            conflictingConflicts.increment();
+            throw conflict;
+        }
+        mergedConflicts.increment();
+
+        submission.setInputData(inputData.merged());
+        submission.setUrlParams(urlParams.merged());
+        if (Objects.equals(base.getSubmittedAt(), submission.getSubmittedAt())) {
+            submission.setSubmittedAt(theirs.getSubmittedAt());
+        }
+        if (submission.getShortCode() == null && theirs.getShortCode() != null) {
+            submission.setShortCode(theirs.getShortCode());
+        }
+        submission.setVersion(theirs.getVersion());
+        submission.setDataKey(theirs.getDataKey());
+        submission.setCreatedAt(theirs.getCreatedAt());
+        submission.setUpdatedAt(theirs.getUpdatedAt());
+        submission.setPersistedFingerprint(SubmissionFingerprint.of(theirs));
+        submission.setPersistedSnapshot(copySubmission(theirs));
+    }
+
+    /**
+     * Updates only the changed paths of the Submission's input data, if that is possible.
+     *
+     * @param submission the Submission to save, which has been saved before
+     * @return true if the Submission was saved, false if it needs to be written in full
+     */
+    private boolean savePartially(Submission submission) {
+        Submission snapshot = submission.getPersistedSnapshot();
+        if (snapshot == null || entityManager.contains(submission)
+                || !Objects.equals(snapshot.getFlow(), submission.getFlow())
+                || !Objects.equals(snapshot.getUrlParams(), submission.getUrlParams())
+                || !Objects.equals(snapshot.getSubmittedAt(), submission.getSubmittedAt())
+                || !Objects.equals(snapshot.getShortCode(), submission.getShortCode())) {
+            return false;
+        }
+
+        InputDataPatch patch = InputDataPatch.between(snapshot.getInputData(), submission.getInputData());
+        if (patch.size() > partialUpdatesMaxChanges) {
+            log.debug("Submission {} has {} changes, saving it in full", submission.getId(), patch.size());
+            return false;
+        }
+
+        if (encryptionService.storesEncryptedFieldsTogether()
+                && patch.changesAnyOf(encryptionService.getEncryptionPlan(submission.getFlow()).encryptedNames().keySet())) {
+            // the changed fields are stored in one value together with the unchanged ones
+            return false;
+        }
+
+        Submission storedSubmission = encryptionService.encrypt(submission);
+        if (!Objects.equals(storedSubmission.getDataKey(), snapshot.getDataKey())) {
+            // encrypted with a new data key, which every encrypted field has to be rewritten with
+            return false;
+        }
+
+        Map<String, Object> storedInputData = storedSubmission.getInputData();
+        InputDataPatch storedPatch = patch.toStoredForm(storedInputData, encryptionService.ENCRYPT_SUFFIX);
+
+        OffsetDateTime updatedAt = OffsetDateTime.now();
+        if (updateInputData(submission.getId(), submission.getVersion(), storedPatch, updatedAt) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Submission.class, submission.getId());
+        }
+
+        submission.setVersion(submission.getVersion() + 1);
+        submission.setUpdatedAt(updatedAt);
+        submission.setPersistedSnapshot(advanceSnapshot(snapshot, submission, patch));
+        written(submission.getId(), submission);
+        return true;
+    }
+
+    /**
+     * Takes the snapshot of a Submission after a partial update from the one before it, copying only the top level keys the
+     * update changed and sharing the rest.
+     */
+    private static Submission advanceSnapshot(Submission snapshot, Submission submission, InputDataPatch patch) {
+        Map<String, Object> changed = new HashMap<>();
+        for (InputDataPatch.Change change : patch.getChanges()) {
+            String key = (String) change.path().getFirst();
+            if (submission.getInputData().containsKey(key)) {
+                changed.put(key, submission.getInputData().get(key));
+            }
+        }
+        Map<String, Object> inputData = new HashMap<>(snapshot.getInputData());
+        patch.getChanges().forEach(change -> inputData.remove((String) change.path().getFirst()));
+        inputData.putAll(copyMap(changed));
+
+        Submission advanced = copySubmissionWithInputData(snapshot, inputData);
+        advanced.setVersion(submission.getVersion());
+        advanced.setUpdatedAt(submission.getUpdatedAt());
+        return advanced;
+    }
+
+    /**
+     * Records a write of a Submission, evicting it from the shared cache.
+     *
+     * @param id    the id of the Submission that was written
+     * @param saved the decrypted Submission as written, to serve the request's later lookups of it, or null if the written
+     *              values are not held in memory
+     */
+    private void written(UUID id, Submission saved) {
+        SubmissionUnitOfWork unitOfWork = currentUnitOfWork();
+        if (unitOfWork != null) {
+            unitOfWork.written(id, saved);
+        }
+        submissionCache.evict(id);
+    }
+
+    /**
+     * Applies the changes to the stored input data with {@code jsonb_set} and {@code #-}, one nested call per change.
+     *
+     * @return the number of rows updated, 0 if the Submission is not at the given version
+     */
+    private int updateInputData(UUID id, long version, InputDataPatch patch, OffsetDateTime updatedAt) {
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder inputData = new StringBuilder("input_data");
+        for (InputDataPatch.Change change : patch.getChanges()) {
+            String path = pathParameter(change.path(), parameters);
+            if (change.remove()) {
+                inputData.insert(0, "(").append(" #- ").append(path).append(")");
+            } else {
+                parameters.add(ObjectMapperWrapper.INSTANCE.toString(change.value()));
+                inputData.insert(0, "jsonb_set(").append(", ").append(path)
+                        .append(", CAST(?").append(parameters.size()).append(" AS jsonb), true)");
+            }
+        }
+        parameters.add(updatedAt);
+        parameters.add(id);
+        parameters.add(version);
+
+        Query query = entityManager.createNativeQuery("UPDATE submissions SET input_data = " + inputData
+                + ", updated_at = ?" + (parameters.size() - 2) + ", version = version + 1"
+                + " WHERE id = ?" + (parameters.size() - 1) + " AND version = ?" + parameters.size());
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        return query.executeUpdate();
+    }
+
+    private static String pathParameter(List<Object> path, List<Object> parameters) {
+        StringJoiner elements = new StringJoiner(", ", "ARRAY[", "]");
+        for (Object segment : path) {
+            parameters.add(segment.toString());
+            elements.add("CAST(?" + parameters.size() + " AS text)");
+        }
+        return elements.toString();
     }
 
     /**
@@ -71,13 +389,71 @@ public class SubmissionRepositoryService {
      * @return Optional containing Submission if found, else empty
      */
     public Optional<Submission> findById(UUID id) {
+        SubmissionUnitOfWork unitOfWork = currentUnitOfWork();
+        if (unitOfWork != null) {
+            Submission submission = unitOfWork.get(id);
+            if (submission != null) {
+                unitOfWorkHits.increment();
+                return Optional.of(submission);
+            }
+            unitOfWorkMisses.increment();
+        }
+
+        Submission cachedSubmission = submissionCache.get(id);
+        if (cachedSubmission != null) {
+            Submission submission = copyOfPersisted(cachedSubmission);
+            return Optional.of(unitOfWork != null ? unitOfWork.loaded(submission) : submission);
+        }
+
+        long cacheGeneration = submissionCache.generation();
         Optional<Submission> submission = repository.findById(id);
-        return submission.map(value -> encryptionService.decrypt(value));
+        return submission.map(value -> decryptLoadedSubmission(value, unitOfWork, cacheGeneration));
     }
 
     public Optional<Submission> findByShortCode(String shortCode) {
+        long cacheGeneration = submissionCache.generation();
         Optional<Submission> submission = repository.findSubmissionByShortCode(shortCode);
-        return submission.map(value -> encryptionService.decrypt(value));
+        return submission.map(value -> decryptLoadedSubmission(value, currentUnitOfWork(), cacheGeneration));
+    }
+
+    private Submission decryptLoadedSubmission(Submission submission, SubmissionUnitOfWork unitOfWork, long cacheGeneration) {
+        if (unitOfWork != null && unitOfWork.get(submission.getId()) != null) {
+            // already loaded in this request, don't decrypt it again
+            return unitOfWork.loaded(submission);
+        }
+
+        Submission decryptedSubmission = encryptionService.decrypt(submission);
+        decryptedSubmission.setPersistedFingerprint(SubmissionFingerprint.of(decryptedSubmission));
+        // an untouched copy, to cache and to compare against on save
+        Submission persisted = copySubmission(decryptedSubmission);
+        persisted.setPersistedFingerprint(decryptedSubmission.getPersistedFingerprint());
+        decryptedSubmission.setPersistedSnapshot(persisted);
+        submissionCache.put(persisted, cacheGeneration);
+        return unitOfWork != null ? unitOfWork.loaded(decryptedSubmission) : decryptedSubmission;
+    }
+
+    /**
+     * Copies a Submission held as it was persisted, so the copy can be handed out and changed.
+     */
+    private Submission copyOfPersisted(Submission persisted) {
+        Submission submission = copySubmission(persisted);
+        submission.setPersistedFingerprint(persisted.getPersistedFingerprint());
+        submission.setPersistedSnapshot(persisted);
+        return submission;
+    }
+
+    /**
+     * Begins a unit of work for the current request, so that Submissions it looks up more than once are only loaded once.
+     * <p>
+     * Does nothing when called outside a request, or when the request has already begun one.
+     * </p>
+     */
+    public void beginUnitOfWork() {
+        SubmissionUnitOfWork.begin(loadsPerRequest, writesPerRequest);
+    }
+
+    private SubmissionUnitOfWork currentUnitOfWork() {
+        return SubmissionUnitOfWork.current();
     }
 
     /**
@@ -124,13 +500,17 @@ public class SubmissionRepositoryService {
      * <p>
      * suffix (default = null)
      * <p>
-     * This method will check if the generated code exists in the database, and keep trying to create a unique code, before
-     * persisting and returning the newly generated code-- therefore it is very important to ensure the configuration allows for a
-     * suitably large set of possible codes for the application.
+     * pool size (default = 0)
+     * <p>
+     * The code is set directly on the submission's row, and the unique constraint on short codes rejects a code that is already
+     * in use, in which case another code is tried. The submission is saved first if it is new. It is very important to ensure the
+     * configuration allows for a suitably large set of possible codes for the application; if no unused code is found after
+     * many attempts, an {@link IllegalStateException} is thrown.
      *
      * @param submission the {@link formflow.library.ScreenController} for which the short code will be generated and saved
      */
-    public synchronized void generateAndSetUniqueShortCode(Submission submission) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void generateAndSetUniqueShortCode(Submission submission) {
 
         if (submission.getShortCode() != null) {
             log.debug("Unable to create short code for submission {} because one already exists.", submission.getId());
@@ -145,37 +525,36 @@ public class SubmissionRepositoryService {
             return;
         }
 
-        // If there is no short code for this submission in the database, generate one
-        int codeLength = config.getCodeLength();
-        do {
-            String newCode = switch (config.getCodeType()) {
-                case alphanumeric -> generateRandomCode(codeLength, alphanumeric);
-                case alpha -> generateRandomCode(codeLength, alpha);
-                case numeric -> generateRandomCode(codeLength, numeric);
-            };
-
-            if (config.isUppercase()) {
-                newCode = newCode.toUpperCase();
-            }
-
-            if (config.getPrefix() != null) {
-                newCode = config.getPrefix() + newCode;
-            }
-
-            if (config.getSuffix() != null) {
-                newCode = newCode + config.getSuffix();
-            }
+        if (submission.getId() == null) {
+            // the row has to be committed before codes can be set on it, each in a transaction of its own
+            Submission savedSubmission = save(submission);
+            submission.setId(savedSubmission.getId());
+            submission.setCreatedAt(savedSubmission.getCreatedAt());
+            submission.setUpdatedAt(savedSubmission.getUpdatedAt());
+        }
+        UUID id = submission.getId();
+        ShortCodeAllocator.Allocation allocation = shortCodeAllocator.allocate(id, submission.getFlow(), config);
+        if (allocation == null) {
+            log.error("Unable to create short code for submission {} because it does not exist", id);
+            return;
+        }
 
-            boolean exists = repository.existsByShortCode(newCode);
-            if (!exists) {
-                // If the newly generated code isn't already in the database being used by a prior submission
-                // set this submission's shortcode, and persist it
-                submission.setShortCode(newCode);
-                save(submission);
-                log.info("Created short code {} for submission {}", newCode, submission.getId());
-            } else {
-                log.warn("Confirmation code {} already exists", newCode);
-            }
-        } while (submission.getShortCode() == null);
+        submission.setShortCode(allocation.shortCode());
+        Submission snapshot = submission.getPersistedSnapshot();
+        if (snapshot != null && allocation.version() == submission.getVersion() + 1) {
+            // nothing else was saved in between, so the submission is still up to date apart from its short code
+            Submission persisted = copySubmissionWithInputData(snapshot, snapshot.getInputData());
+            persisted.setShortCode(allocation.shortCode());
+            persisted.setVersion(allocation.version());
+            persisted.setUpdatedAt(allocation.updatedAt());
+            submission.setVersion(allocation.version());
+            submission.setUpdatedAt(allocation.updatedAt());
+            submission.setPersistedSnapshot(persisted);
+            submission.setPersistedFingerprint(SubmissionFingerprint.of(persisted));
+            written(id, submission);
+        } else {
+            written(id, null);
+        }
+        log.info("Created short code {} for submission {}", allocation.shortCode(), id);
     }
 }
@@ -0,0 +1,93 @@
+package formflow.library.data;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Tracks the Submissions loaded and written during a single request, once a unit of work has been started for it.
+ *
+ * <p>
+ * Each Submission is loaded from the database and decrypted at most once per request: later lookups of the same id are
+ * served the same decrypted instance. Writing a Submission replaces it with the instance as written, carrying the version and
+ * timestamps of the write, so lookups after a save are not loaded and decrypted again either. When the request completes, the
+ * number of database loads and writes it made are recorded.
+ * </p>
+ */
+final class SubmissionUnitOfWork {
+
+    private static final String REQUEST_ATTRIBUTE = SubmissionUnitOfWork.class.getName();
+
+    private final Map<UUID, Submission> submissions = new HashMap<>();
+    private int loads;
+    private int writes;
+
+    private SubmissionUnitOfWork() {
+    }
+
+    /**
+     * Starts a unit of work for the current request, if one has not been started already.
+     *
+     * @param loadsPerRequest  summary to record the request's number of loads to when it completes
+     * @param writesPerRequest summary to record the request's number of writes to when it completes
+     */
+    static void begin(DistributionSummary loadsPerRequest, DistributionSummary writesPerRequest) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null || current() != null) {
+            return;
+        }
+
+        SubmissionUnitOfWork unitOfWork = new SubmissionUnitOfWork();
+        requestAttributes.setAttribute(REQUEST_ATTRIBUTE, unitOfWork, RequestAttributes.SCOPE_REQUEST);
+        requestAttributes.registerDestructionCallback(REQUEST_ATTRIBUTE, () -> {
+            loadsPerRequest.record(unitOfWork.loads);
+            writesPerRequest.record(unitOfWork.writes);
+        }, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Gets the unit of work started for the current request.
+     *
+     * @return the current request's unit of work, or null when none was started
+     */
+    static SubmissionUnitOfWork current() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        return (SubmissionUnitOfWork) requestAttributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    Submission get(UUID id) {
+        return submissions.get(id);
+    }
+
+    /**
+     * Records a Submission loaded from the database, unless this request already holds that Submission.
+     *
+     * @param submission the decrypted Submission that was loaded
+     * @return the instance this request should use for the Submission
+     */
+    Submission loaded(Submission submission) {
+        loads++;
+        return submissions.computeIfAbsent(submission.getId(), id -> submission);
+    }
+
+    /**
+     * Records a Submission written to the database.
+     *
+     * @param id    the id of the Submission that was saved
+     * @param saved the decrypted Submission as saved, or null to have the next lookup load it from the database
+     */
+    void written(UUID id, Submission saved) {
+        writes++;
+        if (saved != null) {
+            submissions.put(id, saved);
+        } else {
+            submissions.remove(id);
+        }
+    }
+}
@@ -70,16 +70,15 @@ public class UserFile {
      * size, thumbnail and mime type) which we add to the session for persisting user file uploads when a user refreshes the page
      * or navigates away.
      *
-     * @param userFile          class representing the file the that was uploaded by the user
-     * @param thumbBase64String base64 encoded thumbnail of the file the user uploaded
-     * @return Hashmap representation of a user file that includes original file name, file size, thumbnail as base64 encoded
-     * string, and mime type.
+     * @param userFile     class representing the file the that was uploaded by the user
+     * @param thumbnailUrl the URL the thumbnail of the file the user uploaded is served from
+     * @return Hashmap representation of a user file that includes original file name, file size, thumbnail URL, and mime type.
      */
-    public static HashMap<String, String> createFileInfo(UserFile userFile, String thumbBase64String) {
+    public static HashMap<String, String> createFileInfo(UserFile userFile, String thumbnailUrl) {
         HashMap<String, String> fileInfo = new HashMap<>();
         fileInfo.put("originalFilename", userFile.getOriginalName());
         fileInfo.put("filesize", userFile.getFilesize().toString());
-        fileInfo.put("thumbnailUrl", thumbBase64String);
+        fileInfo.put("thumbnailUrl", thumbnailUrl);
         fileInfo.put("type", userFile.getMimeType());
         fileInfo.put("docTypeLabel", userFile.getDocTypeLabel());
         return fileInfo;
@@ -0,0 +1,74 @@
+package formflow.library.file;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The default {@link ThumbnailStore}, keeping thumbnails in the {@code user_file_thumbnails} table.
+ * <p>
+ * Recently used thumbnails are cached in memory, bounded by their total size in bytes, set with
+ * {@code form-flow.uploads.thumbnail-cache.max-weight}. The cache is published as the {@code formflow.thumbnails} cache
+ * metrics. A thumbnail's row is deleted along with its {@link formflow.library.data.UserFile}.
+ * </p>
+ */
+public class JdbcThumbnailStore implements ThumbnailStore {
+
+    private static final String NAME = "formflow.thumbnails";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<UUID, Thumbnail> cache;
+
+    /**
+     * Creates a thumbnail store.
+     *
+     * @param dataSource    the application's data source
+     * @param maxWeight     the most bytes of thumbnails to cache, or 0 to not cache them
+     * @param meterRegistry the registry to publish the cache metrics to
+     */
+    public JdbcThumbnailStore(DataSource dataSource, long maxWeight, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.cache = CacheBuilder.newBuilder().recordStats()
+                .maximumWeight(maxWeight)
+                .weigher((UUID fileId, Thumbnail thumbnail) -> thumbnail.data().length)
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    @Override
+    public void save(UUID fileId, Thumbnail thumbnail) {
+        jdbcTemplate.update("INSERT INTO user_file_thumbnails (file_id, content_type, data) VALUES (?, ?, ?) "
+                        + "ON CONFLICT (file_id) DO UPDATE SET content_type = excluded.content_type, data = excluded.data",
+                fileId, thumbnail.contentType(), thumbnail.data());
+        cache.put(fileId, thumbnail);
+    }
+
+    @Override
+    public Optional<Thumbnail> get(UUID fileId) {
+        Thumbnail thumbnail = cache.getIfPresent(fileId);
+        if (thumbnail != null) {
+            return Optional.of(thumbnail);
+        }
+
+        List<Thumbnail> stored = jdbcTemplate.query("SELECT content_type, data FROM user_file_thumbnails WHERE file_id = ?",
+                (resultSet, rowNum) -> new Thumbnail(resultSet.getString("content_type"), resultSet.getBytes("data")),
+                fileId);
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        cache.put(fileId, stored.getFirst());
+        return Optional.of(stored.getFirst());
+    }
+
+    @Override
+    public void delete(UUID fileId) {
+        cache.invalidate(fileId);
+        jdbcTemplate.update("DELETE FROM user_file_thumbnails WHERE file_id = ?", fileId);
+    }
+}
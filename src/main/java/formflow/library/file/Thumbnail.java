@@ -0,0 +1,46 @@
+package formflow.library.file;
+
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * The thumbnail of an uploaded file, as generated by the file upload widget.
+ *
+ * @param contentType the image's content type, for example {@code image/png}
+ * @param data        the image
+ */
+public record Thumbnail(String contentType, byte[] data) {
+
+    private static final String DATA_URL_PREFIX = "data:";
+    private static final String BASE64_MARKER = ";base64,";
+    /**
+     * The image types thumbnails are accepted in: those the file upload widget generates and its default icon. Types which can
+     * carry scripts, like SVG, are left out since thumbnails are served from the application's origin.
+     */
+    private static final Set<String> CONTENT_TYPES = Set.of("image/png", "image/jpeg", "image/gif", "image/webp", "image/bmp");
+
+    /**
+     * Parses a base64 encoded {@code data:} URL holding an image, as the file upload widget sends them.
+     *
+     * @param dataUrl the data URL
+     * @return the thumbnail, or null if the value is not a base64 encoded data URL of an accepted image type
+     */
+    public static Thumbnail fromDataUrl(String dataUrl) {
+        if (dataUrl == null || !dataUrl.startsWith(DATA_URL_PREFIX)) {
+            return null;
+        }
+        int marker = dataUrl.indexOf(BASE64_MARKER);
+        if (marker < 0) {
+            return null;
+        }
+        String contentType = dataUrl.substring(DATA_URL_PREFIX.length(), marker);
+        if (!CONTENT_TYPES.contains(contentType)) {
+            return null;
+        }
+        try {
+            return new Thumbnail(contentType, Base64.getDecoder().decode(dataUrl.substring(marker + BASE64_MARKER.length())));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package formflow.library.file;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Stores the thumbnails of uploaded files, so that they do not have to be kept in the session. The session's
+ * {@link formflow.library.utils.UserFileMap} only refers to a thumbnail by the URL it is served from.
+ * <p>
+ * The library provides {@link JdbcThumbnailStore}; applications can replace it by defining a bean of their own.
+ * </p>
+ */
+public interface ThumbnailStore {
+
+    /**
+     * Stores the thumbnail of an uploaded file, replacing any thumbnail stored for it before.
+     *
+     * @param fileId    the id of the {@link formflow.library.data.UserFile} the thumbnail belongs to
+     * @param thumbnail the thumbnail
+     */
+    void save(UUID fileId, Thumbnail thumbnail);
+
+    /**
+     * Gets the thumbnail of an uploaded file.
+     *
+     * @param fileId the id of the {@link formflow.library.data.UserFile}
+     * @return the thumbnail, or empty if none is stored for the file
+     */
+    Optional<Thumbnail> get(UUID fileId);
+
+    /**
+     * Removes the thumbnail of an uploaded file, if there is one.
+     *
+     * @param fileId the id of the {@link formflow.library.data.UserFile}
+     */
+    void delete(UUID fileId);
+}
@@ -0,0 +1,103 @@
+package formflow.library.inputs;
+
+import formflow.library.data.annotations.DynamicField;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * What a flow's inputs class says about its fields, worked out once so that validating a form does not need to look up the
+ * class and its fields' annotations again for every field posted.
+ */
+public final class InputSchema {
+
+    private static final List<Class<? extends Annotation>> REQUIRED_ANNOTATIONS = List.of(
+            NotNull.class,
+            NotEmpty.class,
+            NotBlank.class
+    );
+
+    private final Class<?> inputsClass;
+    private final Map<String, InputField> fields;
+    private final Set<String> requiredInputs;
+
+    private InputSchema(Class<?> inputsClass, Map<String, InputField> fields, Set<String> requiredInputs) {
+        this.inputsClass = inputsClass;
+        this.fields = fields;
+        this.requiredInputs = requiredInputs;
+    }
+
+    /**
+     * A field of a flow's inputs class.
+     *
+     * @param name            the field's name
+     * @param annotationNames the names of the field's annotation types
+     * @param required        whether the field has a {@code @NotNull}, {@code @NotEmpty} or {@code @NotBlank} annotation
+     * @param dynamic         whether the field has a {@link DynamicField} annotation
+     */
+    public record InputField(String name, Set<String> annotationNames, boolean required, boolean dynamic) {
+
+    }
+
+    /**
+     * Works out the schema of a flow's inputs class, from the fields declared in the class itself.
+     *
+     * @param inputsClass the flow's inputs class
+     * @return the schema
+     */
+    public static InputSchema compile(Class<?> inputsClass) {
+        Map<String, InputField> fields = new HashMap<>();
+        Set<String> requiredInputs = new HashSet<>();
+        for (Field field : inputsClass.getDeclaredFields()) {
+            Annotation[] annotations = field.getDeclaredAnnotations();
+            boolean required = Arrays.stream(annotations)
+                    .anyMatch(annotation -> REQUIRED_ANNOTATIONS.contains(annotation.annotationType()));
+            boolean dynamic = field.isAnnotationPresent(DynamicField.class);
+            Set<String> annotationNames = Arrays.stream(annotations)
+                    .map(annotation -> annotation.annotationType().getName())
+                    .collect(Collectors.toUnmodifiableSet());
+            fields.put(field.getName(), new InputField(field.getName(), annotationNames, required, dynamic));
+            if (required) {
+                requiredInputs.add(field.getName());
+            }
+        }
+        return new InputSchema(inputsClass, Map.copyOf(fields), Set.copyOf(requiredInputs));
+    }
+
+    /**
+     * Gets the flow's inputs class.
+     *
+     * @return the inputs class
+     */
+    public Class<?> getInputsClass() {
+        return inputsClass;
+    }
+
+    /**
+     * Gets a field of the flow's inputs class.
+     *
+     * @param name the name of the field
+     * @return the field, or null if the inputs class does not declare it
+     */
+    public InputField getField(String name) {
+        return fields.get(name);
+    }
+
+    /**
+     * Gets the names of the required fields.
+     *
+     * @return an unmodifiable set of the required fields
+     */
+    public Set<String> getRequiredInputs() {
+        return requiredInputs;
+    }
+}
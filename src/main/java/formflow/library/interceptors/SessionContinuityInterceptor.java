@@ -3,12 +3,12 @@ package formflow.library.interceptors;
 import formflow.library.FormFlowController;
 import formflow.library.ScreenController;
 import formflow.library.config.FlowConfiguration;
+import formflow.library.config.FlowRegistry;
 import formflow.library.exceptions.SessionExpiredException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
@@ -31,10 +31,10 @@ public class SessionContinuityInterceptor implements HandlerInterceptor, Ordered
 
     private static final String REDIRECT_URL = "/";
 
-    public List<FlowConfiguration> flowConfigurations;
+    public FlowRegistry flowRegistry;
 
-    public SessionContinuityInterceptor(List<FlowConfiguration> flowConfigurations) {
-        this.flowConfigurations = flowConfigurations;
+    public SessionContinuityInterceptor(FlowRegistry flowRegistry) {
+        this.flowRegistry = flowRegistry;
     }
 
     /**
@@ -53,10 +53,7 @@ public class SessionContinuityInterceptor implements HandlerInterceptor, Ordered
 
         HttpSession session = request.getSession(false);
 
-        FlowConfiguration flowConfiguration = flowConfigurations.stream()
-                .filter(fc -> fc.getName().equals(parsedUrl.get("flow")))
-                .findFirst()
-                .orElse(null);
+        FlowConfiguration flowConfiguration = flowRegistry.getFlowConfiguration(parsedUrl.get("flow"));
 
         if (flowConfiguration == null) {
             return true;
@@ -0,0 +1,40 @@
+package formflow.library.interceptors;
+
+import formflow.library.data.SubmissionRepositoryService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * This interceptor begins a Submission unit of work for each request, so that a Submission is loaded from the database at
+ * most once while the request is handled.
+ */
+public class SubmissionUnitOfWorkInterceptor implements HandlerInterceptor {
+
+    private final SubmissionRepositoryService submissionRepositoryService;
+
+    /**
+     * Default constructor for SubmissionUnitOfWorkInterceptor.
+     *
+     * @param submissionRepositoryService the service whose lookups are tracked by the unit of work
+     */
+    public SubmissionUnitOfWorkInterceptor(SubmissionRepositoryService submissionRepositoryService) {
+        this.submissionRepositoryService = submissionRepositoryService;
+    }
+
+    /**
+     * Begins the unit of work for the request.
+     *
+     * @param request  current HTTP request
+     * @param response current HTTP response
+     * @param handler  chosen handler to execute, for type and/or instance evaluation
+     * @return always true, so the request continues through the interceptor chain
+     */
+    @Override
+    public boolean preHandle(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
+            @NotNull Object handler) {
+        submissionRepositoryService.beginUnitOfWork();
+        return true;
+    }
+}
@@ -0,0 +1,130 @@
+package formflow.library.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes expired sessions in bounded batches, enabled with {@code form-flow.session.cleanup.enabled}.
+ *
+ * <p>
+ * Spring Session's own cleanup deletes all expired sessions in a single statement, which after a busy period can hold locks on
+ * many rows of the session tables for a long time. This job deletes them a batch of
+ * {@code form-flow.session.cleanup.batch-size} at a time, oldest first, by way of the index on {@code EXPIRY_TIME}
+ * ({@code spring_session_ix2}), committing each batch on its own. Their attributes are deleted along with them. Sessions which
+ * another node is deleting are skipped, so several nodes can run the job at once. The job runs every
+ * {@code form-flow.session.cleanup.interval}, and counts the sessions it deletes in {@code formflow.session.cleanup.deleted}.
+ * </p>
+ *
+ * <p>
+ * When it is enabled, Spring Session's own cleanup is turned off.
+ * </p>
+ */
+@Slf4j
+@Component
+class ExpiredSessionCleanup {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration interval;
+    private final String deleteQuery;
+    private final Counter deleted;
+
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    ExpiredSessionCleanup(DataSource dataSource,
+            @Value("${form-flow.session.cleanup.enabled:false}") boolean enabled,
+            @Value("${form-flow.session.cleanup.batch-size:500}") int batchSize,
+            @Value("${form-flow.session.cleanup.interval:1m}") Duration interval,
+            @Value("${spring.session.jdbc.table-name:SPRING_SESSION}") String tableName,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(dataSource, enabled, batchSize, interval, tableName,
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    ExpiredSessionCleanup(DataSource dataSource, boolean enabled, int batchSize, Duration interval, String tableName,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.deleteQuery = "DELETE FROM " + tableName + " WHERE PRIMARY_ID IN (SELECT PRIMARY_ID FROM " + tableName
+                + " WHERE EXPIRY_TIME < ? ORDER BY EXPIRY_TIME LIMIT ? FOR UPDATE SKIP LOCKED)";
+        this.deleted = Counter.builder("formflow.session.cleanup.deleted")
+                .description("Expired sessions deleted").register(meterRegistry);
+    }
+
+    /**
+     * Starts deleting expired sessions periodically, if enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "formflow-session-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::cleanUpQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops deleting expired sessions, after the current batch.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Deletes the sessions that have expired, a batch at a time.
+     *
+     * @return the number of sessions deleted
+     */
+    int cleanUp() {
+        long now = System.currentTimeMillis();
+        int total = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(deleteQuery, now, batchSize);
+            total += batch;
+            deleted.increment(batch);
+        } while (batch == batchSize && !Thread.currentThread().isInterrupted());
+
+        if (total > 0) {
+            log.info("Deleted {} expired sessions", total);
+        }
+        return total;
+    }
+
+    private void cleanUpQuietly() {
+        try {
+            cleanUp();
+        } catch (DataAccessException e) {
+            log.error("Unable to delete expired sessions", e);
+        }
+    }
+}
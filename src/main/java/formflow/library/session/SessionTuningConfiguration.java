@@ -0,0 +1,75 @@
+package formflow.library.session;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+
+/**
+ * Tunes how the JDBC session repository stores sessions: writing last access times behind when
+ * {@code form-flow.session.write-behind.enabled} is set, and handing the deletion of expired sessions to
+ * {@link ExpiredSessionCleanup} when {@code form-flow.session.cleanup.enabled} is set.
+ */
+@Configuration
+public class SessionTuningConfiguration {
+
+    /**
+     * Default constructor.
+     */
+    public SessionTuningConfiguration() {
+    }
+
+    /**
+     * Bean wrapping the JDBC session repository in a {@link WriteBehindSessionRepository}.
+     *
+     * @param dataSourceProvider    the application's data source
+     * @param tableName             the name of the session table
+     * @param flushInterval         how often to write the queued last access times
+     * @param meterRegistryProvider the registry to publish metrics to, if there is one
+     * @return the post processor wrapping the session repository
+     */
+    @Bean
+    @ConditionalOnProperty(name = "form-flow.session.write-behind.enabled", havingValue = "true")
+    public static BeanPostProcessor writeBehindSessionRepositoryPostProcessor(ObjectProvider<DataSource> dataSourceProvider,
+            @Value("${spring.session.jdbc.table-name:SPRING_SESSION}") String tableName,
+            @Value("${form-flow.session.write-behind.flush-interval:10s}") Duration flushInterval,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("form-flow.session.write-behind.flush-interval must be positive");
+        }
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof JdbcIndexedSessionRepository repository) {
+                    return new WriteBehindSessionRepository(repository, dataSourceProvider.getObject(), tableName,
+                            flushInterval, meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Bean turning off Spring Session's own deletion of expired sessions, which {@link ExpiredSessionCleanup} takes over. It
+     * runs after the customizer applying {@code spring.session.jdbc.cleanup-cron}.
+     *
+     * @return the customizer
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @ConditionalOnProperty(name = "form-flow.session.cleanup.enabled", havingValue = "true")
+    public SessionRepositoryCustomizer<JdbcIndexedSessionRepository> expiredSessionCleanupCustomizer() {
+        return repository -> repository.setCleanupCron(Scheduled.CRON_DISABLED);
+    }
+}
@@ -0,0 +1,238 @@
+package formflow.library.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+
+/**
+ * Wraps the JDBC session repository so that the time a session was last accessed is written behind, in batches, rather
+ * than on every request.
+ *
+ * <p>
+ * Spring Session sets a session's last access time on every request, which marks the session changed and makes saving it
+ * update its row, even when none of its attributes changed. The sessions handed out by this repository keep the last access
+ * time to themselves instead, and saving a session queues its last access time, which is written for all the sessions
+ * accessed since the last flush in a single batch, every {@code form-flow.session.write-behind.flush-interval}. Changed
+ * attributes are still saved straight away.
+ * </p>
+ *
+ * <p>
+ * The last access times stored may therefore be up to one flush interval behind, which is also how much earlier a session
+ * may expire when a node stops without flushing. The flush interval should be small compared to the session timeout.
+ * </p>
+ */
+@Slf4j
+class WriteBehindSessionRepository
+        implements FindByIndexNameSessionRepository<WriteBehindSessionRepository.WriteBehindSession>, DisposableBean {
+
+    private final FindByIndexNameSessionRepository<Session> delegate;
+    private final JdbcTemplate jdbcTemplate;
+    private final String updateQuery;
+    private final Map<String, PendingAccess> pending = new ConcurrentHashMap<>();
+    private final Counter flushed;
+    private final ScheduledExecutorService flusher;
+
+    @SuppressWarnings("unchecked")
+    WriteBehindSessionRepository(FindByIndexNameSessionRepository<? extends Session> delegate, DataSource dataSource,
+            String tableName, Duration flushInterval, MeterRegistry meterRegistry) {
+        // the delegate only ever gets back the sessions it handed out
+        this.delegate = (FindByIndexNameSessionRepository<Session>) delegate;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.updateQuery = "UPDATE " + tableName + " SET LAST_ACCESS_TIME = ?, EXPIRY_TIME = ? "
+                + "WHERE SESSION_ID = ? AND LAST_ACCESS_TIME < ?";
+        this.flushed = Counter.builder("formflow.session.last-access.writes")
+                .description("Session last access times written behind").register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "formflow-session-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public WriteBehindSession createSession() {
+        return new WriteBehindSession(delegate.createSession());
+    }
+
+    @Override
+    public void save(WriteBehindSession session) {
+        delegate.save(session.delegate);
+        if (session.lastAccessedTime.isAfter(session.delegate.getLastAccessedTime())) {
+            pending.merge(session.getId(), new PendingAccess(session.lastAccessedTime, session.getMaxInactiveInterval()),
+                    (queued, access) -> access.lastAccessedTime.isAfter(queued.lastAccessedTime) ? access : queued);
+        }
+    }
+
+    @Override
+    public WriteBehindSession findById(String id) {
+        Session session = delegate.findById(id);
+        return session != null ? wrap(session) : null;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        pending.remove(id);
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public Map<String, WriteBehindSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        Map<String, WriteBehindSession> sessions = new LinkedHashMap<>();
+        delegate.findByIndexNameAndIndexValue(indexName, indexValue).forEach((id, session) -> sessions.put(id, wrap(session)));
+        return sessions;
+    }
+
+    /**
+     * Writes the queued last access times.
+     *
+     * @return the number of sessions whose last access time was written
+     */
+    int flush() {
+        List<Object[]> updates = new ArrayList<>();
+        for (String id : pending.keySet()) {
+            PendingAccess access = pending.remove(id);
+            if (access != null) {
+                long lastAccessed = access.lastAccessedTime.toEpochMilli();
+                updates.add(new Object[]{lastAccessed, access.expiryTime(), id, lastAccessed});
+            }
+        }
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(updateQuery, updates);
+        flushed.increment(updates.size());
+        return updates.size();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (DataAccessException e) {
+            log.error("Unable to write session last access times", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        flusher.shutdown();
+        flushQuietly();
+        if (delegate instanceof DisposableBean disposableDelegate) {
+            disposableDelegate.destroy();
+        }
+    }
+
+    /**
+     * Wraps a loaded session, giving it the last access time queued for it if that is newer than the stored one.
+     */
+    private WriteBehindSession wrap(Session session) {
+        WriteBehindSession wrapped = new WriteBehindSession(session);
+        PendingAccess access = pending.get(session.getId());
+        if (access != null && access.lastAccessedTime.isAfter(wrapped.lastAccessedTime)) {
+            wrapped.lastAccessedTime = access.lastAccessedTime;
+        }
+        return wrapped;
+    }
+
+    private record PendingAccess(Instant lastAccessedTime, Duration maxInactiveInterval) {
+
+        long expiryTime() {
+            return maxInactiveInterval.isNegative() ? Long.MAX_VALUE
+                    : lastAccessedTime.plus(maxInactiveInterval).toEpochMilli();
+        }
+    }
+
+    /**
+     * A session handed out by {@link WriteBehindSessionRepository}, which keeps its last access time to itself.
+     */
+    static final class WriteBehindSession implements Session {
+
+        private final Session delegate;
+        private Instant lastAccessedTime;
+
+        private WriteBehindSession(Session delegate) {
+            this.delegate = delegate;
+            this.lastAccessedTime = delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return delegate.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            delegate.setAttribute(attributeName, attributeValue);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            delegate.removeAttribute(attributeName);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            this.lastAccessedTime = lastAccessedTime;
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return lastAccessedTime;
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            delegate.setMaxInactiveInterval(interval);
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            Duration maxInactiveInterval = getMaxInactiveInterval();
+            return !maxInactiveInterval.isNegative() && Instant.now().minus(maxInactiveInterval).isAfter(lastAccessedTime);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package formflow.library.utils;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The ids of the Submissions a session is working on, by flow, as kept in the session.
+ * <p>
+ * Sessions are serialized whenever they are stored, so this map serializes itself compactly: the flow names and the ids as
+ * two longs each, without the class descriptors and hash table layout a serialized {@link HashMap} carries.
+ * </p>
+ */
+public final class SessionSubmissionMap extends AbstractMap<String, UUID> implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, UUID> submissionIds = new HashMap<>();
+
+    /**
+     * Creates an empty map. Also used when deserializing.
+     */
+    public SessionSubmissionMap() {
+    }
+
+    /**
+     * Creates a map holding the given flows' Submission ids.
+     *
+     * @param submissionIds Submission ids by flow
+     */
+    public SessionSubmissionMap(Map<String, UUID> submissionIds) {
+        this.submissionIds.putAll(submissionIds);
+    }
+
+    @Override
+    public UUID get(Object flow) {
+        return submissionIds.get(flow);
+    }
+
+    @Override
+    public boolean containsKey(Object flow) {
+        return submissionIds.containsKey(flow);
+    }
+
+    @Override
+    public UUID put(String flow, UUID submissionId) {
+        return submissionIds.put(flow, submissionId);
+    }
+
+    @Override
+    public UUID remove(Object flow) {
+        return submissionIds.remove(flow);
+    }
+
+    @Override
+    public Set<Entry<String, UUID>> entrySet() {
+        return submissionIds.entrySet();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt(submissionIds.size());
+        for (Entry<String, UUID> entry : submissionIds.entrySet()) {
+            out.writeUTF(entry.getKey());
+            UUID submissionId = entry.getValue();
+            out.writeBoolean(submissionId != null);
+            if (submissionId != null) {
+                out.writeLong(submissionId.getMostSignificantBits());
+                out.writeLong(submissionId.getLeastSignificantBits());
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            String flow = in.readUTF();
+            submissionIds.put(flow, in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package formflow.library.utils;
 
 import formflow.library.data.UserFile;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -13,10 +18,16 @@ import lombok.extern.slf4j.Slf4j;
  * Warning: This class will be serialized and sent to the client side. Do not include sensitive information in here that would
  * then be shared with the client. Only include information that can be shared.
  * </p>
+ * <p>
+ * The map is kept in the session as it is, and serializes itself compactly when the session is stored: just the strings and
+ * the file ids as two longs each, without the class descriptors and hash table layout of serialized {@link HashMap}s.
+ * </p>
  */
 @Slf4j
 @Getter
-public class UserFileMap {
+public class UserFileMap implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
 
     // flow -> inputName -> fileId -> file info
     private Map<String, Map<String, Map<UUID, Map<String, String>>>> userFileMap;
@@ -31,10 +42,10 @@ public class UserFileMap {
      * @param flow         the flow the associate the file with
      * @param inputName    the name of the input the file was gathered through
      * @param userFile     the UserFile to add
-     * @param thumbDataUrl the base64 encoded thumbnail image of the file
+     * @param thumbnailUrl the URL the file's thumbnail is served from
      */
-    public void addUserFileToMap(String flow, String inputName, UserFile userFile, String thumbDataUrl) {
-        Map<String, String> fileInfo = UserFile.createFileInfo(userFile, thumbDataUrl);
+    public void addUserFileToMap(String flow, String inputName, UserFile userFile, String thumbnailUrl) {
+        Map<String, String> fileInfo = UserFile.createFileInfo(userFile, thumbnailUrl);
 
         if (!userFileMap.containsKey(flow)) {
             userFileMap.put(flow, new HashMap<>());
@@ -75,6 +86,18 @@ public class UserFileMap {
         }
     }
 
+    /**
+     * Checks whether a file is in the UserFileMap.
+     *
+     * @param flow   flow the file would be a part of
+     * @param fileId UUID of the file
+     * @return true if the file was uploaded to the flow through any of its inputs
+     */
+    public boolean containsFile(String flow, UUID fileId) {
+        Map<String, Map<UUID, Map<String, String>>> inputs = userFileMap.get(flow);
+        return inputs != null && inputs.values().stream().anyMatch(files -> files.containsKey(fileId));
+    }
+
     /**
      * Utility method to extract the file info map from the UserFileMap. The map maps a file's UUID to its file information. The
      * following information is in the map: 'originalFilename', 'filesize', 'thumbnailUrl', and 'type'.
@@ -92,4 +115,74 @@ public class UserFileMap {
         }
         return userFileMap.get(flow).get(inputName);
     }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt(userFileMap.size());
+        for (Map.Entry<String, Map<String, Map<UUID, Map<String, String>>>> flow : userFileMap.entrySet()) {
+            writeString(out, flow.getKey());
+            out.writeInt(flow.getValue().size());
+            for (Map.Entry<String, Map<UUID, Map<String, String>>> input : flow.getValue().entrySet()) {
+                writeString(out, input.getKey());
+                out.writeInt(input.getValue().size());
+                for (Map.Entry<UUID, Map<String, String>> file : input.getValue().entrySet()) {
+                    out.writeLong(file.getKey().getMostSignificantBits());
+                    out.writeLong(file.getKey().getLeastSignificantBits());
+                    out.writeInt(file.getValue().size());
+                    for (Map.Entry<String, String> fileInfo : file.getValue().entrySet()) {
+                        writeString(out, fileInfo.getKey());
+                        writeString(out, fileInfo.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        userFileMap = new HashMap<>();
+        int flows = in.readInt();
+        for (int i = 0; i < flows; i++) {
+            Map<String, Map<UUID, Map<String, String>>> inputs = new HashMap<>();
+            userFileMap.put(readString(in), inputs);
+            int inputCount = in.readInt();
+            for (int j = 0; j < inputCount; j++) {
+                Map<UUID, Map<String, String>> files = new HashMap<>();
+                inputs.put(readString(in), files);
+                int fileCount = in.readInt();
+                for (int k = 0; k < fileCount; k++) {
+                    UUID fileId = new UUID(in.readLong(), in.readLong());
+                    Map<String, String> fileInfo = new HashMap<>();
+                    int fileInfoCount = in.readInt();
+                    for (int l = 0; l < fileInfoCount; l++) {
+                        fileInfo.put(readString(in), readString(in));
+                    }
+                    files.put(fileId, fileInfo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a string which may be null, and may be longer than {@link ObjectOutput#writeUTF(String)} allows.
+     */
+    private static void writeString(ObjectOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ObjectInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,2 @@
+alter table submissions
+    add column data_key TEXT NULL;
@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS submission_key_rotation
+(
+    key_id                VARCHAR PRIMARY KEY,
+    last_submission_id    UUID                     NOT NULL,
+    failed_submission_ids UUID[]                   NOT NULL DEFAULT '{}',
+    completed_at          TIMESTAMP WITH TIME ZONE,
+    updated_at            TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS user_file_thumbnails
+(
+    file_id      UUID PRIMARY KEY REFERENCES user_files (file_id) ON DELETE CASCADE,
+    content_type VARCHAR                  NOT NULL,
+    data         BYTEA                    NOT NULL,
+    created_at   TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
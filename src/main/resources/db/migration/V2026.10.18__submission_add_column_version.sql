@@ -0,0 +1,2 @@
+alter table submissions
+    add column version BIGINT NOT NULL DEFAULT 0;
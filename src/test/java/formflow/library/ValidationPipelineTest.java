@@ -0,0 +1,127 @@
+package formflow.library;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import formflow.library.addressvalidation.AddressValidationService;
+import formflow.library.addressvalidation.ValidatedAddress;
+import formflow.library.config.ActionManager;
+import formflow.library.config.FlowConfiguration;
+import formflow.library.config.FlowRegistry;
+import formflow.library.config.ScreenNavigationConfiguration;
+import formflow.library.data.FormSubmission;
+import formflow.library.data.Submission;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ValidationPipelineTest {
+
+    private final ActionManager actionManager = mock(ActionManager.class);
+    private final AddressValidationService addressValidationService = mock(AddressValidationService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ValidatedAddress validatedAddress = new ValidatedAddress("880 N 8th St", "Apt 2", "Roswell", "NM",
+            "88201-1234");
+
+    private ValidationService validationService;
+    private ScreenNavigationConfiguration screen;
+    private Submission submission;
+    private ValidationPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        FlowConfiguration flowConfiguration = new FlowConfiguration();
+        flowConfiguration.setName("testFlow");
+        validationService = new ValidationService(Validation.buildDefaultValidatorFactory().getValidator(), actionManager,
+                new FlowRegistry(List.of(flowConfiguration)), "formflow.library.inputs.");
+        screen = new ScreenNavigationConfiguration();
+        screen.setName("testScreen");
+        screen.setCrossFieldValidationAction("crossFieldAction");
+        submission = Submission.builder().flow("testFlow").build();
+        when(actionManager.handleCrossFieldValidationAction(any(), any(), any()))
+                .thenReturn(Map.of("otherField", List.of("Cross-field error")));
+        when(addressValidationService.validate(any(), any())).thenReturn(Map.of("residentialAddress", validatedAddress));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void runsCrossFieldValidationWhenFieldValidationFailsByDefault() {
+        pipeline = new ValidationPipeline(validationService, addressValidationService, false, false, meterRegistry);
+
+        var result = pipeline.validate(screen, "testFlow", new FormSubmission(Map.of("firstName", "")), submission);
+
+        assertThat(result.errorMessages()).containsKeys("firstName", "otherField");
+        assertThat(meterRegistry.get("formflow.validation.stage").tag("stage", "cross-field").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shortCircuitSkipsCrossFieldValidationWhenFieldValidationFails() {
+        pipeline = new ValidationPipeline(validationService, addressValidationService, true, false, meterRegistry);
+
+        var result = pipeline.validate(screen, "testFlow", new FormSubmission(Map.of("firstName", "")), submission);
+
+        assertThat(result.errorMessages()).containsOnlyKeys("firstName");
+        verify(actionManager, never()).handleCrossFieldValidationAction(any(), any(), any());
+        assertThat(meterRegistry.get("formflow.validation.stage").tag("stage", "field").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("formflow.validation.stage").tag("stage", "cross-field").timer().count()).isZero();
+    }
+
+    @Test
+    void validatesAddressesOnlyWhenTheOtherStagesPass() {
+        when(actionManager.handleCrossFieldValidationAction(any(), any(), any())).thenReturn(Map.of());
+        pipeline = new ValidationPipeline(validationService, addressValidationService, false, false, meterRegistry);
+
+        var invalid = pipeline.validateWithAddresses(screen, "testFlow",
+                new FormSubmission(Map.of("firstName", "", "validate_residentialAddress", "true")), submission);
+        assertThat(invalid.hasErrors()).isTrue();
+        assertThat(invalid.validatedAddresses()).isNull();
+        verify(addressValidationService, never()).validate(any(), any());
+
+        var valid = pipeline.validateWithAddresses(screen, "testFlow",
+                new FormSubmission(Map.of("firstName", "Jane", "validate_residentialAddress", "true")), submission);
+        assertThat(valid.hasErrors()).isFalse();
+        assertThat(valid.validatedAddresses()).containsEntry("residentialAddress", validatedAddress);
+        assertThat(meterRegistry.get("formflow.validation.stage").tag("stage", "address").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentAddressValidationReturnsTheValidatedAddressesWhenValid() {
+        when(actionManager.handleCrossFieldValidationAction(any(), any(), any())).thenReturn(Map.of());
+        pipeline = new ValidationPipeline(validationService, addressValidationService, false, true, meterRegistry);
+
+        var valid = pipeline.validateWithAddresses(screen, "testFlow",
+                new FormSubmission(Map.of("firstName", "Jane", "validate_residentialAddress", "true")), submission);
+        assertThat(valid.validatedAddresses()).containsEntry("residentialAddress", validatedAddress);
+
+        var invalid = pipeline.validateWithAddresses(screen, "testFlow",
+                new FormSubmission(Map.of("firstName", "", "validate_residentialAddress", "true")), submission);
+        assertThat(invalid.errorMessages()).containsKey("firstName");
+        assertThat(invalid.validatedAddresses()).isNull();
+    }
+
+    @Test
+    void skipsAddressValidationWhenNoAddressesAreRequested() {
+        when(actionManager.handleCrossFieldValidationAction(any(), any(), any())).thenReturn(Map.of());
+        pipeline = new ValidationPipeline(validationService, addressValidationService, false, true, meterRegistry);
+
+        var result = pipeline.validateWithAddresses(screen, "testFlow",
+                new FormSubmission(Map.of("firstName", "Jane", "validate_residentialAddress", "false")), submission);
+
+        assertThat(result.validatedAddresses()).isNull();
+        verify(addressValidationService, never()).validate(any(), any());
+    }
+}
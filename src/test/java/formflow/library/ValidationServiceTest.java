@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 
 import formflow.library.config.ActionManager;
+import formflow.library.config.FlowConfiguration;
+import formflow.library.config.FlowRegistry;
 import formflow.library.config.ScreenNavigationConfiguration;
 import formflow.library.data.FormSubmission;
 import formflow.library.data.Submission;
@@ -36,7 +38,26 @@ class ValidationServiceTest {
                 .flow("testFlow")
                 .build();
         validator = Validation.buildDefaultValidatorFactory().getValidator();
-        validationService = new ValidationService(validator, actionManager, "formflow.library.inputs.");
+        FlowConfiguration flowConfiguration = new FlowConfiguration();
+        flowConfiguration.setName("testFlow");
+        validationService = new ValidationService(validator, actionManager, new FlowRegistry(List.of(flowConfiguration)),
+                "formflow.library.inputs.");
+    }
+
+    @Test
+    void getRequiredInputsForFlowReturnsOnlyTheFlowsRequiredInputs() {
+        assertThat(validationService.getRequiredInputsForFlow("testFlow"))
+                .contains("firstName", "dateFull", "favoriteFruitCheckbox")
+                .doesNotContain("textInput");
+        assertThat(validationService.getRequiredInputsForFlow("flowWithoutInputs")).isEmpty();
+    }
+
+    @Test
+    void getRequiredInputsKeepsTheRequiredInputsOfEachFlowMappedToTrue() {
+        assertThat(ValidationService.getRequiredInputs("testFlow").get("testFlow"))
+                .containsEntry("firstName", true)
+                .containsEntry("dateFull", true)
+                .doesNotContainKey("textInput");
     }
 
     @Test
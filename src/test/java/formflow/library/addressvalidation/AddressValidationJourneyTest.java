@@ -36,7 +36,7 @@ public class AddressValidationJourneyTest extends AbstractBasePageTest {
                         "validatedZipCode-1234"
                 ));
 
-        when(addressValidationService.validate(any())).thenReturn(goodValidatedAddress);
+        when(addressValidationService.validate(any(), any())).thenReturn(goodValidatedAddress);
 
         assertThat(testPage.getTitle()).isEqualTo("Enter Address");
         testPage.enter("validationOnStreetAddress1", "1111 N State St");
@@ -56,7 +56,7 @@ public class AddressValidationJourneyTest extends AbstractBasePageTest {
         Map<String, ValidatedAddress> badValidationAddress = new HashMap<>();
         badValidationAddress.put("validationOn", null);
 
-        when(addressValidationService.validate(any())).thenReturn(badValidationAddress);
+        when(addressValidationService.validate(any(), any())).thenReturn(badValidationAddress);
 
         testPage.enter("validationOnStreetAddress1", "1234 junk");
         testPage.enter("validationOnStreetAddress2", "Apt 2");
@@ -81,7 +81,7 @@ public class AddressValidationJourneyTest extends AbstractBasePageTest {
                         "validatedZipCode-1234"
                 ));
 
-        when(addressValidationService.validate(any())).thenReturn(goodValidatedAddress);
+        when(addressValidationService.validate(any(), any())).thenReturn(goodValidatedAddress);
 
         assertThat(testPage.getTitle()).isEqualTo("Enter Address (subflow)");
         testPage.enter("validationOnStreetAddress1", "1111 N State St");
@@ -101,7 +101,7 @@ public class AddressValidationJourneyTest extends AbstractBasePageTest {
         Map<String, ValidatedAddress> badValidationAddress = new HashMap<>();
         badValidationAddress.put("validationOn", null);
 
-        when(addressValidationService.validate(any())).thenReturn(badValidationAddress);
+        when(addressValidationService.validate(any(), any())).thenReturn(badValidationAddress);
 
         testPage.enter("validationOnStreetAddress1", "1234 junk");
         testPage.enter("validationOnStreetAddress2", "Apt 2");
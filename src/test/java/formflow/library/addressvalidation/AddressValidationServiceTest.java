@@ -71,7 +71,7 @@ class AddressValidationServiceTest {
         when(lookup.getResult(0)).thenReturn(candidate);
         batch.add(lookup);
 
-        when(validationRequestFactory.create(formSubmission)).thenReturn(batch);
+        when(validationRequestFactory.create(formSubmission, List.of())).thenReturn(batch);
 
         assertThat(addressValidationService.validate(formSubmission)).isEqualTo(Map.of(
                 "validatedInput",
@@ -101,7 +101,7 @@ class AddressValidationServiceTest {
         when(lookup.getInputId()).thenReturn("validatedInput");
         batch.add(lookup);
 
-        when(validationRequestFactory.create(formSubmission)).thenReturn(batch);
+        when(validationRequestFactory.create(formSubmission, List.of())).thenReturn(batch);
 
         var result = new HashMap<>();
         result.put("validatedInput", null);
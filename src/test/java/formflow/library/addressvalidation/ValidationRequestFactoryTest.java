@@ -5,6 +5,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 import com.smartystreets.api.us_street.Batch;
 import formflow.library.data.FormSubmission;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -54,4 +55,22 @@ class ValidationRequestFactoryTest {
         assertThat(batch.get("otherAddress").getState()).isEqualTo(secondState);
         assertThat(batch.get("otherAddress").getZipCode()).isEqualTo(secondZipcode);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCreateBatchForTheGivenAddressInputs() {
+        FormSubmission formSubmission = new FormSubmission(Map.ofEntries(
+                Map.entry("testAddressStreetAddress1", "123 Main St"),
+                Map.entry("testAddressStreetAddress2", "Apt 1"),
+                Map.entry("testAddressCity", "San Francisco"),
+                Map.entry("testAddressState", "CA"),
+                Map.entry("testAddressZipCode", "94105"),
+                Map.entry(UNVALIDATED_FIELD_MARKER_VALIDATE_ADDRESS + "testAddress", "true"),
+                Map.entry(UNVALIDATED_FIELD_MARKER_VALIDATE_ADDRESS + "otherAddress", "true")
+        ));
+
+        Batch batch = validationRequestFactory.create(formSubmission, List.of("testAddress"));
+
+        assertThat(batch.size()).isEqualTo(1);
+        assertThat(batch.get("testAddress").getStreet()).isEqualTo("123 Main St");
+    }
+}
@@ -0,0 +1,101 @@
+package formflow.library.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import formflow.library.config.submission.Condition;
+import formflow.library.data.Submission;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class ConditionManagerTest {
+
+    private final CountingCondition countingCondition = new CountingCondition();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConditionManager conditionManager = new ConditionManager(List.of(countingCondition), meterRegistry);
+    private final Submission submission = new Submission();
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldMemoizeResultsWithinARequest() {
+        conditionManager.runCondition("CountingCondition", submission);
+        conditionManager.runCondition(countingCondition, submission);
+        conditionManager.runCondition(countingCondition, submission, "subflow-uuid");
+        conditionManager.runCondition(countingCondition, submission, "subflow-uuid");
+        conditionManager.runCondition(countingCondition, submission, "subflow-uuid", "repeat-for-uuid");
+
+        assertThat(countingCondition.runs).isEqualTo(3);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRerunConditionAfterInputDataChanges() {
+        conditionManager.runCondition(countingCondition, submission);
+        submission.getInputData().put("firstName", "Testy");
+        submission.markInputDataChanged();
+        conditionManager.runCondition(countingCondition, submission);
+        submission.setInputData(submission.getInputData());
+        conditionManager.runCondition(countingCondition, submission);
+
+        assertThat(countingCondition.runs).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotShareResultsBetweenRequestsOrSubmissions() {
+        conditionManager.runCondition(countingCondition, submission);
+        conditionManager.runCondition(countingCondition, new Submission());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        conditionManager.runCondition(countingCondition, submission);
+
+        assertThat(countingCondition.runs).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotMemoizeOutsideOfARequest() {
+        RequestContextHolder.resetRequestAttributes();
+
+        conditionManager.runCondition(countingCondition, submission);
+        conditionManager.runCondition(countingCondition, submission);
+
+        assertThat(countingCondition.runs).isEqualTo(2);
+    }
+
+    static class CountingCondition implements Condition {
+
+        private int runs = 0;
+
+        @Override
+        public Boolean run(Submission submission) {
+            runs++;
+            return true;
+        }
+
+        @Override
+        public Boolean run(Submission submission, String subflowUuid) {
+            runs++;
+            return true;
+        }
+
+        @Override
+        public Boolean run(Submission submission, String subflowUuid, String repeatForUuid) {
+            runs++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package formflow.library.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import formflow.library.exceptions.FlowConfigurationException;
+import formflow.library.submission.conditions.TrueCondition;
+import formflow.library.submissions.actions.CalculateTotalBeforeSave;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class FlowConfigurationBinderTest {
+
+    private final TrueCondition trueCondition = new TrueCondition();
+    private final CalculateTotalBeforeSave calculateTotalBeforeSave = new CalculateTotalBeforeSave();
+    private final ConditionManager conditionManager = new ConditionManager(List.of(trueCondition),
+            new SimpleMeterRegistry());
+    private final ActionManager actionManager = new ActionManager(List.of(calculateTotalBeforeSave));
+
+    @Test
+    void shouldBindConditionsAndActionsToTheirBeans() {
+        ScreenNavigationConfiguration screen = screen("TrueCondition", "CalculateTotalBeforeSave", "TrueCondition");
+
+        new FlowConfigurationBinder(registryWith(screen), conditionManager, actionManager, true);
+
+        assertThat(screen.getResolvedCondition()).isSameAs(trueCondition);
+        assertThat(screen.getResolvedBeforeSaveAction()).isSameAs(calculateTotalBeforeSave);
+        assertThat(screen.getResolvedOnPostAction()).isNull();
+        assertThat(screen.getNextScreens().getFirst().getResolvedCondition()).isSameAs(trueCondition);
+    }
+
+    @Test
+    void shouldFailOnUnknownNames() {
+        ScreenNavigationConfiguration screen = screen("TrueConditoin", "CalculateTotalBeforeSav", null);
+        FlowRegistry flowRegistry = registryWith(screen);
+
+        assertThatThrownBy(() -> new FlowConfigurationBinder(flowRegistry, conditionManager, actionManager, true))
+                .isInstanceOf(FlowConfigurationException.class)
+                .hasMessageContaining("unknown Condition 'TrueConditoin' in flow 'testFlow', screen 'first'")
+                .hasMessageContaining("unknown Action 'CalculateTotalBeforeSav' in flow 'testFlow', screen 'first'");
+    }
+
+    @Test
+    void shouldLeaveUnknownNamesUnboundWhenNotFailingFast() {
+        ScreenNavigationConfiguration screen = screen("TrueCondition", null, "DoesNotExist");
+
+        new FlowConfigurationBinder(registryWith(screen), conditionManager, actionManager, false);
+
+        assertThat(screen.getResolvedCondition()).isSameAs(trueCondition);
+        assertThat(screen.getNextScreens().getFirst().getResolvedCondition()).isNull();
+    }
+
+    private static ScreenNavigationConfiguration screen(String condition, String beforeSaveAction, String nextScreenCondition) {
+        NextScreen nextScreen = new NextScreen();
+        nextScreen.setName("last");
+        nextScreen.setCondition(nextScreenCondition);
+
+        ScreenNavigationConfiguration screen = new ScreenNavigationConfiguration();
+        screen.setCondition(condition);
+        screen.setBeforeSaveAction(beforeSaveAction);
+        screen.setNextScreens(List.of(nextScreen));
+        return screen;
+    }
+
+    private static FlowRegistry registryWith(ScreenNavigationConfiguration screen) {
+        FlowConfiguration flowConfiguration = new FlowConfiguration();
+        flowConfiguration.setName("testFlow");
+        flowConfiguration.setFlow(Map.of("first", screen));
+        return new FlowRegistry(List.of(flowConfiguration));
+    }
+}
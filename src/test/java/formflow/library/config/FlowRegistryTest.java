@@ -0,0 +1,73 @@
+package formflow.library.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FlowRegistryTest {
+
+    private FlowRegistry flowRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        Map<String, ScreenNavigationConfiguration> screens = new HashMap<>();
+        screens.put("first", new ScreenNavigationConfiguration());
+        ScreenNavigationConfiguration householdMember = new ScreenNavigationConfiguration();
+        householdMember.setSubflow("household");
+        screens.put("householdMember", householdMember);
+
+        SubflowConfiguration household = new SubflowConfiguration();
+        household.setEntryScreen("householdEntry");
+        household.setIterationStartScreen("householdMember");
+        household.setReviewScreen("householdReview");
+        household.setDeleteConfirmationScreen("householdDeleteConfirmation");
+
+        FlowConfiguration flowConfiguration = new FlowConfiguration();
+        flowConfiguration.setName("testFlow");
+        flowConfiguration.setFlow(screens);
+        flowConfiguration.setSubflows(Map.of("household", household));
+
+        FlowConfiguration emptyFlowConfiguration = new FlowConfiguration();
+        emptyFlowConfiguration.setName("emptyFlow");
+
+        flowRegistry = new FlowRegistry(List.of(flowConfiguration, emptyFlowConfiguration));
+    }
+
+    @Test
+    void shouldLookUpFlowsAndScreens() {
+        assertThat(flowRegistry.flowExists("testFlow")).isTrue();
+        assertThat(flowRegistry.flowExists("doesNotExist")).isFalse();
+        assertThat(flowRegistry.flowExists(null)).isFalse();
+        assertThat(flowRegistry.getFlowConfiguration("testFlow").getName()).isEqualTo("testFlow");
+        assertThat(flowRegistry.getScreen("testFlow", "first").getName()).isEqualTo("first");
+        assertThat(flowRegistry.getScreen("testFlow", "doesNotExist")).isNull();
+        assertThat(flowRegistry.getScreen("doesNotExist", "first")).isNull();
+    }
+
+    @Test
+    void shouldIndexSubflowScreens() {
+        assertThat(flowRegistry.getSubflowNames("testFlow")).containsExactly("household");
+        assertThat(flowRegistry.getSubflowNameForScreen("testFlow", "householdMember")).isEqualTo("household");
+        assertThat(flowRegistry.getSubflowNameForScreen("testFlow", "first")).isNull();
+        assertThat(flowRegistry.isIterationStartScreen("testFlow", "householdMember")).isTrue();
+        assertThat(flowRegistry.isIterationStartScreen("testFlow", "first")).isFalse();
+        assertThat(flowRegistry.isDeleteConfirmationScreen("testFlow", "householdDeleteConfirmation")).isTrue();
+        assertThat(flowRegistry.getSubflowNameForDeleteConfirmationScreen("testFlow", "householdDeleteConfirmation"))
+                .isEqualTo("household");
+        assertThat(flowRegistry.getSubflowNameForReviewScreen("testFlow", "householdReview")).isEqualTo("household");
+        assertThat(flowRegistry.getSubflowNameForReviewScreen("testFlow", "first")).isNull();
+    }
+
+    @Test
+    void shouldHandleFlowsWithoutScreensOrSubflows() {
+        assertThat(flowRegistry.flowExists("emptyFlow")).isTrue();
+        assertThat(flowRegistry.getScreen("emptyFlow", "first")).isNull();
+        assertThat(flowRegistry.getSubflow("emptyFlow", "household")).isNull();
+        assertThat(flowRegistry.getSubflowNames("emptyFlow")).isEmpty();
+        assertThat(flowRegistry.isIterationStartScreen("emptyFlow", "householdMember")).isFalse();
+    }
+}
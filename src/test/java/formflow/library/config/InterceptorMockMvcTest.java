@@ -35,7 +35,7 @@ class InterceptorMockMvcTest extends AbstractMockMvcTest {
     protected void setUp() throws Exception {
         // These tests dirty the context of the data, so we need to reset it before each test.
         // We do this rather than use @DirtiesContext because it's much faster.
-        sessionContinuityInterceptor.flowConfigurations = List.of();
+        sessionContinuityInterceptor.flowRegistry = new FlowRegistry(List.of());
         super.setUp();
     }
 
@@ -53,7 +53,7 @@ class InterceptorMockMvcTest extends AbstractMockMvcTest {
         LandmarkConfiguration landmarkConfiguration = new LandmarkConfiguration();
         landmarkConfiguration.setFirstScreen("first");
         flowConfiguration.setLandmarks(landmarkConfiguration);
-        sessionContinuityInterceptor.flowConfigurations = List.of(flowConfiguration);
+        sessionContinuityInterceptor.flowRegistry = new FlowRegistry(List.of(flowConfiguration));
         mockMvc.perform(get("/flow/testLandmarkFlow/first?lang=es"))
                 .andExpect(status().isOk());
 
@@ -0,0 +1,107 @@
+package formflow.library.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import formflow.library.data.Submission;
+import formflow.library.submission.conditions.FalseCondition;
+import formflow.library.submission.conditions.TrueCondition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class NavigationGraphTest {
+
+    private NavigationGraph navigationGraph;
+    private final Submission submission = new Submission();
+
+    @BeforeEach
+    public void setUp() {
+        Map<String, ScreenNavigationConfiguration> screens = new HashMap<>();
+        screens.put("first", screen(null,
+                nextScreen("skipped", "FalseCondition"),
+                nextScreen("unknownConditionTarget", "DoesNotExistCondition"),
+                nextScreen("hidden", null),
+                nextScreen("last", null)));
+        screens.put("hidden", screen("FalseCondition", nextScreen("alsoHidden", null)));
+        screens.put("alsoHidden", screen("FalseCondition", nextScreen("conditional", null)));
+        screens.put("conditional", screen("TrueCondition",
+                nextScreen("last", "FalseCondition"),
+                nextScreen("first", "TrueCondition"),
+                nextScreen("hidden", null)));
+        screens.put("last", screen(null));
+        screens.put("danglingHidden", screen("FalseCondition", nextScreen("notInFlow", null)));
+
+        FlowConfiguration flowConfiguration = new FlowConfiguration();
+        flowConfiguration.setName("testFlow");
+        flowConfiguration.setFlow(screens);
+
+        FlowRegistry flowRegistry = new FlowRegistry(List.of(flowConfiguration));
+        ConditionManager conditionManager = new ConditionManager(List.of(new TrueCondition(), new FalseCondition()),
+                new SimpleMeterRegistry());
+        new FlowConfigurationBinder(flowRegistry, conditionManager, new ActionManager(List.of()), false);
+        navigationGraph = new NavigationGraph(flowRegistry, conditionManager);
+    }
+
+    @Test
+    void shouldFollowUnconditionalEdgeWhenNoConditionPasses() {
+        NavigationGraph.Edge edge = navigationGraph.getScreen("testFlow", "first").getNextEdge(submission, null, null);
+
+        assertThat(edge.getTargetName()).isEqualTo("hidden");
+        assertThat(edge.getTarget()).isSameAs(navigationGraph.getScreen("testFlow", "hidden"));
+    }
+
+    @Test
+    void shouldFollowFirstConditionalEdgeThatPasses() {
+        NavigationGraph.Edge edge = navigationGraph.getScreen("testFlow", "conditional").getNextEdge(submission, null, null);
+
+        assertThat(edge.getTargetName()).isEqualTo("first");
+    }
+
+    @Test
+    void shouldSkipScreensWhoseConditionFails() {
+        assertThat(navigationGraph.getScreen("testFlow", "hidden").shouldSkip(submission, null, null)).isTrue();
+        assertThat(navigationGraph.getScreen("testFlow", "conditional").shouldSkip(submission, null, null)).isFalse();
+        assertThat(navigationGraph.getScreen("testFlow", "first").shouldSkip(submission, null, null)).isFalse();
+    }
+
+    @Test
+    void shouldLeaveEdgeTargetUnresolvedWhenScreenIsNotInFlow() {
+        NavigationGraph.Edge edge = navigationGraph.getScreen("testFlow", "danglingHidden").getNextEdge(submission, null, null);
+
+        assertThat(edge.getTargetName()).isEqualTo("notInFlow");
+        assertThat(edge.getTarget()).isNull();
+    }
+
+    @Test
+    void shouldThrowWhenThereIsNoUnconditionalNextScreen() {
+        NavigationGraph.Screen last = navigationGraph.getScreen("testFlow", "last");
+
+        assertThatThrownBy(() -> last.getNextEdge(submission, null, null)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void shouldReturnNullForUnknownFlowsAndScreens() {
+        assertThat(navigationGraph.getScreen("testFlow", "doesNotExist")).isNull();
+        assertThat(navigationGraph.getScreen("doesNotExist", "first")).isNull();
+        assertThat(navigationGraph.getScreen(null, null)).isNull();
+    }
+
+    private static ScreenNavigationConfiguration screen(String condition, NextScreen... nextScreens) {
+        ScreenNavigationConfiguration screenNavigationConfiguration = new ScreenNavigationConfiguration();
+        screenNavigationConfiguration.setCondition(condition);
+        screenNavigationConfiguration.setNextScreens(List.of(nextScreens));
+        return screenNavigationConfiguration;
+    }
+
+    private static NextScreen nextScreen(String name, String condition) {
+        NextScreen nextScreen = new NextScreen();
+        nextScreen.setName(name);
+        nextScreen.setCondition(condition);
+        return nextScreen;
+    }
+}
@@ -0,0 +1,71 @@
+package formflow.library.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import formflow.library.data.Submission;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RepeatForIterationsTest {
+
+    @Test
+    void findsIterationsByUuidAndByRepeatForValue() {
+        RepeatForIterations iterations = RepeatForIterations.of(Map.of("schedules", iterations(3)), "schedules");
+
+        assertThat(iterations.get("uuid-1")).containsEntry("repeatForValue", "value-1");
+        assertThat(iterations.getByRepeatForValue("value-2")).containsEntry("uuid", "uuid-2");
+        assertThat(iterations.get("missing")).isNull();
+        assertThat(iterations.getByRepeatForValue("missing")).isNull();
+    }
+
+    @Test
+    void stepsThroughIncompleteIterationsAsTheyAreMarkedComplete() {
+        List<Map<String, Object>> data = iterations(3);
+        RepeatForIterations iterations = RepeatForIterations.of(data);
+
+        assertThat(iterations.nextIncompleteIteration()).isSameAs(data.get(0));
+
+        iterations.markComplete("uuid-1");
+        assertThat(data.get(1)).containsEntry(Submission.ITERATION_IS_COMPLETE_KEY, true);
+        assertThat(iterations.nextIncompleteIteration()).isSameAs(data.get(0));
+        assertThat(iterations.hasFinishedAllIterations()).isFalse();
+
+        iterations.markComplete("uuid-0");
+        assertThat(iterations.nextIncompleteIteration()).isSameAs(data.get(2));
+
+        iterations.markComplete("uuid-2");
+        assertThat(iterations.nextIncompleteIteration()).isNull();
+        assertThat(iterations.hasFinishedAllIterations()).isTrue();
+    }
+
+    @Test
+    void marksNothingCompleteForAnUnknownUuid() {
+        List<Map<String, Object>> data = iterations(2);
+        RepeatForIterations iterations = RepeatForIterations.of(data);
+
+        assertThat(iterations.markComplete("missing")).isNull();
+        assertThat(data).allSatisfy(iteration -> assertThat(iteration).containsEntry(Submission.ITERATION_IS_COMPLETE_KEY, false));
+        assertThat(iterations.nextIncompleteIteration()).isSameAs(data.get(0));
+    }
+
+    @Test
+    void hasNoIterationsWhenNoneAreSaved() {
+        RepeatForIterations iterations = RepeatForIterations.of(Map.of(), "schedules");
+
+        assertThat(iterations.hasFinishedAllIterations()).isTrue();
+        assertThat(iterations.nextIncompleteIteration()).isNull();
+        assertThat(iterations.markComplete("uuid-0")).isNull();
+    }
+
+    private static List<Map<String, Object>> iterations(int count) {
+        List<Map<String, Object>> iterations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            iterations.add(new HashMap<>(Map.of("uuid", "uuid-" + i, "repeatForValue", "value-" + i,
+                    Submission.ITERATION_IS_COMPLETE_KEY, false)));
+        }
+        return iterations;
+    }
+}
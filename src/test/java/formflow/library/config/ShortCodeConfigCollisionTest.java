@@ -0,0 +1,51 @@
+package formflow.library.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import formflow.library.config.submission.ShortCodeConfig;
+import formflow.library.data.Submission;
+import formflow.library.data.SubmissionRepositoryService;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "form-flow.path=flows-config/test-flow.yaml",
+        "form-flow.short-code.short-code-configs.testFlow.code-length=1",
+        "form-flow.short-code.short-code-configs.testFlow.code-type=numeric"
+})
+class ShortCodeConfigCollisionTest {
+
+    @Autowired
+    private SubmissionRepositoryService submissionRepositoryService;
+
+    @Autowired
+    private ShortCodeConfig shortCodeConfig;
+
+    @Test
+    void testShortCodeGeneration_TriesAnotherCodeWhenOneIsTaken() {
+        // a prefix of its own, so codes left in the database by earlier runs do not count
+        String prefix = "C-" + UUID.randomUUID() + "-";
+        shortCodeConfig.getConfig("testFlow").setPrefix(prefix);
+
+        // all but one of the ten possible codes are taken
+        for (int digit = 0; digit < 9; digit++) {
+            Submission taken = new Submission();
+            taken.setFlow("testFlow");
+            taken.setShortCode(prefix + digit);
+            submissionRepositoryService.save(taken);
+        }
+
+        Submission submission = new Submission();
+        submission.setFlow("testFlow");
+        submissionRepositoryService.generateAndSetUniqueShortCode(submission);
+
+        assertThat(submission.getId()).isNotNull();
+        assertThat(submission.getShortCode()).isEqualTo(prefix + "9");
+        assertThat(submissionRepositoryService.findByShortCode(prefix + "9"))
+                .hasValueSatisfying(reloaded -> assertThat(reloaded.getId()).isEqualTo(submission.getId()));
+    }
+}
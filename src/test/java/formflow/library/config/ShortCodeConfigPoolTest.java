@@ -0,0 +1,57 @@
+package formflow.library.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import formflow.library.data.Submission;
+import formflow.library.data.SubmissionRepositoryService;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "form-flow.path=flows-config/test-flow.yaml",
+        "form-flow.short-code.short-code-configs.testFlow.code-length=8",
+        "form-flow.short-code.short-code-configs.testFlow.pool-size=5"
+})
+class ShortCodeConfigPoolTest {
+
+    @Autowired
+    private SubmissionRepositoryService submissionRepositoryService;
+
+    @Test
+    void testShortCodeGeneration_Pooled() {
+        Set<String> shortCodes = new HashSet<>();
+        // more submissions than the pool holds, so the pool is refilled
+        for (int i = 0; i < 12; i++) {
+            Submission newSubmission = new Submission();
+            newSubmission.setFlow("testFlow");
+            Submission submission = submissionRepositoryService.save(newSubmission);
+
+            submissionRepositoryService.generateAndSetUniqueShortCode(submission);
+
+            assertThat(submission.getShortCode()).hasSize(8);
+            assertThat(submissionRepositoryService.findByShortCode(submission.getShortCode()))
+                    .hasValueSatisfying(reloaded -> assertThat(reloaded.getId()).isEqualTo(submission.getId()));
+            shortCodes.add(submission.getShortCode());
+        }
+        assertThat(shortCodes).hasSize(12);
+    }
+
+    @Test
+    void testShortCodeGeneration_KeepsExistingShortCode() {
+        Submission submission = new Submission();
+        submission.setFlow("testFlow");
+        submission = submissionRepositoryService.save(submission);
+        submissionRepositoryService.generateAndSetUniqueShortCode(submission);
+        String shortCode = submission.getShortCode();
+
+        Submission reloaded = submissionRepositoryService.findById(submission.getId()).orElseThrow();
+        submissionRepositoryService.generateAndSetUniqueShortCode(reloaded);
+
+        assertThat(reloaded.getShortCode()).isEqualTo(shortCode);
+    }
+}
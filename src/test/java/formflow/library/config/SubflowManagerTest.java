@@ -0,0 +1,97 @@
+package formflow.library.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import formflow.library.config.submission.SubflowRelationshipFilter;
+import formflow.library.data.Submission;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SubflowManagerTest {
+
+    @Test
+    void reportsWhetherReconcilingChangedTheRelationshipSubflow() {
+        SubflowManager subflowManager = subflowManager(null, List.of());
+        Submission submission = submissionWithHousehold("Alex", "Sam");
+
+        assertThat(subflowManager.addSubflowRelationshipData(schedulesScreen(), "testFlow", submission)).isTrue();
+        assertThat((List<?>) submission.getInputData().get("schedules")).hasSize(2);
+
+        assertThat(subflowManager.addSubflowRelationshipData(schedulesScreen(), "testFlow", submission)).isFalse();
+
+        household(submission).add(new HashMap<>(Map.of("uuid", "member-2", "firstName", "Kim")));
+        assertThat(subflowManager.addSubflowRelationshipData(schedulesScreen(), "testFlow", submission)).isTrue();
+        assertThat((List<?>) submission.getInputData().get("schedules")).hasSize(3);
+    }
+
+    @Test
+    void handsReadOnlyFiltersTheIterationsThemselves() {
+        OnlyAlexReadOnly filter = new OnlyAlexReadOnly();
+        SubflowManager subflowManager = subflowManager("OnlyAlexReadOnly", List.of(filter));
+        Submission submission = submissionWithHousehold("Alex", "Sam");
+
+        assertThat(subflowManager.addSubflowRelationshipData(schedulesScreen(), "testFlow", submission)).isTrue();
+
+        List<Map<String, Object>> schedules = (List<Map<String, Object>>) submission.getInputData().get("schedules");
+        assertThat(schedules).hasSize(1);
+        assertThat(schedules.getFirst()).containsEntry("memberId", "member-0");
+        assertThat(filter.received.getFirst()).isSameAs(household(submission).getFirst());
+        assertThatThrownBy(() -> filter.received.add(new HashMap<>())).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    static class OnlyAlexReadOnly implements SubflowRelationshipFilter {
+
+        private List<HashMap<String, Object>> received;
+
+        @Override
+        public List<HashMap<String, Object>> filter(List<HashMap<String, Object>> subflowDataToFilter, Submission submission) {
+            received = subflowDataToFilter;
+            return subflowDataToFilter.stream().filter(data -> "Alex".equals(data.get("firstName"))).toList();
+        }
+
+        @Override
+        public boolean onlyReadsSubflowData() {
+            return true;
+        }
+    }
+
+    private static SubflowManager subflowManager(String filterName, List<SubflowRelationshipFilter> filters) {
+        SubflowRelationship relationship = new SubflowRelationship();
+        relationship.setRelatesTo("household");
+        relationship.setRelationAlias("memberId");
+        relationship.setFilter(filterName);
+        SubflowConfiguration schedules = new SubflowConfiguration();
+        schedules.setRelationship(relationship);
+
+        FlowConfiguration flowConfiguration = new FlowConfiguration();
+        flowConfiguration.setName("testFlow");
+        flowConfiguration.setFlow(Map.of("schedule", schedulesScreen()));
+        flowConfiguration.setSubflows(Map.of("household", new SubflowConfiguration(), "schedules", schedules));
+
+        return new SubflowManager(new FlowRegistry(List.of(flowConfiguration)), new SubflowFilterManager(filters));
+    }
+
+    private static ScreenNavigationConfiguration schedulesScreen() {
+        ScreenNavigationConfiguration screen = new ScreenNavigationConfiguration();
+        screen.setSubflow("schedules");
+        return screen;
+    }
+
+    private static Submission submissionWithHousehold(String... firstNames) {
+        List<Map<String, Object>> household = new ArrayList<>();
+        for (int i = 0; i < firstNames.length; i++) {
+            household.add(new HashMap<>(Map.of("uuid", "member-" + i, "firstName", firstNames[i])));
+        }
+        Submission submission = new Submission();
+        submission.getInputData().put("household", household);
+        return submission;
+    }
+
+    private static List<Map<String, Object>> household(Submission submission) {
+        return (List<Map<String, Object>>) submission.getInputData().get("household");
+    }
+}
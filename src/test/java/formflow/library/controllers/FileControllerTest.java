@@ -2,7 +2,9 @@ package formflow.library.controllers;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -21,6 +23,8 @@ import formflow.library.data.UserFileRepositoryService;
 import formflow.library.file.CloudFile;
 import formflow.library.file.CloudFileRepository;
 import formflow.library.file.FileValidationService;
+import formflow.library.file.Thumbnail;
+import formflow.library.file.ThumbnailStore;
 import formflow.library.utilities.AbstractMockMvcTest;
 import formflow.library.utils.UserFileMap;
 import java.nio.file.Files;
@@ -79,6 +83,9 @@ public class FileControllerTest extends AbstractMockMvcTest {
     @MockitoSpyBean
     private FileValidationService fileValidationService;
 
+    @MockitoBean
+    private ThumbnailStore thumbnailStore;
+
     @Captor
     private ArgumentCaptor<UserFile> userFileArgumentCaptor;
 
@@ -139,8 +146,7 @@ public class FileControllerTest extends AbstractMockMvcTest {
 
         verify(cloudFileRepository, times(1)).upload(any(), any());
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        UserFileMap userFileMap = objectMapper.readValue(session.getAttribute("userFiles").toString(), UserFileMap.class);
+        UserFileMap userFileMap = (UserFileMap) session.getAttribute("userFiles");
         // get the DZ Instance Map from the session and make sure the file info looks okay
         assertThat(userFileMap.getUserFileMap().size()).isEqualTo(1);
         assertThat(userFileMap.getUserFileMap().get("testFlow").size()).isEqualTo(1);
@@ -157,6 +163,77 @@ public class FileControllerTest extends AbstractMockMvcTest {
         assertThat(filesDirect.get(theNewFileId)).isEqualTo(fileData);
     }
 
+    @Test
+    void fileUploadEndpointStoresTheThumbnailAndKeepsOnlyItsUrlInTheSession() throws Exception {
+        when(submissionRepositoryService.findById(any())).thenReturn(Optional.of(submission));
+        doNothing().when(cloudFileRepository).upload(any(), any());
+        MockMultipartFile testImage = new MockMultipartFile("file", "someImage.jpg",
+                MediaType.IMAGE_JPEG_VALUE, "test".getBytes());
+        when(fileValidationService.isAcceptedMimeType(testImage)).thenReturn(true);
+
+        mockMvc.perform(MockMvcRequestBuilders.multipart("/file-upload")
+                        .file(testImage)
+                        .param("flow", "testFlow")
+                        .param("inputName", "dropZoneTestInstance")
+                        .param("thumbDataURL", "data:image/png;base64,dGh1bWJuYWls")
+                        .param("screen", "testUploadScreen")
+                        .session(session)
+                        .contentType(MediaType.MULTIPART_FORM_DATA_VALUE))
+                .andExpect(status().is(HttpStatus.OK.value()));
+
+        ArgumentCaptor<Thumbnail> thumbnailCaptor = ArgumentCaptor.forClass(Thumbnail.class);
+        verify(thumbnailStore, times(1)).save(eq(fileId), thumbnailCaptor.capture());
+        assertThat(thumbnailCaptor.getValue().contentType()).isEqualTo("image/png");
+        assertThat(new String(thumbnailCaptor.getValue().data())).isEqualTo("thumbnail");
+
+        UserFileMap userFileMap = (UserFileMap) session.getAttribute("userFiles");
+        assertThat(userFileMap.getFiles("testFlow", "dropZoneTestInstance").get(fileId).get("thumbnailUrl"))
+                .isEqualTo("/file-thumbnail/testFlow/" + fileId);
+    }
+
+    @Test
+    void fileUploadEndpointDoesNotKeepDataUrlsWhichAreNotThumbnailsInTheSession() throws Exception {
+        when(submissionRepositoryService.findById(any())).thenReturn(Optional.of(submission));
+        doNothing().when(cloudFileRepository).upload(any(), any());
+        MockMultipartFile testImage = new MockMultipartFile("file", "someImage.jpg",
+                MediaType.IMAGE_JPEG_VALUE, "test".getBytes());
+        when(fileValidationService.isAcceptedMimeType(testImage)).thenReturn(true);
+
+        mockMvc.perform(MockMvcRequestBuilders.multipart("/file-upload")
+                        .file(testImage)
+                        .param("flow", "testFlow")
+                        .param("inputName", "dropZoneTestInstance")
+                        .param("thumbDataURL", "data:text/html;base64,PHNjcmlwdD4=")
+                        .param("screen", "testUploadScreen")
+                        .session(session)
+                        .contentType(MediaType.MULTIPART_FORM_DATA_VALUE))
+                .andExpect(status().is(HttpStatus.OK.value()));
+
+        verify(thumbnailStore, never()).save(any(), any());
+        UserFileMap userFileMap = (UserFileMap) session.getAttribute("userFiles");
+        assertThat(userFileMap.getFiles("testFlow", "dropZoneTestInstance").get(fileId).get("thumbnailUrl")).isNull();
+    }
+
+    @Test
+    void thumbnailEndpointServesThumbnailsOfFilesUploadedInTheSession() throws Exception {
+        UserFile userFile = UserFile.builder().fileId(fileId).submission(submission).originalName("someImage.jpg")
+                .filesize(4f).mimeType(MediaType.IMAGE_JPEG_VALUE).build();
+        UserFileMap userFileMap = new UserFileMap();
+        userFileMap.addUserFileToMap("testFlow", "dropZoneTestInstance", userFile, "/file-thumbnail/testFlow/" + fileId);
+        session.setAttribute("userFiles", userFileMap);
+        when(thumbnailStore.get(fileId)).thenReturn(Optional.of(new Thumbnail("image/png", "thumbnail".getBytes())));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/file-thumbnail/testFlow/" + fileId).session(session))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(content().bytes("thumbnail".getBytes()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/file-thumbnail/otherFlow/" + fileId).session(session))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(MockMvcRequestBuilders.get("/file-thumbnail/testFlow/" + UUID.randomUUID()).session(session))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void shouldReturn413IfUploadedFileViolatesMaxFileSizeConstraint() throws Exception {
         MockMultipartFile testImage = new MockMultipartFile("file", "testFileSizeImage.jpg",
@@ -277,8 +354,8 @@ public class FileControllerTest extends AbstractMockMvcTest {
                     .andExpect(status().is(HttpStatus.FOUND.value()));
             verify(cloudFileRepository, times(1)).delete(any());
             verify(userFileRepositoryService, times(1)).deleteById(any());
-            ObjectMapper objectMapper = new ObjectMapper();
-            UserFileMap userFileMap = objectMapper.readValue(session.getAttribute("userFiles").toString(), UserFileMap.class);
+            verify(thumbnailStore, times(1)).delete(fileId);
+            UserFileMap userFileMap = (UserFileMap) session.getAttribute("userFiles");
             assertThat(userFileMap.getUserFileMap().size()).isEqualTo(0);
         }
     }
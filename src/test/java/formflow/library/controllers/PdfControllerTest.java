@@ -11,6 +11,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import formflow.library.PdfController;
 import formflow.library.config.FlowConfiguration;
+import formflow.library.config.FlowRegistry;
 import formflow.library.config.FormFlowConfigurationProperties;
 import formflow.library.data.Submission;
 import formflow.library.data.SubmissionRepositoryService;
@@ -58,7 +59,7 @@ public class PdfControllerTest extends AbstractMockMvcTest {
         );
 
         PdfController pdfController = new PdfController(messageSource, pdfService, submissionRepositoryService,
-                userFileRepositoryService, flowConfigurations, formFlowConfigurationProperties);
+                userFileRepositoryService, new FlowRegistry(flowConfigurations), formFlowConfigurationProperties);
         mockMvc = MockMvcBuilders.standaloneSetup(pdfController).build();
 
         submission = Submission.builder()
@@ -404,12 +404,12 @@ public class ScreenControllerTest extends AbstractMockMvcTest {
             params.put("validationOnZipCode", List.of("88201"));
 
             postExpectingFailure("testFlow", "testAddressValidation", params);
-            verify(addressValidationService, times(0)).validate(any());
+            verify(addressValidationService, times(0)).validate(any(), any());
         }
 
         @Test
         public void addressValidationShouldOnlyRunWhenSetToTrue() throws Exception {
-            when(addressValidationService.validate(any())).thenReturn(Map.of(
+            when(addressValidationService.validate(any(), any())).thenReturn(Map.of(
                     "validationOn",
                     new ValidatedAddress("validatedStreetAddress",
                             "validatedAptNumber",
@@ -434,7 +434,7 @@ public class ScreenControllerTest extends AbstractMockMvcTest {
 
             postExpectingSuccess("testFlow", "testAddressValidation", params);
 
-            verify(addressValidationService, times(1)).validate(any());
+            verify(addressValidationService, times(1)).validate(any(), any());
         }
     }
 
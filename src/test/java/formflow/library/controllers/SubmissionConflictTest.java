@@ -0,0 +1,57 @@
+package formflow.library.controllers;
+
+import static formflow.library.FormFlowController.SUBMISSION_MAP_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+
+import formflow.library.utilities.AbstractMockMvcTest;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+class SubmissionConflictTest extends AbstractMockMvcTest {
+
+    @Test
+    void shouldRedirectBackToTheScreenWhenAConcurrentPostChangedTheSameInput() throws Exception {
+        postExpectingSuccess("testFlow", "test", Map.of("textInput", List.of("first")));
+
+        // the other tab's POST is saved after this one has loaded the Submission, but before it is saved
+        AtomicBoolean interleaved = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (interleaved.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        postExpectingSuccess("testFlow", "test", Map.of("textInput", List.of("from the other tab")));
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }).join();
+            }
+            return invocation.callRealMethod();
+        }).when(submissionRepositoryService).save(any());
+
+        mockMvc.perform(post("/flow/testFlow/test")
+                        .with(csrf())
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                        .param("textInput", "from this tab"))
+                .andExpect(redirectedUrl("/flow/testFlow/test"))
+                .andExpect(flash().attribute("submissionConflictMessage",
+                        messageSource.getMessage("general.submission-conflict", null, Locale.ENGLISH)));
+
+        assertThat(interleaved).isTrue();
+        UUID submissionId = ((Map<String, UUID>) session.getAttribute(SUBMISSION_MAP_NAME)).get("testFlow");
+        assertThat(submissionRepositoryService.findById(submissionId)).hasValueSatisfying(
+                submission -> assertThat(submission.getInputData()).containsEntry("textInput", "from the other tab"));
+    }
+}
@@ -0,0 +1,59 @@
+package formflow.library.data;
+
+import static formflow.library.inputs.FieldNameMarkers.DYNAMIC_FIELD_MARKER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+class FormSubmissionTest {
+
+    @Test
+    void removesEmptyValuesAndFlattensSingleValues() {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.put("firstName", List.of("Jane"));
+        params.put("emptyText", List.of(""));
+        params.put("emptyCheckbox[]", List.of(""));
+        params.put("oneCheckbox[]", List.of("", "apple"));
+        params.put("twoCheckboxes[]", List.of("", "apple", "pear"));
+        params.put("hiddenAndValue", List.of("", "yes"));
+        params.put("multiple", List.of("a", "b"));
+
+        Map<String, Object> formData = new FormSubmission(params).getFormData();
+
+        assertThat(formData)
+                .containsEntry("firstName", "Jane")
+                .containsEntry("emptyText", "")
+                .containsEntry("emptyCheckbox[]", List.of())
+                .containsEntry("oneCheckbox[]", List.of("apple"))
+                .containsEntry("twoCheckboxes[]", List.of("apple", "pear"))
+                .containsEntry("hiddenAndValue", "yes")
+                .containsEntry("multiple", List.of("a", "b"));
+        assertThat(params.get("twoCheckboxes[]")).containsExactly("", "apple", "pear");
+    }
+
+    @Test
+    void classifiesFieldsInOnePass() {
+        String dynamicField = "dynamicField" + DYNAMIC_FIELD_MARKER + "123";
+        FormSubmission formSubmission = new FormSubmission(Map.of(
+                "firstName", "Jane",
+                "_csrf", "token",
+                "validate_homeAddress", "true",
+                "validate_mailingAddress", "false",
+                "fruit[]", List.of("apple"),
+                dynamicField, "value"));
+
+        FormFieldClassification fields = formSubmission.classifyFields();
+
+        assertThat(fields.getValidatableFields()).containsOnlyKeys("firstName", "fruit[]", dynamicField);
+        assertThat(fields.getAddressValidationFields()).containsExactly("validate_homeAddress");
+        assertThat(fields.getAddressInputNames()).containsExactly("homeAddress");
+        assertThat(fields.getDynamicFields()).containsExactly(dynamicField);
+        assertThat(fields.getCheckboxArrayFields()).containsExactly("fruit[]");
+        assertThat(formSubmission.getValidatableFields()).isEqualTo(fields.getValidatableFields());
+        assertThat(formSubmission.getAddressValidationFields()).isEqualTo(fields.getAddressValidationFields());
+    }
+}
@@ -0,0 +1,71 @@
+package formflow.library.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import formflow.library.data.InputDataPatch.Change;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class InputDataPatchTest {
+
+    @Test
+    void shouldFindNoChangesForEqualInputData() {
+        Map<String, Object> inputData = Map.of("firstName", "Testy", "household", List.of(Map.of("uuid", "1")));
+
+        assertThat(InputDataPatch.between(inputData, new HashMap<>(inputData)).isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldSetAndRemoveChangedTopLevelKeys() {
+        InputDataPatch patch = InputDataPatch.between(
+                Map.of("firstName", "Testy", "lastName", "McTesterson"),
+                Map.of("firstName", "Tester", "age", "30"));
+
+        assertThat(patch.getChanges()).containsExactlyInAnyOrder(
+                new Change(List.of("lastName"), null, true),
+                new Change(List.of("firstName"), "Tester", false),
+                new Change(List.of("age"), "30", false));
+    }
+
+    @Test
+    void shouldUpdateWithinSubflowIterations() {
+        Map<String, Object> firstIteration = Map.of("uuid", "1", "iterationIsComplete", false);
+        Map<String, Object> secondIteration = Map.of("uuid", "2", "iterationIsComplete", true);
+
+        InputDataPatch patch = InputDataPatch.between(
+                Map.of("household", List.of(firstIteration)),
+                Map.of("household", List.of(Map.of("uuid", "1", "iterationIsComplete", true), secondIteration)));
+
+        assertThat(patch.getChanges()).containsExactly(
+                new Change(List.of("household", 0, "iterationIsComplete"), true, false),
+                new Change(List.of("household", 1), secondIteration, false));
+    }
+
+    @Test
+    void shouldSetTheWholeSubflowWhenAnIterationIsDeleted() {
+        List<Map<String, Object>> remaining = List.of(Map.of("uuid", "2"));
+
+        InputDataPatch patch = InputDataPatch.between(
+                Map.of("household", List.of(Map.of("uuid", "1"), Map.of("uuid", "2"))),
+                Map.of("household", remaining));
+
+        assertThat(patch.getChanges()).containsExactly(new Change(List.of("household"), remaining, false));
+    }
+
+    @Test
+    void shouldTranslateChangesToEncryptedKeys() {
+        InputDataPatch patch = InputDataPatch.between(
+                Map.of("ssnInput", "123-45-6789", "household", List.of(Map.of("ssnInputSubflow", "321-54-9876"))),
+                Map.of("household", List.of(Map.of("ssnInputSubflow", "000-00-0000"))));
+
+        InputDataPatch stored = patch.toStoredForm(
+                Map.of("household", List.of(Map.of("ssnInputSubflow_encrypted", "cafe"))), "_encrypted");
+
+        assertThat(stored.getChanges()).containsExactlyInAnyOrder(
+                new Change(List.of("ssnInput"), null, true),
+                new Change(List.of("ssnInput_encrypted"), null, true),
+                new Change(List.of("household", 0, "ssnInputSubflow_encrypted"), "cafe", false));
+    }
+}
@@ -0,0 +1,108 @@
+package formflow.library.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class SubmissionCacheTest {
+
+    private final RecordingChannel channel = new RecordingChannel();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SubmissionCache submissionCache = new SubmissionCache(true, 10, 0, channel, meterRegistry);
+
+    @Test
+    void shouldCacheLoadedSubmissions() {
+        Submission submission = submission();
+        submissionCache.put(submission, submissionCache.generation());
+
+        assertThat(submissionCache.get(submission.getId())).isSameAs(submission);
+        assertThat(submissionCache.get(UUID.randomUUID())).isNull();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", SubmissionCache.NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheSubmissionsLoadedBeforeAnInvalidation() {
+        Submission submission = submission();
+        long generation = submissionCache.generation();
+        channel.listener.invalidate(UUID.randomUUID());
+        submissionCache.put(submission, generation);
+
+        assertThat(submissionCache.get(submission.getId())).isNull();
+    }
+
+    @Test
+    void shouldEvictLocallyAndOnOtherNodes() {
+        Submission submission = submission();
+        submissionCache.put(submission, submissionCache.generation());
+
+        submissionCache.evict(submission.getId());
+
+        assertThat(submissionCache.get(submission.getId())).isNull();
+        assertThat(channel.published).containsExactly(submission.getId());
+    }
+
+    @Test
+    void shouldInvalidateWhenOtherNodesSave() {
+        Submission first = submission();
+        Submission second = submission();
+        submissionCache.put(first, submissionCache.generation());
+        submissionCache.put(second, submissionCache.generation());
+
+        channel.listener.invalidate(first.getId());
+        assertThat(submissionCache.get(first.getId())).isNull();
+        assertThat(submissionCache.get(second.getId())).isSameAs(second);
+
+        channel.listener.invalidateAll();
+        assertThat(submissionCache.get(second.getId())).isNull();
+    }
+
+    @Test
+    void shouldWeighSubmissionsByTheirData() {
+        Submission submission = submission();
+        Submission heavier = submission();
+        heavier.getInputData().put("household", List.of(Map.of("firstName", "Testy")));
+
+        assertThat(SubmissionCache.weigh(heavier)).isGreaterThan(SubmissionCache.weigh(submission));
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        SubmissionCache disabledCache = new SubmissionCache(false, 10, 0, channel, new SimpleMeterRegistry());
+        Submission submission = submission();
+        disabledCache.put(submission, disabledCache.generation());
+        disabledCache.evict(submission.getId());
+
+        assertThat(disabledCache.isEnabled()).isFalse();
+        assertThat(disabledCache.get(submission.getId())).isNull();
+        assertThat(channel.published).isEmpty();
+    }
+
+    private static Submission submission() {
+        Submission submission = new Submission();
+        submission.setId(UUID.randomUUID());
+        submission.setFlow("testFlow");
+        return submission;
+    }
+
+    static class RecordingChannel implements SubmissionCacheInvalidationChannel {
+
+        private final List<UUID> published = new ArrayList<>();
+        private Listener listener;
+
+        @Override
+        public void publish(UUID submissionId) {
+            published.add(submissionId);
+        }
+
+        @Override
+        public void subscribe(Listener listener) {
+            this.listener = listener;
+        }
+    }
+}
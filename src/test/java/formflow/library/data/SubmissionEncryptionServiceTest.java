@@ -9,6 +9,7 @@ import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -19,6 +20,12 @@ public class SubmissionEncryptionServiceTest {
     @Autowired
     SubmissionEncryptionService service;
 
+    @Value("${form-flow.encryption-key}")
+    String encryptionKey;
+
+    @Value("${form-flow.inputs}")
+    String inputConfigPath;
+
     private Submission submission;
 
     @BeforeEach
@@ -82,4 +89,95 @@ public class SubmissionEncryptionServiceTest {
         assertThat(decryptedSubflow.containsKey("ssnInputSubflow" + service.ENCRYPT_SUFFIX)).isFalse();
         assertThat(decryptedSubflow.get("ssnInputSubflow")).isEqualTo(originalSubflow.get("ssnInputSubflow"));
     }
+
+    @Test
+    void encryptionPlanIsWorkedOutOncePerFlow() {
+        SubmissionEncryptionService.EncryptionPlan plan = service.getEncryptionPlan("testFlow");
+
+        assertThat(plan.encryptedNames()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "ssnInput", "ssnInput" + service.ENCRYPT_SUFFIX,
+                "ssnInputSubflow", "ssnInputSubflow" + service.ENCRYPT_SUFFIX));
+        assertThat(plan.decryptedNames()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "ssnInput" + service.ENCRYPT_SUFFIX, "ssnInput",
+                "ssnInputSubflow" + service.ENCRYPT_SUFFIX, "ssnInputSubflow"));
+        assertThat(service.getEncryptionPlan("testFlow")).isSameAs(plan);
+    }
+
+    @Test
+    void encryptSharesWhatHasNothingToEncrypt() {
+        Map<String, Object> otherIteration = Map.of("firstName", "Jane");
+        submission.setInputData(Map.of(
+                "firstName", "John",
+                "subflowA", List.of(Map.of("ssnInputSubflow", "321-54-9876"), otherIteration),
+                "subflowB", List.of(Map.of("firstName", "Jim"))
+        ));
+
+        Submission encryptedSubmission = service.encrypt(submission);
+
+        var encryptedSubflowA = (List<Map<String, Object>>) encryptedSubmission.getInputData().get("subflowA");
+        assertThat(encryptedSubflowA.get(0)).containsOnlyKeys("ssnInputSubflow" + service.ENCRYPT_SUFFIX);
+        assertThat(encryptedSubflowA.get(1)).isSameAs(otherIteration);
+        assertThat(encryptedSubmission.getInputData().get("subflowB")).isSameAs(submission.getInputData().get("subflowB"));
+        assertThat(((List<Map<String, Object>>) submission.getInputData().get("subflowA")).get(0))
+                .containsOnlyKeys("ssnInputSubflow");
+    }
+
+    @Test
+    void encryptAndDecryptReturnTheSubmissionWhenThereIsNothingToEncrypt() {
+        submission.setInputData(Map.of("firstName", "John", "subflowA", List.of(Map.of("firstName", "Jane"))));
+        assertThat(service.encrypt(submission)).isSameAs(submission);
+        assertThat(service.decrypt(submission)).isSameAs(submission);
+
+        submission.setFlow("testFlowAddressValidation");
+        submission.setInputData(Map.of("ssnInput", "123-45-6789"));
+        assertThat(service.encrypt(submission)).isSameAs(submission);
+    }
+
+    @Test
+    void envelopeEncryptionUsesADataKeyPerSubmission() {
+        SubmissionEncryptionService envelopeService = new SubmissionEncryptionService(encryptionKey, inputConfigPath, true, false);
+
+        Submission encryptedSubmission = envelopeService.encrypt(submission);
+        Submission otherEncryptedSubmission = envelopeService.encrypt(submission);
+
+        assertThat(encryptedSubmission.getDataKey()).isNotNull();
+        assertThat(otherEncryptedSubmission.getDataKey()).isNotEqualTo(encryptedSubmission.getDataKey());
+        assertThat((String) encryptedSubmission.getInputData().get("ssnInput" + service.ENCRYPT_SUFFIX))
+                .startsWith(SubmissionEncryptionService.ENVELOPE_PREFIX);
+        assertThat(envelopeService.decrypt(encryptedSubmission).getInputData()).isEqualTo(submission.getInputData());
+        // the data key can be decrypted by another node
+        assertThat(new SubmissionEncryptionService(encryptionKey, inputConfigPath, true, false).decrypt(encryptedSubmission)
+                .getInputData()).isEqualTo(submission.getInputData());
+    }
+
+    @Test
+    void envelopeEncryptionKeepsTheSubmissionsDataKey() {
+        SubmissionEncryptionService envelopeService = new SubmissionEncryptionService(encryptionKey, inputConfigPath, true, false);
+        Submission decryptedSubmission = envelopeService.decrypt(envelopeService.encrypt(submission));
+
+        assertThat(envelopeService.encrypt(decryptedSubmission).getDataKey()).isEqualTo(decryptedSubmission.getDataKey());
+    }
+
+    @Test
+    void envelopeEncryptionStoresEncryptedFieldsTogether() {
+        SubmissionEncryptionService blobService = new SubmissionEncryptionService(encryptionKey, inputConfigPath, true, true);
+
+        Submission encryptedSubmission = blobService.encrypt(submission);
+
+        assertThat(encryptedSubmission.getInputData()).containsOnlyKeys("checkBoxSet", "subflowA",
+                SubmissionEncryptionService.BLOB_KEY);
+        var encryptedSubflow = ((List<Map<String, Object>>) encryptedSubmission.getInputData().get("subflowA")).get(0);
+        assertThat(encryptedSubflow).containsOnlyKeys(SubmissionEncryptionService.BLOB_KEY);
+        assertThat(blobService.decrypt(encryptedSubmission).getInputData()).isEqualTo(submission.getInputData());
+    }
+
+    @Test
+    void envelopeEncryptionStillDecryptsHexEncodedFields() {
+        SubmissionEncryptionService envelopeService = new SubmissionEncryptionService(encryptionKey, inputConfigPath, true, true);
+
+        Submission encryptedSubmission = service.encrypt(submission);
+
+        assertThat(encryptedSubmission.getDataKey()).isNull();
+        assertThat(envelopeService.decrypt(encryptedSubmission).getInputData()).isEqualTo(submission.getInputData());
+    }
 }
@@ -0,0 +1,46 @@
+package formflow.library.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class SubmissionFingerprintTest {
+
+    @Test
+    void shouldMatchForEqualContentRegardlessOfMapOrder() {
+        Map<String, Object> firstInputData = new LinkedHashMap<>();
+        firstInputData.put("firstName", "Testy");
+        firstInputData.put("household", List.of(Map.of("uuid", "1", "age", "3")));
+        Map<String, Object> secondInputData = new LinkedHashMap<>();
+        secondInputData.put("household", new ArrayList<>(List.of(new HashMap<>(Map.of("age", "3", "uuid", "1")))));
+        secondInputData.put("firstName", "Testy");
+
+        assertThat(SubmissionFingerprint.of(submissionWith(firstInputData)))
+                .isEqualTo(SubmissionFingerprint.of(submissionWith(secondInputData)));
+    }
+
+    @Test
+    void shouldDifferWhenContentDiffers() {
+        byte[] original = SubmissionFingerprint.of(submissionWith(Map.of("count", "1")));
+
+        assertThat(SubmissionFingerprint.of(submissionWith(Map.of("count", 1)))).isNotEqualTo(original);
+        assertThat(SubmissionFingerprint.of(submissionWith(Map.of("count", "2")))).isNotEqualTo(original);
+        assertThat(SubmissionFingerprint.of(submissionWith(Map.of("count", List.of("1"))))).isNotEqualTo(original);
+
+        Submission submitted = submissionWith(Map.of("count", "1"));
+        submitted.setFlow("otherFlow");
+        assertThat(SubmissionFingerprint.of(submitted)).isNotEqualTo(original);
+    }
+
+    private static Submission submissionWith(Map<String, Object> inputData) {
+        Submission submission = new Submission();
+        submission.setFlow("testFlow");
+        submission.setInputData(new HashMap<>(inputData));
+        return submission;
+    }
+}
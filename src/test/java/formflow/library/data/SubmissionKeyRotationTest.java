@@ -0,0 +1,155 @@
+package formflow.library.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.crypto.tink.CleartextKeysetHandle;
+import com.google.crypto.tink.InsecureSecretKeyAccess;
+import com.google.crypto.tink.JsonKeysetReader;
+import com.google.crypto.tink.KeysetHandle;
+import com.google.crypto.tink.TinkJsonProtoKeysetFormat;
+import com.google.crypto.tink.aead.PredefinedAeadParameters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"form-flow.path=flows-config/test-flow.yaml"})
+class SubmissionKeyRotationTest {
+
+    @Autowired
+    private SubmissionRepositoryService submissionRepositoryService;
+
+    @Autowired
+    private SubmissionCache submissionCache;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${form-flow.encryption-key}")
+    private String encryptionKey;
+
+    @Value("${form-flow.inputs}")
+    private String inputConfigPath;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM submission_key_rotation");
+    }
+
+    @Test
+    void reencryptsSubmissionsWithThePrimaryKey() throws Exception {
+        Submission submission = new Submission();
+        submission.setFlow("testFlow");
+        submission.setInputData(new HashMap<>(Map.of("ssnInput", "123-45-6789", "firstName", "Jane")));
+        UUID id = submissionRepositoryService.save(submission).getId();
+
+        KeysetHandle keyset = CleartextKeysetHandle.read(JsonKeysetReader.withString(encryptionKey));
+        KeysetHandle.Builder builder = KeysetHandle.newBuilder(keyset);
+        builder.addEntry(KeysetHandle.generateEntryFromParameters(PredefinedAeadParameters.AES256_GCM).withRandomId()
+                .makePrimary());
+        KeysetHandle rotatedKeyset = builder.build();
+
+        try {
+            rotateAll(rotatedKeyset);
+
+            assertThat(storedSsn(id)).startsWith(String.format("01%08x", rotatedKeyset.getPrimary().getId()));
+            SubmissionEncryptionService rotatedService = new SubmissionEncryptionService(toJson(rotatedKeyset), inputConfigPath);
+            Submission stored = new Submission();
+            stored.setFlow("testFlow");
+            stored.setInputData(Map.of("ssnInput_encrypted", storedSsn(id)));
+            assertThat(rotatedService.decrypt(stored).getInputData()).containsEntry("ssnInput", "123-45-6789");
+        } finally {
+            // put every submission back on the key the other tests use
+            KeysetHandle.Builder restoredBuilder = KeysetHandle.newBuilder(rotatedKeyset);
+            restoredBuilder.getAt(0).makePrimary();
+            rotateAll(restoredBuilder.build());
+        }
+
+        assertThat(storedSsn(id)).startsWith(String.format("01%08x", keyset.getPrimary().getId()));
+        assertThat(submissionRepositoryService.findById(id).orElseThrow().getInputData())
+                .containsEntry("ssnInput", "123-45-6789")
+                .containsEntry("firstName", "Jane");
+    }
+
+    @Test
+    void doesNotRunAgainOnceComplete() throws Exception {
+        assertThat(rotateUntilDone(rotation(encryptionKey))).isEqualTo(SubmissionKeyRotation.Batch.COMPLETE);
+
+        jdbcTemplate.update("UPDATE submission_key_rotation SET last_submission_id = ?", new UUID(0, 0));
+
+        assertThat(rotation(encryptionKey).rotateBatch()).isEqualTo(SubmissionKeyRotation.Batch.COMPLETE);
+    }
+
+    @Test
+    void doesNotCompleteWhileASubmissionCannotBeReencrypted() {
+        Submission submission = new Submission();
+        submission.setFlow("testFlow");
+        submission.setInputData(new HashMap<>(Map.of("ssnInput", "123-45-6789")));
+        UUID id = submissionRepositoryService.save(submission).getId();
+        jdbcTemplate.update("UPDATE submissions SET input_data = CAST(? AS jsonb) WHERE id = ?",
+                "{\"ssnInput_encrypted\": \"00ff\"}", id);
+
+        try {
+            assertThat(rotateUntilDone(rotation(encryptionKey))).isEqualTo(SubmissionKeyRotation.Batch.COMPLETE_WITH_FAILURES);
+            assertThat(jdbcTemplate.queryForObject("SELECT completed_at FROM submission_key_rotation", Object.class)).isNull();
+            assertThat(jdbcTemplate.queryForList("SELECT unnest(failed_submission_ids) FROM submission_key_rotation",
+                    UUID.class)).containsExactly(id);
+
+            // the next run only tries the failed submission again
+            assertThat(rotation(encryptionKey).rotateBatch()).isEqualTo(SubmissionKeyRotation.Batch.COMPLETE_WITH_FAILURES);
+        } finally {
+            jdbcTemplate.update("DELETE FROM submissions WHERE id = ?", id);
+        }
+
+        assertThat(rotation(encryptionKey).rotateBatch()).isEqualTo(SubmissionKeyRotation.Batch.COMPLETE);
+        assertThat(jdbcTemplate.queryForObject("SELECT completed_at FROM submission_key_rotation", Object.class)).isNotNull();
+    }
+
+    private SubmissionKeyRotation.Batch rotateUntilDone(SubmissionKeyRotation rotation) {
+        SubmissionKeyRotation.Batch batch;
+        do {
+            batch = rotation.rotateBatch();
+        } while (batch == SubmissionKeyRotation.Batch.MORE);
+        return batch;
+    }
+
+    private void rotateAll(KeysetHandle keyset) throws Exception {
+        assertThat(rotateUntilDone(rotation(toJson(keyset)))).isEqualTo(SubmissionKeyRotation.Batch.COMPLETE);
+    }
+
+    private SubmissionKeyRotation rotation(String key) {
+        SubmissionEncryptionService encryptionService = new SubmissionEncryptionService(key, inputConfigPath);
+        return new SubmissionKeyRotation(encryptionService, submissionCache, dataSource, transactionManager, true, 10, 10000,
+                new SimpleMeterRegistry());
+    }
+
+    private String storedSsn(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT input_data ->> 'ssnInput_encrypted' FROM submissions WHERE id = ?",
+                String.class, id);
+    }
+
+    private static String toJson(KeysetHandle keyset) throws Exception {
+        return TinkJsonProtoKeysetFormat.serializeKeyset(keyset, InsecureSecretKeyAccess.get());
+    }
+}
@@ -0,0 +1,84 @@
+package formflow.library.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class SubmissionMergeTest {
+
+    @Test
+    void shouldKeepChangesFromBothSides() {
+        Map<String, Object> base = Map.of("firstName", "Testy", "lastName", "McTesterson", "age", "30");
+        Map<String, Object> ours = Map.of("firstName", "Tester", "lastName", "McTesterson", "age", "30", "city", "Oakland");
+        Map<String, Object> theirs = Map.of("firstName", "Testy", "lastName", "McTesterson");
+
+        SubmissionMerge.Result<Object> result = SubmissionMerge.merge(base, ours, theirs);
+
+        assertThat(result.merged()).isEqualTo(Map.of("firstName", "Tester", "lastName", "McTesterson", "city", "Oakland"));
+        assertThat(result.conflicts()).isEmpty();
+    }
+
+    @Test
+    void shouldNotTreatIdenticalChangesAsOverlapping() {
+        Map<String, Object> base = Map.of("firstName", "Testy");
+        Map<String, Object> changed = Map.of("firstName", "Tester");
+
+        SubmissionMerge.Result<Object> result = SubmissionMerge.merge(base, changed, changed);
+
+        assertThat(result.merged()).isEqualTo(changed);
+        assertThat(result.conflicts()).isEmpty();
+    }
+
+    @Test
+    void shouldReportKeysBothSidesChangedDifferently() {
+        Map<String, Object> base = Map.of("firstName", "Testy", "lastName", "McTesterson");
+        Map<String, Object> ours = Map.of("firstName", "Tester", "lastName", "McTesterson");
+        Map<String, Object> theirs = Map.of("lastName", "Testerson");
+
+        SubmissionMerge.Result<Object> result = SubmissionMerge.merge(base, ours, theirs);
+
+        assertThat(result.hasConflicts()).isTrue();
+        assertThat(result.conflicts()).containsExactly("firstName");
+    }
+
+    @Test
+    void shouldKeepIterationsBothSidesAddedToASubflow() {
+        Map<String, Object> base = Map.of("household", List.of(iteration("member-0", "firstName", "Alex")));
+        Map<String, Object> ours = Map.of("household", List.of(iteration("member-0", "firstName", "Alex"),
+                iteration("member-1", "firstName", "Sam")));
+        Map<String, Object> theirs = Map.of("household", List.of(iteration("member-0", "firstName", "Alexis"),
+                iteration("member-2", "firstName", "Kim")));
+
+        SubmissionMerge.Result<Object> result = SubmissionMerge.merge(base, ours, theirs);
+
+        assertThat(result.conflicts()).isEmpty();
+        assertThat(result.merged().get("household")).isEqualTo(List.of(iteration("member-0", "firstName", "Alexis"),
+                iteration("member-2", "firstName", "Kim"), iteration("member-1", "firstName", "Sam")));
+    }
+
+    @Test
+    void shouldReportIterationKeysBothSidesChangedDifferently() {
+        Map<String, Object> base = Map.of("household", List.of(iteration("member-0", "firstName", "Alex")));
+        Map<String, Object> ours = Map.of("household", List.of(iteration("member-0", "firstName", "Alexander")));
+        Map<String, Object> theirs = Map.of("household", List.of(iteration("member-0", "firstName", "Alexis")));
+
+        assertThat(SubmissionMerge.merge(base, ours, theirs).conflicts()).containsExactly("household[member-0].firstName");
+    }
+
+    @Test
+    void shouldReportIterationsDeletedByOneSideAndChangedByTheOther() {
+        Map<String, Object> base = Map.of("household", List.of(iteration("member-0", "firstName", "Alex"),
+                iteration("member-1", "firstName", "Sam")));
+        Map<String, Object> ours = Map.of("household", List.of(iteration("member-1", "firstName", "Sam")));
+        Map<String, Object> theirs = Map.of("household", List.of(iteration("member-0", "firstName", "Alexis"),
+                iteration("member-1", "firstName", "Sam")));
+
+        assertThat(SubmissionMerge.merge(base, ours, theirs).conflicts()).containsExactly("household[member-0]");
+    }
+
+    private static Map<String, Object> iteration(String uuid, String key, Object value) {
+        return Map.of("uuid", uuid, key, value);
+    }
+}
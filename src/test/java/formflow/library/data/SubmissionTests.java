@@ -72,4 +72,34 @@ public class SubmissionTests {
         assertThat(saveDataAsName.getFirst().get("foo")).isEqualTo("bar");
     }
 
+    @Test
+    public void shouldFindIterationsAddedAndRemovedDirectly() {
+        List<Map<String, Object>> household = (List<Map<String, Object>>) submission.getInputData().get("household");
+        assertThat(submission.getSubflowEntryByUuid("household", "added-uuid")).isNull();
+
+        Map<String, Object> added = new HashMap<>(Map.of("uuid", "added-uuid", "firstName", "Ada"));
+        household.add(added);
+        assertThat(submission.getSubflowEntryByUuid("household", "added-uuid")).isSameAs(added);
+
+        household.removeFirst();
+        assertThat(submission.getSubflowEntryByUuid("household", iterationUuid)).isNull();
+        assertThat(submission.getSubflowEntryByUuid("household", "added-uuid")).isSameAs(added);
+        assertThat(submission.getSubflowEntryByUuid("missingSubflow", "added-uuid")).isNull();
+    }
+
+    @Test
+    public void shouldMergeFormDataIntoTheMatchingIteration() {
+        List<Map<String, Object>> household = (List<Map<String, Object>>) submission.getInputData().get("household");
+        for (int i = 0; i < 20; i++) {
+            household.add(new HashMap<>(Map.of("uuid", "member-" + i, "firstName", "Member " + i)));
+        }
+
+        Map<String, Object> formData = new HashMap<>(Map.of("firstName", "Updated"));
+        submission.mergeFormDataWithSubflowIterationData("household", submission.getSubflowEntryByUuid("household", "member-7"),
+                formData);
+
+        assertThat(household.get(8)).isSameAs(formData).containsEntry("uuid", "member-7");
+        assertThat(submission.getSubflowEntryByUuid("household", "member-7")).containsEntry("firstName", "Updated");
+        assertThat(submission.getSubflowEntryByUuid("household", "member-8")).containsEntry("firstName", "Member 8");
+    }
 }
@@ -0,0 +1,84 @@
+package formflow.library.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import formflow.library.data.Submission;
+import formflow.library.data.SubmissionRepositoryService;
+import formflow.library.data.UserFile;
+import formflow.library.data.UserFileRepositoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"form-flow.path=flows-config/test-flow.yaml"})
+class JdbcThumbnailStoreTest {
+
+    @Autowired
+    private SubmissionRepositoryService submissionRepositoryService;
+
+    @Autowired
+    private UserFileRepositoryService userFileRepositoryService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private UUID fileId;
+
+    @BeforeEach
+    void setUp() {
+        Submission submission = new Submission();
+        submission.setFlow("testFlow");
+        submission = submissionRepositoryService.save(submission);
+        fileId = UUID.randomUUID();
+        UserFile userFile = UserFile.builder()
+                .fileId(fileId)
+                .submission(submission)
+                .originalName("someImage.jpg")
+                .repositoryPath("someImage.jpg")
+                .filesize(4f)
+                .mimeType("image/jpeg")
+                .build();
+        userFileRepositoryService.save(userFile);
+    }
+
+    @Test
+    void storesThumbnailsOutsideOfTheCache() {
+        new JdbcThumbnailStore(dataSource, 1024, new SimpleMeterRegistry())
+                .save(fileId, new Thumbnail("image/png", "thumbnail".getBytes()));
+
+        JdbcThumbnailStore otherNode = new JdbcThumbnailStore(dataSource, 1024, new SimpleMeterRegistry());
+        assertThat(otherNode.get(fileId)).hasValueSatisfying(thumbnail -> {
+            assertThat(thumbnail.contentType()).isEqualTo("image/png");
+            assertThat(thumbnail.data()).isEqualTo("thumbnail".getBytes());
+        });
+    }
+
+    @Test
+    void thumbnailsAreDeletedWithTheirFile() {
+        JdbcThumbnailStore thumbnailStore = new JdbcThumbnailStore(dataSource, 0, new SimpleMeterRegistry());
+        thumbnailStore.save(fileId, new Thumbnail("image/png", "thumbnail".getBytes()));
+
+        userFileRepositoryService.deleteById(fileId);
+
+        assertThat(thumbnailStore.get(fileId)).isEmpty();
+        assertThat(new JdbcTemplate(dataSource).queryForObject(
+                "SELECT count(*) FROM user_file_thumbnails WHERE file_id = ?", Integer.class, fileId)).isZero();
+    }
+
+    @Test
+    void onlyAcceptsBase64EncodedImageDataUrls() {
+        assertThat(Thumbnail.fromDataUrl("data:image/jpeg;base64,dGh1bWJuYWls"))
+                .satisfies(thumbnail -> assertThat(thumbnail.data()).isEqualTo("thumbnail".getBytes()));
+        assertThat(Thumbnail.fromDataUrl("data:image/svg+xml;base64,PHN2Zz4=")).isNull();
+        assertThat(Thumbnail.fromDataUrl("data:image/png,notbase64")).isNull();
+        assertThat(Thumbnail.fromDataUrl("data:image/png;base64,%%%")).isNull();
+        assertThat(Thumbnail.fromDataUrl("undefined")).isNull();
+    }
+}
@@ -176,7 +176,7 @@ public class InputsTest extends AbstractMockMvcTest {
                         city + "Validated",
                         state,
                         zipCode + "Validated");
-                when(addressValidationService.validate(any())).thenReturn(Map.of(inputName, addressValidatedAddress));
+                when(addressValidationService.validate(any(), any())).thenReturn(Map.of(inputName, addressValidatedAddress));
 
                 nextScreen = postAndFollowRedirect("testFlow", "testAddressValidation",
                         Map.ofEntries(
@@ -212,7 +212,7 @@ public class InputsTest extends AbstractMockMvcTest {
                 String inputName = "validationOn";
                 HashMap<String, ValidatedAddress> testMap = new HashMap();
                 testMap.put(inputName, null);
-                when(addressValidationService.validate(any())).thenReturn(testMap);
+                when(addressValidationService.validate(any(), any())).thenReturn(testMap);
 
                 var nextScreen = postAndFollowRedirect("testFlow", "testAddressValidation",
                         Map.ofEntries(
@@ -244,7 +244,7 @@ public class InputsTest extends AbstractMockMvcTest {
                         "OZ",
                         "12345" + "Validated");
 
-                when(addressValidationService.validate(any())).thenReturn(Map.of(inputName, otherValidatedAddress));
+                when(addressValidationService.validate(any(), any())).thenReturn(Map.of(inputName, otherValidatedAddress));
 
                 var nextScreen = postAndFollowRedirect("testFlow", "testAddressValidation",
                         Map.ofEntries(
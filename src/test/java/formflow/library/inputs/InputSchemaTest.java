@@ -0,0 +1,38 @@
+package formflow.library.inputs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import formflow.library.inputs.InputSchema.InputField;
+import org.junit.jupiter.api.Test;
+
+class InputSchemaTest {
+
+    private final InputSchema inputSchema = InputSchema.compile(TestFlow.class);
+
+    @Test
+    void describesTheFieldsOfTheInputsClass() {
+        assertThat(inputSchema.getInputsClass()).isEqualTo(TestFlow.class);
+
+        InputField firstName = inputSchema.getField("firstName");
+        assertThat(firstName.required()).isTrue();
+        assertThat(firstName.dynamic()).isFalse();
+        assertThat(firstName.annotationNames()).containsExactly("jakarta.validation.constraints.NotBlank");
+
+        InputField dynamicField = inputSchema.getField("dynamicField");
+        assertThat(dynamicField.required()).isTrue();
+        assertThat(dynamicField.dynamic()).isTrue();
+
+        InputField textInput = inputSchema.getField("textInput");
+        assertThat(textInput.required()).isFalse();
+        assertThat(textInput.annotationNames()).isEmpty();
+
+        assertThat(inputSchema.getField("doesNotExist")).isNull();
+    }
+
+    @Test
+    void listsTheRequiredFields() {
+        assertThat(inputSchema.getRequiredInputs())
+                .contains("firstName", "dateFull", "favoriteFruitCheckbox")
+                .doesNotContain("textInput", "_csrf");
+    }
+}
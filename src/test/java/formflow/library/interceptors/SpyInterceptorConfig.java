@@ -1,8 +1,7 @@
 package formflow.library.interceptors;
 
-import formflow.library.config.FlowConfiguration;
+import formflow.library.config.FlowRegistry;
 import formflow.library.config.FormFlowConfigurationProperties;
-import java.util.List;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.TestConfiguration;
@@ -16,7 +15,7 @@ import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 public class SpyInterceptorConfig implements WebMvcConfigurer {
 
     @Autowired
-    private List<FlowConfiguration> flowConfigurations;
+    private FlowRegistry flowRegistry;
 
     @Autowired
     private FormFlowConfigurationProperties formFlowConfigurationProperties;
@@ -30,7 +29,7 @@ public class SpyInterceptorConfig implements WebMvcConfigurer {
     @Bean
     @Primary // Ensure this bean takes precedence over the real one
     public SessionContinuityInterceptor dataRequiredInterceptor() {
-        return Mockito.spy(new SessionContinuityInterceptor(flowConfigurations));
+        return Mockito.spy(new SessionContinuityInterceptor(flowRegistry));
     }
 
     @Bean
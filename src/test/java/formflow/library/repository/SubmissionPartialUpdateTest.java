@@ -0,0 +1,88 @@
+package formflow.library.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import formflow.library.data.Submission;
+import formflow.library.data.SubmissionRepositoryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"form-flow.path=flows-config/test-flow.yaml", "form-flow.submission.partial-updates.enabled=true"})
+class SubmissionPartialUpdateTest {
+
+    @PersistenceContext
+    EntityManager entityManager;
+    @Autowired
+    private SubmissionRepositoryService submissionRepositoryService;
+
+    @Test
+    void shouldUpdateOnlyTheChangedPaths() {
+        Submission submission = new Submission();
+        submission.setFlow("testFlow");
+        submission.getInputData().put("firstName", "Testy");
+        submission.getInputData().put("ssnInput", "123-45-6789");
+        List<Map<String, Object>> household = new ArrayList<>();
+        household.add(new HashMap<>(Map.of("uuid", "1", "ssnInputSubflow", "321-54-9876", "iterationIsComplete", false)));
+        submission.getInputData().put("household", household);
+        Submission loaded = reload(submissionRepositoryService.save(submission));
+        String storedSsn = (String) storedInputData(loaded).get("ssnInput_encrypted");
+
+        household = (List<Map<String, Object>>) loaded.getInputData().get("household");
+        household.getFirst().put("iterationIsComplete", true);
+        household.add(new HashMap<>(Map.of("uuid", "2", "ssnInputSubflow", "111-22-3333")));
+        loaded.getInputData().remove("firstName");
+        loaded.getInputData().put("lastName", "McTesterson");
+        submissionRepositoryService.save(loaded);
+
+        Submission reloaded = reload(loaded);
+        assertThat(reloaded.getInputData())
+                .doesNotContainKey("firstName")
+                .containsEntry("lastName", "McTesterson")
+                .containsEntry("ssnInput", "123-45-6789");
+        List<Map<String, Object>> reloadedHousehold = (List<Map<String, Object>>) reloaded.getInputData().get("household");
+        assertThat(reloadedHousehold).hasSize(2);
+        assertThat(reloadedHousehold.get(0)).containsEntry("iterationIsComplete", true)
+                .containsEntry("ssnInputSubflow", "321-54-9876");
+        assertThat(reloadedHousehold.get(1)).containsEntry("ssnInputSubflow", "111-22-3333");
+        // a full save would have encrypted the unchanged value again
+        assertThat(storedInputData(reloaded).get("ssnInput_encrypted")).isEqualTo(storedSsn);
+    }
+
+    @Test
+    void shouldSaveInFullWhenMoreThanTheInputDataChanged() {
+        Submission submission = new Submission();
+        submission.setFlow("testFlow");
+        submission.getInputData().put("ssnInput", "123-45-6789");
+        Submission loaded = reload(submissionRepositoryService.save(submission));
+        String storedSsn = (String) storedInputData(loaded).get("ssnInput_encrypted");
+
+        loaded.getInputData().put("firstName", "Testy");
+        loaded.getUrlParams().put("lang", "es");
+        submissionRepositoryService.save(loaded);
+
+        Submission reloaded = reload(loaded);
+        assertThat(reloaded.getInputData()).containsEntry("firstName", "Testy");
+        assertThat(reloaded.getUrlParams()).containsEntry("lang", "es");
+        assertThat(storedInputData(reloaded).get("ssnInput_encrypted")).isNotEqualTo(storedSsn);
+    }
+
+    private Submission reload(Submission submission) {
+        return submissionRepositoryService.findById(submission.getId()).orElseThrow();
+    }
+
+    private Map<String, Object> storedInputData(Submission submission) {
+        Submission stored = (Submission) entityManager.createQuery("SELECT s FROM Submission s WHERE s.id = :id")
+                .setParameter("id", submission.getId())
+                .getSingleResult();
+        return stored.getInputData();
+    }
+}
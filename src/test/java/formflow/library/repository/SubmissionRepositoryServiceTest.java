@@ -1,6 +1,7 @@
 package formflow.library.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import formflow.library.config.submission.ShortCodeConfig;
 import formflow.library.data.Submission;
@@ -19,7 +20,12 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 @ActiveProfiles("test")
 @SpringBootTest(properties = {"form-flow.path=flows-config/test-flow.yaml"})
@@ -277,6 +283,114 @@ class SubmissionRepositoryServiceTest {
         assertThat(updatedSubmission.getUpdatedAt()).isNotEqualTo(savedSubmission.getUpdatedAt());
     }
 
+    @Test
+    void shouldSkipSavingAnUnchangedSubmission() {
+        Submission submission = new Submission();
+        submission.setFlow("testFlow");
+        submission.getInputData().put("testKey", "this is a test value");
+        Submission savedSubmission = saveAndReload(submission);
+
+        assertThat(submissionRepositoryService.save(savedSubmission)).isSameAs(savedSubmission);
+
+        long version = savedSubmission.getVersion();
+        savedSubmission.getInputData().put("testKey", "this is a new value");
+        Submission updatedSubmission = submissionRepositoryService.save(savedSubmission);
+
+        assertThat(updatedSubmission.getVersion()).isGreaterThan(version);
+        assertThat(submissionRepositoryService.findById(savedSubmission.getId()).orElseThrow().getInputData())
+                .containsEntry("testKey", "this is a new value");
+    }
+
+    @Test
+    void shouldLoadASubmissionOnlyOncePerUnitOfWork() {
+        Submission submission = new Submission();
+        submission.setFlow("testFlow");
+        UUID id = submissionRepositoryService.save(submission).getId();
+
+        RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            submissionRepositoryService.beginUnitOfWork();
+            Submission loadedSubmission = submissionRepositoryService.findById(id).orElseThrow();
+            assertThat(submissionRepositoryService.findById(id).orElseThrow()).isSameAs(loadedSubmission);
+
+            loadedSubmission.getInputData().put("testKey", "this is a test value");
+            Submission savedSubmission = submissionRepositoryService.save(loadedSubmission);
+            Submission reloadedSubmission = submissionRepositoryService.findById(id).orElseThrow();
+
+            // served the instance as saved, rather than loading and decrypting it again
+            assertThat(reloadedSubmission).isSameAs(savedSubmission);
+            assertThat(reloadedSubmission.getInputData()).containsEntry("testKey", "this is a test value");
+            assertThat(reloadedSubmission.getVersion()).isEqualTo(loadedSubmission.getVersion());
+            assertThat(reloadedSubmission.getUpdatedAt()).isNotNull();
+        } finally {
+            RequestContextHolder.setRequestAttributes(previousAttributes);
+        }
+    }
+
+    @Test
+    void shouldMergeConcurrentSavesOfDifferentKeys() {
+        Submission submission = new Submission();
+        submission.setFlow("testFlow");
+        submission.getInputData().put("firstName", "Testy");
+        UUID id = submissionRepositoryService.save(submission).getId();
+
+        Submission firstTab = submissionRepositoryService.findById(id).orElseThrow();
+        Submission secondTab = submissionRepositoryService.findById(id).orElseThrow();
+        firstTab.getInputData().put("lastName", "McTesterson");
+        secondTab.getInputData().put("firstName", "Tester");
+        submissionRepositoryService.save(firstTab);
+        submissionRepositoryService.save(secondTab);
+
+        Submission reloaded = submissionRepositoryService.findById(id).orElseThrow();
+        assertThat(reloaded.getInputData())
+                .containsEntry("firstName", "Tester")
+                .containsEntry("lastName", "McTesterson");
+        assertThat(reloaded.getVersion()).isEqualTo(secondTab.getVersion());
+    }
+
+    @Test
+    void shouldRejectConcurrentSavesChangingTheSameKey() {
+        Submission submission = new Submission();
+        submission.setFlow("testFlow");
+        UUID id = submissionRepositoryService.save(submission).getId();
+
+        Submission firstTab = submissionRepositoryService.findById(id).orElseThrow();
+        Submission secondTab = submissionRepositoryService.findById(id).orElseThrow();
+        firstTab.getInputData().put("firstName", "Testy");
+        secondTab.getInputData().put("firstName", "Tester");
+        submissionRepositoryService.save(firstTab);
+
+        assertThatThrownBy(() -> submissionRepositoryService.save(secondTab))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(submissionRepositoryService.findById(id).orElseThrow().getInputData()).containsEntry("firstName", "Testy");
+    }
+
+    @Test
+    void shouldKeepIterationsAddedConcurrentlyToTheSameSubflow() {
+        Submission submission = new Submission();
+        submission.setFlow("testFlow");
+        submission.getInputData().put("household", new ArrayList<>(List.of(
+                new HashMap<>(Map.of("uuid", "member-0", "firstName", "Alex")))));
+        UUID id = submissionRepositoryService.save(submission).getId();
+
+        Submission firstTab = submissionRepositoryService.findById(id).orElseThrow();
+        Submission secondTab = submissionRepositoryService.findById(id).orElseThrow();
+        ((List<Map<String, Object>>) firstTab.getInputData().get("household"))
+                .add(new HashMap<>(Map.of("uuid", "member-1", "firstName", "Sam")));
+        ((List<Map<String, Object>>) secondTab.getInputData().get("household"))
+                .add(new HashMap<>(Map.of("uuid", "member-2", "firstName", "Kim")));
+        ((List<Map<String, Object>>) secondTab.getInputData().get("household")).getFirst().put("lastName", "Smith");
+        submissionRepositoryService.save(firstTab);
+        submissionRepositoryService.save(secondTab);
+
+        List<Map<String, Object>> household = (List<Map<String, Object>>) submissionRepositoryService.findById(id)
+                .orElseThrow().getInputData().get("household");
+        assertThat(household).extracting(iteration -> iteration.get("uuid"))
+                .containsExactly("member-0", "member-1", "member-2");
+        assertThat(household.getFirst()).containsEntry("firstName", "Alex").containsEntry("lastName", "Smith");
+    }
+
     private Submission saveAndReload(Submission submission) {
         Submission savedSubmission = submissionRepositoryService.save(submission);
         return submissionRepositoryService.findById(savedSubmission.getId()).orElseThrow();
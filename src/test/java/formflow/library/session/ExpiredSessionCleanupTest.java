@@ -0,0 +1,74 @@
+package formflow.library.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"form-flow.path=flows-config/test-flow.yaml"})
+class ExpiredSessionCleanupTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private final List<String> expired = new ArrayList<>();
+    private String live;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            expired.add(insertSession(now - Duration.ofDays(1).toMillis() + i));
+        }
+        live = insertSession(now + Duration.ofDays(1).toMillis());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM SPRING_SESSION WHERE PRIMARY_ID = ?", live);
+    }
+
+    @Test
+    void deletesExpiredSessionsInBatches() {
+        ExpiredSessionCleanup cleanup = new ExpiredSessionCleanup(dataSource, true, 2, Duration.ofMinutes(1),
+                "SPRING_SESSION", new SimpleMeterRegistry());
+
+        assertThat(cleanup.cleanUp()).isGreaterThanOrEqualTo(expired.size());
+
+        for (String primaryId : expired) {
+            assertThat(countRows("SPRING_SESSION", "PRIMARY_ID", primaryId)).isZero();
+            assertThat(countRows("SPRING_SESSION_ATTRIBUTES", "SESSION_PRIMARY_ID", primaryId)).isZero();
+        }
+        assertThat(countRows("SPRING_SESSION", "PRIMARY_ID", live)).isOne();
+        assertThat(countRows("SPRING_SESSION_ATTRIBUTES", "SESSION_PRIMARY_ID", live)).isOne();
+    }
+
+    private String insertSession(long expiryTime) {
+        String primaryId = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO SPRING_SESSION (PRIMARY_ID, SESSION_ID, CREATION_TIME, LAST_ACCESS_TIME, "
+                        + "MAX_INACTIVE_INTERVAL, EXPIRY_TIME) VALUES (?, ?, 0, 0, 1800, ?)",
+                primaryId, UUID.randomUUID().toString(), expiryTime);
+        jdbcTemplate.update("INSERT INTO SPRING_SESSION_ATTRIBUTES (SESSION_PRIMARY_ID, ATTRIBUTE_NAME, ATTRIBUTE_BYTES) "
+                + "VALUES (?, 'id', ?)", primaryId, new byte[]{1});
+        return primaryId;
+    }
+
+    private int countRows(String table, String column, String primaryId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE " + column + " = ?", Integer.class,
+                primaryId);
+    }
+}
@@ -0,0 +1,103 @@
+package formflow.library.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import formflow.library.session.WriteBehindSessionRepository.WriteBehindSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"form-flow.path=flows-config/test-flow.yaml"})
+class WriteBehindSessionRepositoryTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbcTemplate;
+    private WriteBehindSessionRepository repository;
+    private String sessionId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        JdbcIndexedSessionRepository jdbcRepository = new JdbcIndexedSessionRepository(jdbcTemplate,
+                new TransactionTemplate(transactionManager));
+        repository = new WriteBehindSessionRepository(jdbcRepository, dataSource, "SPRING_SESSION", Duration.ofHours(1),
+                new SimpleMeterRegistry());
+
+        WriteBehindSession session = repository.createSession();
+        session.setAttribute("id", "first");
+        repository.save(session);
+        sessionId = session.getId();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.deleteById(sessionId);
+        repository.destroy();
+    }
+
+    @Test
+    void writesLastAccessTimesBehind() {
+        long storedLastAccess = storedLastAccessTime();
+        Instant accessed = Instant.ofEpochMilli(storedLastAccess).plus(1, ChronoUnit.MINUTES);
+
+        WriteBehindSession session = repository.findById(sessionId);
+        session.setLastAccessedTime(accessed);
+        repository.save(session);
+
+        assertThat(storedLastAccessTime()).isEqualTo(storedLastAccess);
+        assertThat(repository.findById(sessionId).getLastAccessedTime()).isEqualTo(accessed);
+
+        assertThat(repository.flush()).isEqualTo(1);
+        assertThat(storedLastAccessTime()).isEqualTo(accessed.toEpochMilli());
+        assertThat(jdbcTemplate.queryForObject("SELECT EXPIRY_TIME FROM SPRING_SESSION WHERE SESSION_ID = ?", Long.class,
+                sessionId)).isEqualTo(accessed.plus(session.getMaxInactiveInterval()).toEpochMilli());
+        assertThat(repository.flush()).isZero();
+    }
+
+    @Test
+    void savesChangedAttributesStraightAway() {
+        WriteBehindSession session = repository.findById(sessionId);
+        session.setLastAccessedTime(Instant.now());
+        session.setAttribute("id", "second");
+        repository.save(session);
+
+        assertThat(repository.findById(sessionId).<String>getAttribute("id")).isEqualTo("second");
+    }
+
+    @Test
+    void neverMovesLastAccessTimesBack() {
+        long storedLastAccess = storedLastAccessTime();
+        WriteBehindSession session = repository.findById(sessionId);
+        session.setLastAccessedTime(Instant.ofEpochMilli(storedLastAccess).plus(1, ChronoUnit.MINUTES));
+        repository.save(session);
+        jdbcTemplate.update("UPDATE SPRING_SESSION SET LAST_ACCESS_TIME = ? WHERE SESSION_ID = ?",
+                storedLastAccess + Duration.ofMinutes(2).toMillis(), sessionId);
+
+        repository.flush();
+
+        assertThat(storedLastAccessTime()).isEqualTo(storedLastAccess + Duration.ofMinutes(2).toMillis());
+    }
+
+    private long storedLastAccessTime() {
+        return jdbcTemplate.queryForObject("SELECT LAST_ACCESS_TIME FROM SPRING_SESSION WHERE SESSION_ID = ?", Long.class,
+                sessionId);
+    }
+}
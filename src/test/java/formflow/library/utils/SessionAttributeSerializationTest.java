@@ -0,0 +1,66 @@
+package formflow.library.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import formflow.library.data.UserFile;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class SessionAttributeSerializationTest {
+
+    @Test
+    void sessionSubmissionMapSurvivesSerialization() throws Exception {
+        SessionSubmissionMap submissionMap = new SessionSubmissionMap();
+        submissionMap.put("testFlow", UUID.randomUUID());
+        submissionMap.put("otherTestFlow", null);
+
+        assertThat(roundTrip(submissionMap)).isEqualTo(submissionMap);
+    }
+
+    @Test
+    void sessionSubmissionMapIsSmallerThanAHashMap() throws Exception {
+        Map<String, UUID> hashMap = new HashMap<>(Map.of("testFlow", UUID.randomUUID(), "otherTestFlow", UUID.randomUUID()));
+
+        assertThat(serialize(new SessionSubmissionMap(hashMap)).length).isLessThan(serialize(hashMap).length);
+    }
+
+    @Test
+    void userFileMapSurvivesSerialization() throws Exception {
+        UserFileMap userFileMap = new UserFileMap();
+        userFileMap.addUserFileToMap("testFlow", "dropZoneTestInstance", userFile("someImage.jpg"), "base64string");
+        userFileMap.addUserFileToMap("testFlow", "dropZoneTestInstance", userFile("otherImage.jpg"), null);
+        userFileMap.addUserFileToMap("otherTestFlow", "otherDropZone", userFile("document.pdf"), "x".repeat(70000));
+
+        assertThat(((UserFileMap) roundTrip(userFileMap)).getUserFileMap()).isEqualTo(userFileMap.getUserFileMap());
+    }
+
+    private static UserFile userFile(String originalName) {
+        return UserFile.builder()
+                .fileId(UUID.randomUUID())
+                .originalName(originalName)
+                .filesize(4.0f)
+                .mimeType("image/jpeg")
+                .build();
+    }
+
+    private static Object roundTrip(Object object) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialize(object)))) {
+            return in.readObject();
+        }
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+}